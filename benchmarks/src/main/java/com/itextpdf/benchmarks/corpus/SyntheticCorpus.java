@@ -0,0 +1,238 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks.corpus;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.font.PdfFontFactory.EmbeddingStrategy;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.AreaBreakType;
+import com.itextpdf.layout.properties.UnitValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic documents and data used as the input of the benchmarks.
+ * <p>
+ * All generators use a fixed seed, so for the same arguments the same content is produced on each run.
+ */
+public final class SyntheticCorpus {
+
+    /**
+     * Path to the font program used by the benchmarks which need an embedded font.
+     */
+    public static final String FONT_RESOURCE = "/com/itextpdf/benchmarks/fonts/FreeSans.ttf";
+
+    private static final long SEED = 20230101L;
+
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+            "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua",
+            "invoice", "total", "amount", "customer", "statement", "balance", "period", "account", "payment"};
+
+    private SyntheticCorpus() {
+        // Empty constructor.
+    }
+
+    /**
+     * Creates a text-heavy document with a letterhead form XObject shared by all pages,
+     * several paragraphs and some vector graphics on each page.
+     *
+     * @param pageCount the number of pages
+     * @param properties the writer properties to use
+     * @return the bytes of the created document
+     */
+    public static byte[] createTextDocument(int pageCount, WriterProperties properties) {
+        Random random = new Random(SEED);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties));
+        Document document = new Document(pdfDocument, PageSize.A4, false);
+        PdfFormXObject letterhead = createLetterhead(pdfDocument);
+        for (int i = 1; i <= pageCount; i++) {
+            if (i > 1) {
+                document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+            }
+            document.add(new Image(letterhead));
+            for (int j = 0; j < 6; j++) {
+                document.add(new Paragraph(createText(random, 50)));
+            }
+            PdfCanvas canvas = new PdfCanvas(pdfDocument.getPage(i));
+            for (int j = 0; j < 20; j++) {
+                canvas.rectangle(36 + j * 25, 36, 20, 20 + random.nextInt(30));
+            }
+            canvas.stroke();
+        }
+        document.close();
+        return baos.toByteArray();
+    }
+
+    /**
+     * Creates a number of small single page invoice-like documents which use the same fonts and
+     * have almost identical content, as it is usually the case for the documents merged into one bundle.
+     *
+     * @param documentCount the number of documents
+     * @return the bytes of the created documents
+     */
+    public static List<byte[]> createInvoiceDocuments(int documentCount) {
+        Random random = new Random(SEED);
+        List<byte[]> documents = new ArrayList<>(documentCount);
+        for (int i = 0; i < documentCount; i++) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            Document document = new Document(new PdfDocument(new PdfWriter(baos)));
+            document.add(new Paragraph("Invoice #" + (i + 1)).setFontSize(18));
+            Table table = new Table(UnitValue.createPercentArray(new float[] {3, 1, 1}))
+                    .useAllAvailableWidth();
+            for (int j = 0; j < 10; j++) {
+                table.addCell(createText(random, 4));
+                table.addCell(String.valueOf(random.nextInt(100)));
+                table.addCell(String.valueOf(random.nextInt(10000) / 100f));
+            }
+            document.add(table);
+            document.close();
+            documents.add(baos.toByteArray());
+        }
+        return documents;
+    }
+
+    /**
+     * Creates the content of the cells of a large table. The content of each cell is a few words long.
+     *
+     * @param rowCount the number of rows
+     * @param columnCount the number of columns
+     * @return the content of the cells, row by row
+     */
+    public static String[][] createTableContent(int rowCount, int columnCount) {
+        Random random = new Random(SEED);
+        String[][] content = new String[rowCount][columnCount];
+        for (int i = 0; i < rowCount; i++) {
+            for (int j = 0; j < columnCount; j++) {
+                content[i][j] = createText(random, 1 + random.nextInt(4));
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Creates a table which contains the passed content. Every tenth row has a background, every cell has borders.
+     *
+     * @param content the content of the cells, row by row
+     * @param largeTable whether the table shall be created as {@link com.itextpdf.layout.element.ILargeElement}
+     * @return the created table
+     */
+    public static Table createTable(String[][] content, boolean largeTable) {
+        Table table = new Table(content[0].length, largeTable).useAllAvailableWidth();
+        for (int i = 0; i < content.length; i++) {
+            for (String cellContent : content[i]) {
+                Cell cell = new Cell().add(new Paragraph(cellContent));
+                if (i % 10 == 0) {
+                    cell.setBackgroundColor(ColorConstants.LIGHT_GRAY);
+                }
+                table.addCell(cell);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Creates a text of the given number of pseudo-random words.
+     *
+     * @param wordCount the number of words
+     * @return the created text
+     */
+    public static String createText(int wordCount) {
+        return createText(new Random(SEED), wordCount);
+    }
+
+    /**
+     * Reads the font program used by the benchmarks which need an embedded font.
+     *
+     * @return the font program bytes
+     * @throws IOException if the font program can't be read
+     */
+    public static byte[] readFontProgram() throws IOException {
+        try (InputStream is = SyntheticCorpus.class.getResourceAsStream(FONT_RESOURCE)) {
+            return StreamUtil.inputStreamToArray(is);
+        }
+    }
+
+    /**
+     * Creates a font which is embedded as a subset of the font program read by {@link #readFontProgram()}.
+     *
+     * @param fontProgram the font program bytes
+     * @return the created font
+     * @throws IOException if the font program can't be parsed
+     */
+    public static PdfFont createEmbeddedFont(byte[] fontProgram) throws IOException {
+        FontProgram program = FontProgramFactory.createFont(fontProgram, false);
+        return PdfFontFactory.createFont(program, PdfEncodings.IDENTITY_H, EmbeddingStrategy.FORCE_EMBEDDED);
+    }
+
+    private static String createText(Random random, int wordCount) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static PdfFormXObject createLetterhead(PdfDocument pdfDocument) {
+        PdfFormXObject letterhead = new PdfFormXObject(new Rectangle(500, 60));
+        PdfCanvas canvas = new PdfCanvas(letterhead, pdfDocument);
+        try {
+            canvas.beginText()
+                    .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD), 24)
+                    .moveText(10, 30)
+                    .showText("Synthetic Corp. Statement")
+                    .endText();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        canvas.setStrokeColor(ColorConstants.BLUE).moveTo(0, 5).lineTo(500, 5).stroke();
+        return letterhead;
+    }
+}
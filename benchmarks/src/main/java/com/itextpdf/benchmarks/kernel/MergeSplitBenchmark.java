@@ -0,0 +1,119 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks.kernel;
+
+import com.itextpdf.benchmarks.corpus.SyntheticCorpus;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.utils.PageRange;
+import com.itextpdf.kernel.utils.PdfMerger;
+import com.itextpdf.kernel.utils.PdfSplitter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks merging of many small documents, with and without smart mode, and splitting of a big document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MergeSplitBenchmark {
+
+    @Param({"200"})
+    public int documentCount;
+
+    @Param({"false", "true"})
+    public boolean smartMode;
+
+    private List<byte[]> invoices;
+
+    private byte[] bigDocument;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        invoices = SyntheticCorpus.createInvoiceDocuments(documentCount);
+        bigDocument = SyntheticCorpus.createTextDocument(documentCount, new WriterProperties());
+    }
+
+    @Benchmark
+    public int merge() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WriterProperties properties = new WriterProperties();
+        if (smartMode) {
+            properties.useSmartMode();
+        }
+        PdfDocument result = new PdfDocument(new PdfWriter(baos, properties));
+        PdfMerger merger = new PdfMerger(result).setCloseSourceDocuments(true);
+        for (byte[] invoice : invoices) {
+            PdfDocument source = new PdfDocument(new PdfReader(new ByteArrayInputStream(invoice)));
+            merger.merge(source, 1, source.getNumberOfPages());
+        }
+        merger.close();
+        return baos.size();
+    }
+
+    @Benchmark
+    public int splitByPageCount() throws IOException {
+        final int[] totalPages = new int[1];
+        try (PdfDocument source = new PdfDocument(new PdfReader(new ByteArrayInputStream(bigDocument)))) {
+            new PdfSplitter(source) {
+                @Override
+                protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                    WriterProperties properties = new WriterProperties();
+                    if (smartMode) {
+                        properties.useSmartMode();
+                    }
+                    return new PdfWriter(new ByteArrayOutputStream(), properties);
+                }
+            }.splitByPageCount(10, new PdfSplitter.IDocumentReadyListener() {
+                @Override
+                public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                    totalPages[0] += pdfDocument.getNumberOfPages();
+                    pdfDocument.close();
+                }
+            });
+        }
+        return totalPages[0];
+    }
+}
@@ -0,0 +1,123 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks.kernel;
+
+import com.itextpdf.benchmarks.corpus.SyntheticCorpus;
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.WriterProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks opening and parsing of documents: xref reading, objects parsing and content streams tokenizing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfReaderBenchmark {
+
+    @Param({"100", "1000"})
+    public int pageCount;
+
+    @Param({"false", "true"})
+    public boolean fullCompression;
+
+    private byte[] document;
+
+    private byte[][] contentStreams;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        document = SyntheticCorpus.createTextDocument(pageCount,
+                new WriterProperties().setFullCompressionMode(fullCompression));
+        try (PdfDocument pdfDocument = openDocument(document)) {
+            contentStreams = new byte[pdfDocument.getNumberOfPages()][];
+            for (int i = 0; i < contentStreams.length; i++) {
+                contentStreams[i] = pdfDocument.getPage(i + 1).getContentBytes();
+            }
+        }
+    }
+
+    @Benchmark
+    public int openDocument() throws IOException {
+        try (PdfDocument pdfDocument = openDocument(document)) {
+            return pdfDocument.getNumberOfPages();
+        }
+    }
+
+    @Benchmark
+    public void readAllObjects(Blackhole blackhole) throws IOException {
+        try (PdfDocument pdfDocument = openDocument(document)) {
+            for (int i = 1; i < pdfDocument.getNumberOfPdfObjects(); i++) {
+                blackhole.consume(pdfDocument.getPdfObject(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public void readAllPages(Blackhole blackhole) throws IOException {
+        try (PdfDocument pdfDocument = openDocument(document)) {
+            for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+                blackhole.consume(pdfDocument.getPage(i).getContentBytes());
+            }
+        }
+    }
+
+    @Benchmark
+    public void tokenizeContentStreams(Blackhole blackhole) throws IOException {
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        for (byte[] contentStream : contentStreams) {
+            PdfTokenizer tokenizer = new PdfTokenizer(new RandomAccessFileOrArray(factory.createSource(contentStream)));
+            while (tokenizer.nextToken()) {
+                blackhole.consume(tokenizer.getTokenType());
+            }
+            tokenizer.close();
+        }
+    }
+
+    private static PdfDocument openDocument(byte[] document) throws IOException {
+        return new PdfDocument(new PdfReader(new ByteArrayInputStream(document)));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks.layout;
+
+import com.itextpdf.benchmarks.corpus.SyntheticCorpus;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.properties.TextAlignment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks layout of plain text paragraphs, i.e. text renderers and line breaking,
+ * and writing of the text with an embedded font, which is subset on closing of the document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextLayoutBenchmark {
+
+    @Param({"1000"})
+    public int paragraphCount;
+
+    private String text;
+
+    private byte[] fontProgram;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        text = SyntheticCorpus.createText(120);
+        fontProgram = SyntheticCorpus.readFontProgram();
+    }
+
+    @Benchmark
+    public int layoutParagraphs() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Document document = new Document(new PdfDocument(new PdfWriter(baos)));
+        for (int i = 0; i < paragraphCount; i++) {
+            document.add(new Paragraph(text).setTextAlignment(TextAlignment.JUSTIFIED));
+        }
+        document.close();
+        return baos.size();
+    }
+
+    @Benchmark
+    public int layoutParagraphsWithEmbeddedFont() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Document document = new Document(new PdfDocument(new PdfWriter(baos)));
+        PdfFont font = SyntheticCorpus.createEmbeddedFont(fontProgram);
+        for (int i = 0; i < paragraphCount; i++) {
+            document.add(new Paragraph(text).setFont(font));
+        }
+        document.close();
+        return baos.size();
+    }
+
+    @Benchmark
+    public int fontSubsetting() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = SyntheticCorpus.createEmbeddedFont(fontProgram);
+        Document document = new Document(pdfDocument);
+        document.add(new Paragraph(text).setFont(font));
+        // subset is created on flushing of the font
+        document.close();
+        return baos.size();
+    }
+}
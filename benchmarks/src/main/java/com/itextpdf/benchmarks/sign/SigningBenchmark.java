@@ -0,0 +1,146 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks.sign;
+
+import com.itextpdf.benchmarks.corpus.SyntheticCorpus;
+import com.itextpdf.bouncycastleconnector.BouncyCastleFactoryCreator;
+import com.itextpdf.commons.bouncycastle.IBouncyCastleFactory;
+import com.itextpdf.commons.bouncycastle.cert.IX509CertificateHolder;
+import com.itextpdf.commons.bouncycastle.cert.jcajce.IJcaX509CertificateConverter;
+import com.itextpdf.commons.bouncycastle.openssl.IPEMParser;
+import com.itextpdf.commons.bouncycastle.operator.IInputDecryptorProvider;
+import com.itextpdf.commons.bouncycastle.pkcs.IPKCS8EncryptedPrivateKeyInfo;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.StampingProperties;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.signatures.BouncyCastleDigest;
+import com.itextpdf.signatures.DigestAlgorithms;
+import com.itextpdf.signatures.IExternalSignature;
+import com.itextpdf.signatures.PdfSigner;
+import com.itextpdf.signatures.PrivateKeySignature;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.security.Security;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks detached signing of a document with {@link PdfSigner}, which includes
+ * the document rewriting, the byte range digest computation and the CMS container creation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningBenchmark {
+
+    private static final IBouncyCastleFactory FACTORY = BouncyCastleFactoryCreator.getFactory();
+
+    private static final String CERTIFICATE_RESOURCE = "/com/itextpdf/benchmarks/certs/signCertRsa01.pem";
+
+    private static final char[] KEY_PASSWORD = "testpassphrase".toCharArray();
+
+    @Param({"10", "500"})
+    public int pageCount;
+
+    @Param({"CMS", "CADES"})
+    public PdfSigner.CryptoStandard cryptoStandard;
+
+    private byte[] document;
+
+    private Certificate[] chain;
+
+    private IExternalSignature signature;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Security.addProvider(FACTORY.getProvider());
+        document = SyntheticCorpus.createTextDocument(pageCount, new WriterProperties());
+        chain = readChain();
+        signature = new PrivateKeySignature(readKey(), DigestAlgorithms.SHA256, FACTORY.getProviderName());
+    }
+
+    @Benchmark
+    public int signDetached() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfSigner signer = new PdfSigner(new PdfReader(new ByteArrayInputStream(document)), baos,
+                new StampingProperties());
+        signer.setFieldName("Signature1");
+        signer.signDetached(new BouncyCastleDigest(), signature, chain, null, null, null, 0, cryptoStandard);
+        return baos.size();
+    }
+
+    private static Certificate[] readChain() throws Exception {
+        List<Certificate> certificates = new ArrayList<>();
+        IJcaX509CertificateConverter converter =
+                FACTORY.createJcaX509CertificateConverter().setProvider(FACTORY.getProvider());
+        try (IPEMParser parser = createPemParser()) {
+            for (Object object = parser.readObject(); object != null; object = parser.readObject()) {
+                if (object instanceof IX509CertificateHolder) {
+                    certificates.add(converter.getCertificate((IX509CertificateHolder) object));
+                }
+            }
+        }
+        return certificates.toArray(new Certificate[0]);
+    }
+
+    private static PrivateKey readKey() throws Exception {
+        try (IPEMParser parser = createPemParser()) {
+            for (Object object = parser.readObject(); object != null; object = parser.readObject()) {
+                if (object instanceof IPKCS8EncryptedPrivateKeyInfo) {
+                    IInputDecryptorProvider decryptorProvider = FACTORY.createJceOpenSSLPKCS8DecryptorProviderBuilder()
+                            .setProvider(FACTORY.getProvider()).build(KEY_PASSWORD);
+                    return FACTORY.createJcaPEMKeyConverter().setProvider(FACTORY.getProvider())
+                            .getPrivateKey(((IPKCS8EncryptedPrivateKeyInfo) object)
+                                    .decryptPrivateKeyInfo(decryptorProvider));
+                }
+            }
+        }
+        throw new IllegalStateException("Private key is not found in " + CERTIFICATE_RESOURCE);
+    }
+
+    private static IPEMParser createPemParser() {
+        return FACTORY.createPEMParser(new InputStreamReader(
+                SigningBenchmark.class.getResourceAsStream(CERTIFICATE_RESOURCE), StandardCharsets.US_ASCII));
+    }
+}
@@ -28,7 +28,7 @@ import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
 /**
  * A RandomAccessSource that is based on an underlying byte array
  */
-class ArrayRandomAccessSource implements IRandomAccessSource {
+class ArrayRandomAccessSource implements IPositionalRandomAccessSource {
 
 
     private byte[] array;
@@ -41,6 +41,8 @@ class ArrayRandomAccessSource implements IRandomAccessSource {
     }
 
     public int get(long offset) {
+        // the field is read once, so that the method doesn't fail if the source is closed concurrently
+        byte[] array = this.array;
         if (array == null) {
             throw new IllegalStateException(IoExceptionMessageConstant.ALREADY_CLOSED);
         }
@@ -51,6 +53,7 @@ class ArrayRandomAccessSource implements IRandomAccessSource {
     }
 
     public int get(long offset, byte[] bytes, int off, int len) {
+        byte[] array = this.array;
         if (array == null) {
             throw new IllegalStateException(IoExceptionMessageConstant.ALREADY_CLOSED);
         }
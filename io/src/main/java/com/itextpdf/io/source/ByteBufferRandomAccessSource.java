@@ -34,7 +34,7 @@ import org.slf4j.LoggerFactory;
  * that the byte buffer
  * is completely freed from memory during {@link ByteBufferRandomAccessSource#close()} if unmapping functionality is enabled
  */
-class ByteBufferRandomAccessSource implements IRandomAccessSource {
+class ByteBufferRandomAccessSource implements IPositionalRandomAccessSource {
 
     /**
      * A flag to allow unmapping hack for cleaning mapped buffer
@@ -22,14 +22,22 @@
  */
 package com.itextpdf.io.source;
 
+import com.itextpdf.io.util.ZlibPool;
+
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.Deflater;
 
+/**
+ * Output stream which compresses the data using the deflater acquired from {@link ZlibPool#getDefault()}.
+ * The deflater is returned to the pool once the stream is finished, after that nothing can be written
+ * to the stream anymore.
+ */
 public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
 
+    private boolean released;
+
     public DeflaterOutputStream(OutputStream out, int level, int size) {
-        super(out, new Deflater(level), size);
+        super(out, ZlibPool.getDefault().acquireDeflater(level), size);
     }
 
     public DeflaterOutputStream(OutputStream out, int level) {
@@ -46,9 +54,21 @@ public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
         super.close();
     }
 
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (released) {
+            throw new IOException("write beyond end of stream");
+        }
+        super.write(b, off, len);
+    }
+
     @Override
     public void finish() throws IOException {
+        if (released) {
+            return;
+        }
         super.finish();
-        def.end();
+        released = true;
+        ZlibPool.getDefault().releaseDeflater(def);
     }
 }
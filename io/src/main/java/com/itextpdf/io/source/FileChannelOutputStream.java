@@ -0,0 +1,244 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An output stream which writes to a {@link FileChannel} using positional writes.
+ * <br>
+ * Small writes are collected in a direct buffer, while the arrays which are not smaller than the buffer are written
+ * to the channel straight away without copying them into the buffer. Besides the regular stream methods, this class
+ * supports gather writes of several {@link ByteBuffer} instances, transfer of a region of another file
+ * channel without copying it through the heap and patching of the bytes which were already written, e.g.
+ * placeholders which values are only known after the whole document is written, without buffering the whole file.
+ * <br>
+ * The stream starts writing at the current position of the channel and doesn't rely on the position afterwards,
+ * except for the gather writes. The channel is closed when the stream is closed.
+ */
+public class FileChannelOutputStream extends OutputStream {
+
+    /**
+     * The default size of the write buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * The position in the channel at which the content of the buffer will be written.
+     */
+    private long bufferPosition;
+
+    /**
+     * Creates a new {@link FileChannelOutputStream} instance with the buffer of the {@link #DEFAULT_BUFFER_SIZE}.
+     *
+     * @param channel the channel to write to
+     * @throws IOException if the current position of the channel can't be obtained
+     */
+    public FileChannelOutputStream(FileChannel channel) throws IOException {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new {@link FileChannelOutputStream} instance.
+     *
+     * @param channel the channel to write to
+     * @param bufferSize the size of the write buffer in bytes
+     * @throws IOException if the current position of the channel can't be obtained
+     */
+    public FileChannelOutputStream(FileChannel channel, int bufferSize) throws IOException {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.bufferPosition = channel.position();
+    }
+
+    /**
+     * Gets the position in the channel at which the next byte will be written.
+     *
+     * @return the current position
+     */
+    public long getPosition() {
+        return bufferPosition + buffer.position();
+    }
+
+    /**
+     * Gets the channel this stream writes to.
+     *
+     * @return the channel
+     */
+    public FileChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flushBuffer();
+        }
+        buffer.put((byte) b);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (len >= buffer.capacity()) {
+            flushBuffer();
+            bufferPosition += writeFully(ByteBuffer.wrap(b, off, len), bufferPosition);
+            return;
+        }
+        if (len > buffer.remaining()) {
+            flushBuffer();
+        }
+        buffer.put(b, off, len);
+    }
+
+    /**
+     * Writes the remaining bytes of the passed buffers with a single gather write, if the channel allows.
+     *
+     * @param sources the buffers to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(ByteBuffer... sources) throws IOException {
+        flushBuffer();
+        long remaining = 0;
+        for (ByteBuffer source : sources) {
+            remaining += source.remaining();
+        }
+        channel.position(bufferPosition);
+        while (remaining > 0) {
+            long written = channel.write(sources);
+            remaining -= written;
+            bufferPosition += written;
+        }
+    }
+
+    /**
+     * Writes the region of the source channel. Depending on the platform, the bytes may be transferred
+     * without copying them to the application memory.
+     *
+     * @param source the channel to read from
+     * @param sourcePosition the position of the region in the source channel
+     * @param count the length of the region in bytes
+     * @throws IOException if an I/O error occurs or the source channel ends before the end of the region
+     */
+    public void transferFrom(FileChannel source, long sourcePosition, long count) throws IOException {
+        flushBuffer();
+        channel.position(bufferPosition);
+        long transferred = 0;
+        while (transferred < count) {
+            long n = source.transferTo(sourcePosition + transferred, count - transferred, channel);
+            if (n <= 0) {
+                throw new EOFException();
+            }
+            transferred += n;
+        }
+        bufferPosition += transferred;
+    }
+
+    /**
+     * Overwrites the bytes which were already written to this stream. The current position is not changed.
+     *
+     * @param position the position of the first byte to overwrite
+     * @param b the bytes to write
+     * @param off the start offset in the data
+     * @param len the number of bytes to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void patch(long position, byte[] b, int off, int len) throws IOException {
+        if (position < 0 || position + len > getPosition()) {
+            throw new IllegalArgumentException("Only already written bytes can be patched");
+        }
+        if (position + len > bufferPosition) {
+            // the region is at least partially in the buffer yet
+            flushBuffer();
+        }
+        writeFully(ByteBuffer.wrap(b, off, len), position);
+    }
+
+    /**
+     * Overwrites the bytes which were already written to this stream. The current position is not changed.
+     *
+     * @param position the position of the first byte to overwrite
+     * @param b the bytes to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void patch(long position, byte[] b) throws IOException {
+        patch(position, b, 0, b.length);
+    }
+
+    /**
+     * Writes the buffered bytes to the channel. The content is not forced to the storage device,
+     * use {@link FileChannel#force(boolean)} if needed.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+    }
+
+    /**
+     * Writes the buffered bytes and closes the channel.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (buffer.position() > 0) {
+            buffer.flip();
+            bufferPosition += writeFully(buffer, bufferPosition);
+            buffer.clear();
+        }
+    }
+
+    private int writeFully(ByteBuffer source, long position) throws IOException {
+        int written = 0;
+        while (source.hasRemaining()) {
+            written += channel.write(source, position + written);
+        }
+        return written;
+    }
+}
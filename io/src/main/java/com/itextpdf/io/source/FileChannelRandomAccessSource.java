@@ -32,7 +32,7 @@ import org.slf4j.LoggerFactory;
  * A RandomAccessSource that is based on an underlying {@link java.nio.channels.FileChannel}.
  * The entire channel will be mapped into memory for efficient reads.
  */
-public class FileChannelRandomAccessSource implements IRandomAccessSource {
+public class FileChannelRandomAccessSource implements IPositionalRandomAccessSource {
 
     /**
      * The channel this source is based on
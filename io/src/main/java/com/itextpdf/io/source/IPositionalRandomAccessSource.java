@@ -0,0 +1,34 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+/**
+ * Represents a source that bytes can be read from without any shared read state.
+ * <p>
+ * Unlike general {@link IRandomAccessSource} implementations, which may keep a file pointer or a read buffer
+ * internally, the get methods of this source depend only on the passed position. Therefore the same source can be
+ * read by several threads at once without any synchronization, e.g. by several {@link PdfTokenizer}s each having its
+ * own position. The source shall not be closed while it's being read.
+ */
+public interface IPositionalRandomAccessSource extends IRandomAccessSource {
+}
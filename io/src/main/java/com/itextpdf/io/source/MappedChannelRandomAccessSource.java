@@ -30,7 +30,7 @@ import java.nio.channels.FileChannel;
  * This class is an internal implementation detail of the {@link FileChannelRandomAccessSource} class and
  * shouldn't be used by general iText users.
  */
-class MappedChannelRandomAccessSource implements IRandomAccessSource {
+class MappedChannelRandomAccessSource implements IPositionalRandomAccessSource {
     /**
      * The underlying channel
      */
@@ -47,7 +47,7 @@ class MappedChannelRandomAccessSource implements IRandomAccessSource {
     /**
      * If the map is active, the actual map.  null other wise.
      */
-    private ByteBufferRandomAccessSource source;
+    private volatile ByteBufferRandomAccessSource source;
 
     /**
      * Create a new source based on the channel.  Mapping will not occur until data is actually read.
@@ -87,6 +87,7 @@ class MappedChannelRandomAccessSource implements IRandomAccessSource {
      * {@inheritDoc}
      */
     public int get(long position) throws java.io.IOException {
+        ByteBufferRandomAccessSource source = this.source;
         if (source == null)
             throw new java.io.IOException("RandomAccessSource not opened");
         return source.get(position);
@@ -96,6 +97,7 @@ class MappedChannelRandomAccessSource implements IRandomAccessSource {
      * {@inheritDoc}
      */
     public int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        ByteBufferRandomAccessSource source = this.source;
         if (source == null)
             throw new java.io.IOException("RandomAccessSource not opened");
         return source.get(position, bytes, off, len);
@@ -92,6 +92,14 @@ public class PdfTokenizer implements Closeable {
     public static final byte[] True = ByteUtils.getIsoBytes("true");
     public static final byte[] False = ByteUtils.getIsoBytes("false");
 
+    /**
+     * The biggest mantissa which can be multiplied by 10 and incremented by a digit staying an exact double.
+     */
+    private static final long MAX_EXACT_MANTISSA = ((1L << 53) - 9) / 10;
+
+    private static final double[] EXACT_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
     protected TokenType type;
     protected int reference;
     protected int generation;
@@ -169,6 +177,21 @@ public class PdfTokenizer implements Closeable {
         return decodeStringContent(outBuf.getInternalBuffer(), 0, outBuf.size() - 1, isHexString());
     }
 
+    /**
+     * Gets the hash code of the current token value. The result is the same as the one of
+     * {@link java.util.Arrays#hashCode(byte[])} called for {@link #getByteContent()}, but the token value is not copied.
+     *
+     * @return the hash code of the current token value
+     */
+    public int getByteContentHashCode() {
+        byte[] buffer = outBuf.getInternalBuffer();
+        int hash = 1;
+        for (int i = 0; i < outBuf.size(); i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        return hash;
+    }
+
     public boolean tokenValueEqualsTo(byte[] cmp) {
         if (cmp == null)
             return false;
@@ -491,6 +514,57 @@ public class PdfTokenizer implements Closeable {
         return Integer.parseInt(getStringValue());
     }
 
+    /**
+     * Parses the current token value as a real number without creating intermediate objects for the common
+     * case of numbers with up to 15 significant digits.
+     *
+     * @return the parsed value, or {@link Double#NaN} if the token value is not a valid number
+     */
+    public double getDoubleValue() {
+        byte[] buffer = outBuf.getInternalBuffer();
+        int size = outBuf.size();
+        int i = 0;
+        boolean negative = false;
+        if (size > 0 && (buffer[0] == '-' || buffer[0] == '+')) {
+            negative = buffer[0] == '-';
+            i = 1;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < size; i++) {
+            int ch = buffer[i];
+            if (ch >= '0' && ch <= '9') {
+                if (mantissa > MAX_EXACT_MANTISSA) {
+                    return parseDoubleValue();
+                }
+                mantissa = mantissa * 10 + ch - '0';
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (ch == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return parseDoubleValue();
+            }
+        }
+        if (digits == 0 || fractionDigits >= EXACT_POWERS_OF_TEN.length) {
+            return parseDoubleValue();
+        }
+        // both the mantissa and the power of ten are exact doubles, so the division is correctly rounded
+        double value = fractionDigits > 0 ? mantissa / EXACT_POWERS_OF_TEN[fractionDigits] : (double) mantissa;
+        return negative ? -value : value;
+    }
+
+    private double parseDoubleValue() {
+        try {
+            return Double.parseDouble(getStringValue());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
     public boolean isHexString() {
         return this.hexString;
     }
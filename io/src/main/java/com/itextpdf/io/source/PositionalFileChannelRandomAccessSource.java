@@ -0,0 +1,109 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.logs.IoLogMessageConstant;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A RandomAccessSource that reads an underlying {@link java.nio.channels.FileChannel} with positional reads
+ * ({@link FileChannel#read(ByteBuffer, long)}), which don't use the channel position. The file is not mapped into
+ * memory, so this source is suitable for files of any size.
+ * <p>
+ * Note: if a thread is interrupted while it reads from the channel, the channel is closed for all the readers.
+ */
+class PositionalFileChannelRandomAccessSource implements IPositionalRandomAccessSource {
+
+    /**
+     * The channel this source is based on
+     */
+    private final FileChannel channel;
+
+    /**
+     * The length of the channel determined at construction time.
+     */
+    private final long length;
+
+    /**
+     * Constructs a new {@link PositionalFileChannelRandomAccessSource} based on the specified FileChannel.
+     *
+     * @param channel the channel to use as the backing store
+     * @throws java.io.IOException if the size of the channel cannot be determined
+     */
+    public PositionalFileChannelRandomAccessSource(FileChannel channel) throws java.io.IOException {
+        this.channel = channel;
+        this.length = channel.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position) throws java.io.IOException {
+        byte[] singleByte = new byte[1];
+        if (get(position, singleByte, 0, 1) != 1) {
+            return -1;
+        }
+        return 0xff & singleByte[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        if (position >= length) {
+            return -1;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, off, (int) Math.min(len, length - position));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position() - off) == -1) {
+                break;
+            }
+        }
+        int count = buffer.position() - off;
+        return count == 0 && len > 0 ? -1 : count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Note: the length is determined when the {@link PositionalFileChannelRandomAccessSource} is constructed.
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Closes the underlying channel
+     */
+    public void close() throws java.io.IOException {
+        try {
+            channel.close();
+        } catch (Exception ex) {
+            Logger logger = LoggerFactory.getLogger(PositionalFileChannelRandomAccessSource.class);
+            logger.error(IoLogMessageConstant.FILE_CHANNEL_CLOSING_FAILED, ex);
+        }
+    }
+}
@@ -59,6 +59,11 @@ public final class RandomAccessSourceFactory {
      */
     private boolean exclusivelyLockFile = false;
 
+    /**
+     * Whether the sources created for files shall support concurrent reads without synchronization
+     */
+    private boolean usePositionalReads = false;
+
     /**
      * Creates a factory that will give preference to accessing the underling data source using memory mapped files
      */
@@ -98,6 +103,20 @@ public final class RandomAccessSourceFactory {
         return this;
     }
 
+    /**
+     * Determines whether the sources created for files shall be {@link IPositionalRandomAccessSource}s, which can be
+     * read by several threads at once without synchronization. Such sources don't have a shared read buffer,
+     * so the readers are expected to buffer the data on their own. This flag takes precedence over
+     * {@link #setUsePlainRandomAccess(boolean)}.
+     *
+     * @param usePositionalReads whether the created file sources shall support concurrent reads
+     * @return this object (this allows chaining of method calls)
+     */
+    public RandomAccessSourceFactory setUsePositionalReads(boolean usePositionalReads) {
+        this.usePositionalReads = usePositionalReads;
+        return this;
+    }
+
     /**
      * Creates a {@link IRandomAccessSource} based on a byte array
      * @param data the byte array
@@ -205,6 +224,17 @@ public final class RandomAccessSourceFactory {
             raf.getChannel().lock();
         }
 
+        if (usePositionalReads) {
+            try {
+                return createPositionalSource(raf.getChannel());
+            } catch (Exception e) {
+                try {
+                    raf.close();
+                } catch (java.io.IOException ignore){}
+                throw e;
+            }
+        }
+
         if (usePlainRandomAccess){
             return new RAFRandomAccessSource(raf);
         }
@@ -295,6 +325,26 @@ public final class RandomAccessSourceFactory {
         }
     }
 
+    /**
+     * Creates a {@link IPositionalRandomAccessSource} for a file channel. The files which are small enough are memory
+     * mapped entirely, the other ones are read with positional channel reads.
+     * @param channel the channel to create the source for
+     * @return the newly created {@link IRandomAccessSource}
+     * @throws java.io.IOException in case of any I/O error
+     */
+    private static IRandomAccessSource createPositionalSource(FileChannel channel) throws java.io.IOException {
+        if (channel.size() > 0 && channel.size() <= PagedChannelRandomAccessSource.DEFAULT_TOTAL_BUFSIZE) {
+            try {
+                return new FileChannelRandomAccessSource(channel);
+            } catch (java.io.IOException e) {
+                if (!exceptionIsMapFailureException(e)) {
+                    throw e;
+                }
+            }
+        }
+        return new PositionalFileChannelRandomAccessSource(channel);
+    }
+
     /**
      * Utility method that determines whether a given java.io.IOException is the result
      * of a failure to map a memory mapped file.  It would be better if the runtime
@@ -101,12 +101,14 @@ public final class FilterUtil {
      * @param inflated the buffer for the uncompressed data
      */
     public static void inflateData(byte[] deflated, byte[] inflated) {
-        Inflater inflater = new Inflater();
+        Inflater inflater = ZlibPool.getDefault().acquireInflater();
         inflater.setInput(deflated);
         try {
             inflater.inflate(inflated);
         } catch (DataFormatException dfe) {
             throw new IOException(IoExceptionMessageConstant.CANNOT_INFLATE_TIFF_IMAGE);
+        } finally {
+            ZlibPool.getDefault().releaseInflater(inflater);
         }
     }
 
@@ -0,0 +1,248 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Bounded pool of {@link Deflater} and {@link Inflater} instances.
+ *
+ * <p>
+ * Every {@link Deflater} and {@link Inflater} allocates native zlib state which is only released by
+ * {@link Deflater#end()} or, eventually, by the garbage collector. Documents with a lot of small streams create
+ * a lot of such instances, so they are reused across the streams instead: an instance is acquired from the pool
+ * before the stream is processed and released back to the pool afterwards, where it is reset. The number of idle
+ * instances kept by the pool is limited, the instances which don't fit into the pool are ended.
+ *
+ * <p>
+ * The pool is thread-safe. The released instance must not be used anymore by the code which has released it.
+ */
+public final class ZlibPool {
+
+    /**
+     * The default maximum number of idle instances of each kind kept by the pool.
+     */
+    public static final int DEFAULT_MAX_IDLE_COUNT = 16;
+
+    private static final ZlibPool DEFAULT_POOL = new ZlibPool(DEFAULT_MAX_IDLE_COUNT);
+
+    private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+    private final Queue<Inflater> inflaters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleDeflatersCount = new AtomicInteger();
+    private final AtomicInteger idleInflatersCount = new AtomicInteger();
+
+    private final AtomicLong createdDeflatersCount = new AtomicLong();
+    private final AtomicLong reusedDeflatersCount = new AtomicLong();
+    private final AtomicLong createdInflatersCount = new AtomicLong();
+    private final AtomicLong reusedInflatersCount = new AtomicLong();
+
+    private volatile int maxIdleCount;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param maxIdleCount the maximum number of idle instances of each kind kept by the pool
+     */
+    public ZlibPool(int maxIdleCount) {
+        setMaxIdleCount(maxIdleCount);
+    }
+
+    /**
+     * Gets the pool which is shared by the whole application.
+     *
+     * @return the default pool
+     */
+    public static ZlibPool getDefault() {
+        return DEFAULT_POOL;
+    }
+
+    /**
+     * Sets the maximum number of idle instances of each kind kept by the pool. Zero disables pooling,
+     * so that every released instance is ended immediately.
+     *
+     * @param maxIdleCount the maximum number of idle instances
+     */
+    public void setMaxIdleCount(int maxIdleCount) {
+        if (maxIdleCount < 0) {
+            throw new IllegalArgumentException("maxIdleCount");
+        }
+        this.maxIdleCount = maxIdleCount;
+        trim(deflaters, idleDeflatersCount, maxIdleCount);
+        trim(inflaters, idleInflatersCount, maxIdleCount);
+    }
+
+    /**
+     * Gets the maximum number of idle instances of each kind kept by the pool.
+     *
+     * @return the maximum number of idle instances
+     */
+    public int getMaxIdleCount() {
+        return maxIdleCount;
+    }
+
+    /**
+     * Acquires the deflater with the specified compression level from the pool or creates a new one.
+     *
+     * @param level the compression level, see {@link Deflater#setLevel(int)}
+     * @return the deflater which is ready to compress a new stream
+     */
+    public Deflater acquireDeflater(int level) {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            createdDeflatersCount.incrementAndGet();
+            return new Deflater(level);
+        }
+        idleDeflatersCount.decrementAndGet();
+        reusedDeflatersCount.incrementAndGet();
+        deflater.setLevel(level);
+        return deflater;
+    }
+
+    /**
+     * Resets the deflater and returns it to the pool.
+     *
+     * @param deflater the deflater which is not used anymore
+     */
+    public void releaseDeflater(Deflater deflater) {
+        deflater.reset();
+        if (idleDeflatersCount.incrementAndGet() <= maxIdleCount) {
+            deflaters.offer(deflater);
+        } else {
+            idleDeflatersCount.decrementAndGet();
+            deflater.end();
+        }
+    }
+
+    /**
+     * Acquires the inflater from the pool or creates a new one.
+     *
+     * @return the inflater which is ready to decompress a new stream
+     */
+    public Inflater acquireInflater() {
+        Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            createdInflatersCount.incrementAndGet();
+            return new Inflater();
+        }
+        idleInflatersCount.decrementAndGet();
+        reusedInflatersCount.incrementAndGet();
+        return inflater;
+    }
+
+    /**
+     * Resets the inflater and returns it to the pool.
+     *
+     * @param inflater the inflater which is not used anymore
+     */
+    public void releaseInflater(Inflater inflater) {
+        inflater.reset();
+        if (idleInflatersCount.incrementAndGet() <= maxIdleCount) {
+            inflaters.offer(inflater);
+        } else {
+            idleInflatersCount.decrementAndGet();
+            inflater.end();
+        }
+    }
+
+    /**
+     * Ends all the idle instances kept by the pool.
+     */
+    public void clear() {
+        trim(deflaters, idleDeflatersCount, 0);
+        trim(inflaters, idleInflatersCount, 0);
+    }
+
+    /**
+     * Gets the number of deflaters created by the pool because there were no idle ones.
+     *
+     * @return the number of created deflaters
+     */
+    public long getCreatedDeflatersCount() {
+        return createdDeflatersCount.get();
+    }
+
+    /**
+     * Gets the number of times an idle deflater was reused.
+     *
+     * @return the number of reused deflaters
+     */
+    public long getReusedDeflatersCount() {
+        return reusedDeflatersCount.get();
+    }
+
+    /**
+     * Gets the number of idle deflaters currently kept by the pool.
+     *
+     * @return the number of idle deflaters
+     */
+    public int getIdleDeflatersCount() {
+        return idleDeflatersCount.get();
+    }
+
+    /**
+     * Gets the number of inflaters created by the pool because there were no idle ones.
+     *
+     * @return the number of created inflaters
+     */
+    public long getCreatedInflatersCount() {
+        return createdInflatersCount.get();
+    }
+
+    /**
+     * Gets the number of times an idle inflater was reused.
+     *
+     * @return the number of reused inflaters
+     */
+    public long getReusedInflatersCount() {
+        return reusedInflatersCount.get();
+    }
+
+    /**
+     * Gets the number of idle inflaters currently kept by the pool.
+     *
+     * @return the number of idle inflaters
+     */
+    public int getIdleInflatersCount() {
+        return idleInflatersCount.get();
+    }
+
+    private static <T> void trim(Queue<T> idleInstances, AtomicInteger idleCount, int maxCount) {
+        while (idleCount.get() > maxCount) {
+            T instance = idleInstances.poll();
+            if (instance == null) {
+                break;
+            }
+            idleCount.decrementAndGet();
+            if (instance instanceof Deflater) {
+                ((Deflater) instance).end();
+            } else {
+                ((Inflater) instance).end();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FileChannelOutputStreamTest extends ExtendedITextTest {
+    private static final String DESTINATION_FOLDER = "./target/test/com/itextpdf/io/source/FileChannelOutputStreamTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(DESTINATION_FOLDER);
+    }
+
+    @Test
+    public void writeSmallAndLargeChunksTest() throws IOException {
+        File file = new File(DESTINATION_FOLDER + "smallAndLargeChunks.bin");
+        byte[] large = new byte[100];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = (byte) i;
+        }
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+
+        try (FileChannelOutputStream stream = new FileChannelOutputStream(openChannel(file), 16)) {
+            for (int i = 0; i < 10; i++) {
+                stream.write('a' + i);
+                expected.write('a' + i);
+                stream.write(large, i, 10);
+                expected.write(large, i, 10);
+                stream.write(large);
+                expected.write(large);
+            }
+            Assert.assertEquals(expected.size(), stream.getPosition());
+        }
+
+        Assert.assertArrayEquals(expected.toByteArray(), Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void gatherWriteTest() throws IOException {
+        File file = new File(DESTINATION_FOLDER + "gatherWrite.bin");
+
+        try (FileChannelOutputStream stream = new FileChannelOutputStream(openChannel(file))) {
+            stream.write(getBytes("<"));
+            stream.write(ByteBuffer.wrap(getBytes("ab")), ByteBuffer.wrap(getBytes("cd")));
+            stream.write(getBytes(">"));
+            Assert.assertEquals(6, stream.getPosition());
+        }
+
+        Assert.assertEquals("<abcd>", new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void transferTest() throws IOException {
+        File source = new File(DESTINATION_FOLDER + "transferSource.bin");
+        Files.write(source.toPath(), getBytes("0123456789"));
+        File file = new File(DESTINATION_FOLDER + "transfer.bin");
+
+        try (FileChannelOutputStream stream = new FileChannelOutputStream(openChannel(file));
+                RandomAccessFile sourceFile = new RandomAccessFile(source, "r")) {
+            stream.write(getBytes("<"));
+            stream.transferFrom(sourceFile.getChannel(), 3, 4);
+            stream.write(getBytes(">"));
+            Assert.assertEquals(6, stream.getPosition());
+        }
+
+        Assert.assertEquals("<3456>", new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test(expected = EOFException.class)
+    public void transferAfterSourceEndTest() throws IOException {
+        File source = new File(DESTINATION_FOLDER + "shortTransferSource.bin");
+        Files.write(source.toPath(), getBytes("0123"));
+        File file = new File(DESTINATION_FOLDER + "shortTransfer.bin");
+
+        try (FileChannelOutputStream stream = new FileChannelOutputStream(openChannel(file));
+                RandomAccessFile sourceFile = new RandomAccessFile(source, "r")) {
+            stream.transferFrom(sourceFile.getChannel(), 2, 4);
+        }
+    }
+
+    @Test
+    public void patchWrittenAndBufferedBytesTest() throws IOException {
+        File file = new File(DESTINATION_FOLDER + "patch.bin");
+
+        try (FileChannelOutputStream stream = new FileChannelOutputStream(openChannel(file), 8)) {
+            stream.write(getBytes("xref 0000000000 "));
+            stream.write(getBytes("trailer <<>>"));
+            stream.write(getBytes("0000"));
+            // the first patch is already written to the channel, the second one is still buffered
+            stream.patch(5, getBytes("0000012345"));
+            stream.patch(28, getBytes("1234"));
+            Assert.assertEquals(32, stream.getPosition());
+        }
+
+        Assert.assertEquals("xref 0000012345 trailer <<>>1234",
+                new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void patchNotWrittenBytesTest() throws IOException {
+        File file = new File(DESTINATION_FOLDER + "patchNotWritten.bin");
+
+        try (FileChannelOutputStream stream = new FileChannelOutputStream(openChannel(file))) {
+            stream.write(getBytes("abc"));
+            stream.patch(2, getBytes("cd"));
+        }
+    }
+
+    private static FileChannel openChannel(File file) throws IOException {
+        return new RandomAccessFile(file, "rw").getChannel();
+    }
+
+    private static byte[] getBytes(String str) {
+        return str.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -29,6 +29,7 @@ import com.itextpdf.test.annotations.type.UnitTest;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -94,6 +95,50 @@ public class PdfTokenizerTest extends ExtendedITextTest {
         Assert.assertEquals(15, tok.getIntValue());
     }
 
+    @Test
+    public void getDoubleValueTest() throws IOException {
+        String[] numbers = new String[] {"15", "-2.5", ".5", "+3.", "0.1", "-0", "123456.789", "0.000000123",
+                "12345678901234567890.5", "3.14159265358979323846"};
+        String data = String.join(" ", numbers);
+
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(
+                factory.createSource(data.getBytes(StandardCharsets.ISO_8859_1))));
+
+        for (String number : numbers) {
+            tok.nextToken();
+            Assert.assertEquals(TokenType.Number, tok.getTokenType());
+            Assert.assertEquals(Double.doubleToLongBits(Double.parseDouble(number)),
+                    Double.doubleToLongBits(tok.getDoubleValue()));
+        }
+    }
+
+    @Test
+    public void getDoubleValueOfInvalidNumberTest() throws IOException {
+        String data = "- ";
+
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(
+                factory.createSource(data.getBytes(StandardCharsets.ISO_8859_1))));
+
+        tok.nextToken();
+        Assert.assertEquals(TokenType.Number, tok.getTokenType());
+        Assert.assertTrue(Double.isNaN(tok.getDoubleValue()));
+    }
+
+    @Test
+    public void getByteContentHashCodeTest() throws IOException {
+        String data = "/Name1 70 BDC";
+
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(
+                factory.createSource(data.getBytes(StandardCharsets.ISO_8859_1))));
+
+        while (tok.nextToken() && tok.getTokenType() != TokenType.EndOfFile) {
+            Assert.assertEquals(Arrays.hashCode(tok.getByteContent()), tok.getByteContentHashCode());
+        }
+    }
+
     @Test
     public void getPositionTest() throws IOException {
         String data = "/Name1 70";
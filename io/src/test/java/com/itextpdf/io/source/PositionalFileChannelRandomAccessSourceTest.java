@@ -0,0 +1,113 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PositionalFileChannelRandomAccessSourceTest extends ExtendedITextTest {
+    private final static String SOURCE_FILE = "./src/test/resources/com/itextpdf/io/source/RAF.txt";
+
+    private final byte[] content = "Hello, world!".getBytes();
+
+    @Test
+    public void getByIndexTest() throws IOException {
+        try (RandomAccessFile raf = FileUtil.getRandomAccessFile(new File(SOURCE_FILE))) {
+            PositionalFileChannelRandomAccessSource source = new PositionalFileChannelRandomAccessSource(
+                    raf.getChannel());
+            for (int i = 0; i < content.length; i++) {
+                Assert.assertEquals(content[i], source.get(i));
+            }
+            Assert.assertEquals(-1, source.get(content.length));
+        }
+    }
+
+    @Test
+    public void getArrayByIndexesWithOffsetTest() throws IOException {
+        final int beginIndex = 7;
+        final int length = 24;
+        final int offset = 2;
+        final int expectedLength = 6;
+
+        try (RandomAccessFile raf = FileUtil.getRandomAccessFile(new File(SOURCE_FILE))) {
+            PositionalFileChannelRandomAccessSource source = new PositionalFileChannelRandomAccessSource(
+                    raf.getChannel());
+            byte[] dest = new byte[30];
+
+            Assert.assertEquals(expectedLength, source.get(beginIndex, dest, offset, length));
+            for (int i = 0; i < expectedLength; i++) {
+                Assert.assertEquals(content[beginIndex + i], dest[offset + i]);
+            }
+            Assert.assertEquals(-1, source.get(content.length, dest, 0, length));
+            // positional reads don't move the channel position
+            Assert.assertEquals(0, raf.getChannel().position());
+        }
+    }
+
+    @Test
+    public void concurrentReadsTest() throws Exception {
+        IRandomAccessSource source = new RandomAccessSourceFactory().setUsePositionalReads(true)
+                .createBestSource(SOURCE_FILE);
+        Assert.assertTrue(source instanceof IPositionalRandomAccessSource);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 16; task++) {
+                final int start = task % content.length;
+                results.add(executor.submit(() -> {
+                    byte[] dest = new byte[content.length];
+                    for (int i = 0; i < 1000; i++) {
+                        int read = source.get(start, dest, 0, dest.length);
+                        for (int j = 0; j < read; j++) {
+                            if (dest[j] != content[start + j] || source.get(start + j) != content[start + j]) {
+                                return false;
+                            }
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+            source.close();
+        }
+    }
+}
@@ -81,4 +81,24 @@ public class RandomAccessSourceFactoryTest extends ExtendedITextTest {
             Assert.assertEquals(extractedRandomAccessSource, rasInputStream.getSource());
         }
     }
+
+    @Test
+    public void createPositionalSourceTest() throws IOException {
+        IRandomAccessSource source = new RandomAccessSourceFactory().setUsePositionalReads(true)
+                .setUsePlainRandomAccess(true).createBestSource(SOURCE_FILE);
+        try {
+            Assert.assertTrue(source instanceof IPositionalRandomAccessSource);
+            Assert.assertEquals(13, source.length());
+            Assert.assertEquals(72, source.get(0));
+        } finally {
+            source.close();
+        }
+
+        source = new RandomAccessSourceFactory().createBestSource(SOURCE_FILE);
+        try {
+            Assert.assertFalse(source instanceof IPositionalRandomAccessSource);
+        } finally {
+            source.close();
+        }
+    }
 }
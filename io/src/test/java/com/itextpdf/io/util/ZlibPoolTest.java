@@ -0,0 +1,190 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.util;
+
+import com.itextpdf.io.source.DeflaterOutputStream;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ZlibPoolTest extends ExtendedITextTest {
+
+    @Test
+    public void deflaterIsReusedTest() throws DataFormatException {
+        ZlibPool pool = new ZlibPool(2);
+        byte[] data = createData();
+        Deflater deflater = pool.acquireDeflater(Deflater.BEST_SPEED);
+        byte[] expected = deflate(deflater, data);
+        pool.releaseDeflater(deflater);
+        Assert.assertEquals(1, pool.getIdleDeflatersCount());
+
+        Deflater reusedDeflater = pool.acquireDeflater(Deflater.BEST_SPEED);
+        Assert.assertSame(deflater, reusedDeflater);
+        Assert.assertArrayEquals(expected, deflate(reusedDeflater, data));
+        pool.releaseDeflater(reusedDeflater);
+
+        Assert.assertEquals(1, pool.getCreatedDeflatersCount());
+        Assert.assertEquals(1, pool.getReusedDeflatersCount());
+        Assert.assertArrayEquals(data, inflate(pool, expected, data.length));
+    }
+
+    @Test
+    public void deflaterLevelIsChangedTest() throws DataFormatException {
+        ZlibPool pool = new ZlibPool(2);
+        byte[] data = createData();
+        Deflater deflater = pool.acquireDeflater(Deflater.NO_COMPRESSION);
+        byte[] stored = deflate(deflater, data);
+        pool.releaseDeflater(deflater);
+
+        Deflater reusedDeflater = pool.acquireDeflater(Deflater.BEST_COMPRESSION);
+        byte[] compressed = deflate(reusedDeflater, data);
+        pool.releaseDeflater(reusedDeflater);
+        Assert.assertTrue(compressed.length < stored.length);
+        Assert.assertArrayEquals(data, inflate(pool, compressed, data.length));
+    }
+
+    @Test
+    public void inflaterIsReusedTest() throws DataFormatException {
+        ZlibPool pool = new ZlibPool(2);
+        byte[] data = createData();
+        Deflater deflater = pool.acquireDeflater(Deflater.DEFAULT_COMPRESSION);
+        byte[] compressed = deflate(deflater, data);
+        pool.releaseDeflater(deflater);
+
+        Assert.assertArrayEquals(data, inflate(pool, compressed, data.length));
+        Assert.assertArrayEquals(data, inflate(pool, compressed, data.length));
+        Assert.assertEquals(1, pool.getCreatedInflatersCount());
+        Assert.assertEquals(1, pool.getReusedInflatersCount());
+        Assert.assertEquals(1, pool.getIdleInflatersCount());
+    }
+
+    @Test
+    public void inflaterIsResetAfterErrorTest() throws DataFormatException {
+        ZlibPool pool = new ZlibPool(2);
+        Inflater inflater = pool.acquireInflater();
+        inflater.setInput(new byte[] {1, 2, 3, 4, 5});
+        Assert.assertThrows(DataFormatException.class, () -> inflater.inflate(new byte[10]));
+        pool.releaseInflater(inflater);
+
+        byte[] data = createData();
+        Deflater deflater = pool.acquireDeflater(Deflater.DEFAULT_COMPRESSION);
+        byte[] compressed = deflate(deflater, data);
+        pool.releaseDeflater(deflater);
+        Assert.assertArrayEquals(data, inflate(pool, compressed, data.length));
+        Assert.assertEquals(1, pool.getReusedInflatersCount());
+    }
+
+    @Test
+    public void idleCountIsLimitedTest() {
+        ZlibPool pool = new ZlibPool(2);
+        Deflater[] deflaters = new Deflater[3];
+        for (int i = 0; i < deflaters.length; i++) {
+            deflaters[i] = pool.acquireDeflater(Deflater.DEFAULT_COMPRESSION);
+        }
+        for (Deflater deflater : deflaters) {
+            pool.releaseDeflater(deflater);
+        }
+        Assert.assertEquals(3, pool.getCreatedDeflatersCount());
+        Assert.assertEquals(2, pool.getIdleDeflatersCount());
+
+        pool.setMaxIdleCount(1);
+        Assert.assertEquals(1, pool.getIdleDeflatersCount());
+        pool.clear();
+        Assert.assertEquals(0, pool.getIdleDeflatersCount());
+        Assert.assertEquals(1, pool.getMaxIdleCount());
+
+        pool.setMaxIdleCount(0);
+        pool.releaseInflater(pool.acquireInflater());
+        Assert.assertEquals(0, pool.getIdleInflatersCount());
+    }
+
+    @Test
+    public void negativeMaxIdleCountTest() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new ZlibPool(-1));
+    }
+
+    @Test
+    public void deflaterOutputStreamTest() throws IOException, DataFormatException {
+        byte[] data = createData();
+        ByteArrayOutputStream firstOut = new ByteArrayOutputStream();
+        DeflaterOutputStream first = new DeflaterOutputStream(firstOut, Deflater.BEST_COMPRESSION);
+        first.write(data);
+        first.finish();
+        Assert.assertThrows(IOException.class, () -> first.write(data));
+
+        // the deflater released by the first stream must not be affected by closing of the first stream
+        ByteArrayOutputStream secondOut = new ByteArrayOutputStream();
+        DeflaterOutputStream second = new DeflaterOutputStream(secondOut, Deflater.BEST_COMPRESSION);
+        second.write(data, 0, 1000);
+        first.close();
+        second.write(data, 1000, data.length - 1000);
+        second.close();
+
+        Assert.assertArrayEquals(firstOut.toByteArray(), secondOut.toByteArray());
+        Assert.assertArrayEquals(data, inflate(new ZlibPool(0), secondOut.toByteArray(), data.length));
+    }
+
+    private static byte[] createData() {
+        byte[] data = new byte[20000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ((i % 37) + (i / 500));
+        }
+        return data;
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] data) {
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[512];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(ZlibPool pool, byte[] compressed, int length) throws DataFormatException {
+        Inflater inflater = pool.acquireInflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] result = new byte[length];
+            int offset = 0;
+            while (!inflater.finished()) {
+                offset += inflater.inflate(result, offset, length - offset);
+            }
+            Assert.assertEquals(length, offset);
+            return result;
+        } finally {
+            pool.releaseInflater(inflater);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.commons.utils.DaemonThreadFactory;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Writes flushed objects to the document on a single writer thread, so that serialization, compression and output
+ * of the flushed pages overlap with the processing of the next pages on the calling thread.
+ * <p>
+ * Objects are passed to the writer thread through a bounded queue and written strictly in the order in which they
+ * were added. The calling thread hands an object off with {@link #addObject(PdfObject)}, after which the object
+ * and its direct children belong to the writer thread until they are written and released. Everything which may
+ * change the document, e.g. making the objects indirect or updating the cross-reference table, is done by
+ * the calling thread: written references are collected by the writer thread and processed on the next hand-off
+ * or in {@link #writePendingObjects()}. Submitting a task to the executor and completing it establish
+ * the happens-before relation between the two threads.
+ */
+class AsynchronousObjectWriter {
+
+    /**
+     * Max number of objects which are handed off but not written yet, after which the calling thread
+     * waits for the writer thread.
+     */
+    private static final int MAX_PENDING_OBJECTS = 64;
+
+    private final PdfWriter writer;
+    private final ExecutorService executor;
+    private final Semaphore pendingObjectsLimit = new Semaphore(MAX_PENDING_OBJECTS);
+    private final Queue<PdfIndirectReference> writtenReferences = new ConcurrentLinkedQueue<>();
+    private volatile WritingFailure failure;
+
+    /**
+     * Creates a new {@link AsynchronousObjectWriter} instance.
+     *
+     * @param writer the writer to which objects will be written
+     */
+    AsynchronousObjectWriter(PdfWriter writer) {
+        this.writer = writer;
+        this.executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory("itext-asynchronous-writer"));
+    }
+
+    /**
+     * Hands flushed object off to the writer thread. Waits if there are too many objects which are not written yet.
+     *
+     * @param pdfObject flushed object
+     */
+    void addObject(final PdfObject pdfObject) {
+        checkFailure();
+        acquirePermits(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (failure == null) {
+                        writer.writeAndReleasePendingObject(pdfObject, null);
+                        writtenReferences.add(pdfObject.getIndirectReference());
+                    }
+                } catch (Throwable e) {
+                    failure = new WritingFailure(e, pdfObject);
+                } finally {
+                    pendingObjectsLimit.release();
+                }
+            }
+        });
+        processWrittenReferences();
+    }
+
+    /**
+     * Waits until all handed off objects are written.
+     */
+    void writePendingObjects() {
+        acquirePermits(MAX_PENDING_OBJECTS);
+        pendingObjectsLimit.release(MAX_PENDING_OBJECTS);
+        processWrittenReferences();
+        checkFailure();
+    }
+
+    /**
+     * Stops the writer thread. Objects which weren't written by this moment are dropped.
+     */
+    void shutdown() {
+        executor.shutdownNow();
+        writtenReferences.clear();
+    }
+
+    private void acquirePermits(int permits) {
+        try {
+            pendingObjectsLimit.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e);
+        }
+    }
+
+    private void processWrittenReferences() {
+        PdfIndirectReference reference;
+        while ((reference = writtenReferences.poll()) != null) {
+            writer.storeFlushedReference(reference);
+        }
+    }
+
+    private void checkFailure() {
+        WritingFailure writingFailure = failure;
+        if (writingFailure != null) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, writingFailure.cause,
+                    writingFailure.pdfObject);
+        }
+    }
+
+    private static final class WritingFailure {
+        final Throwable cause;
+        final PdfObject pdfObject;
+
+        WritingFailure(Throwable cause, PdfObject pdfObject) {
+            this.cause = cause;
+            this.pdfObject = pdfObject;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+/**
+ * Compact storage of cross-reference entries which are not represented by {@link PdfIndirectReference} instances.
+ *
+ * <p>
+ * Every entry is stored in the same form as in a cross-reference stream: the entry type, the byte offset of the
+ * object (or the number of the object stream which contains it) and the generation number (or the index of the
+ * object within its object stream). Special states of the reference, like {@link PdfObject#FLUSHED}, are stored
+ * as well. The index takes 15 bytes per entry, which is several times less than a {@link PdfIndirectReference}
+ * instance.
+ */
+final class CompactXrefIndex {
+
+    static final int ABSENT_ENTRY = -1;
+    static final int FREE_ENTRY = 0;
+    static final int IN_USE_ENTRY = 1;
+    static final int COMPRESSED_ENTRY = 2;
+
+    // Entry types are stored shifted by one, so that zero denotes an absent entry.
+    private byte[] types;
+    private long[] offsets;
+    private int[] generations;
+    private short[] states;
+
+    private final PdfDocument document;
+
+    CompactXrefIndex(PdfDocument document, int capacity) {
+        this.document = document;
+        this.types = new byte[capacity];
+        this.offsets = new long[capacity];
+        this.generations = new int[capacity];
+        this.states = new short[capacity];
+    }
+
+    /**
+     * Stores cross-reference entry. The meaning of the fields is the same as in cross-reference streams.
+     *
+     * @param objNr  object number of the entry
+     * @param type   type of the entry, one of {@link #FREE_ENTRY}, {@link #IN_USE_ENTRY} and {@link #COMPRESSED_ENTRY}
+     * @param field2 byte offset of the object or number of the object stream which contains the object
+     * @param field3 generation number of the object or index of the object within its object stream
+     */
+    void put(int objNr, int type, long field2, int field3) {
+        put(objNr, type, field2, field3, type == FREE_ENTRY ? PdfObject.FREE : 0);
+    }
+
+    /**
+     * Stores the current state of the indirect reference, so that it can be recreated later.
+     *
+     * @param reference indirect reference to be stored
+     */
+    void put(PdfIndirectReference reference) {
+        if (reference.isFree()) {
+            put(reference.getObjNumber(), FREE_ENTRY, reference.getOffset(), reference.getGenNumber(),
+                    reference.getState());
+        } else if (reference.getObjStreamNumber() > 0) {
+            put(reference.getObjNumber(), COMPRESSED_ENTRY, reference.getObjStreamNumber(), reference.getIndex(),
+                    reference.getState());
+        } else {
+            put(reference.getObjNumber(), IN_USE_ENTRY, reference.getOffset(), reference.getGenNumber(),
+                    reference.getState());
+        }
+    }
+
+    boolean contains(int objNr) {
+        return objNr >= 0 && objNr < types.length && types[objNr] != 0;
+    }
+
+    boolean isFree(int objNr) {
+        return getType(objNr) == FREE_ENTRY;
+    }
+
+    /**
+     * Gets the type of the stored entry.
+     *
+     * @param objNr object number of the entry
+     * @return one of {@link #FREE_ENTRY}, {@link #IN_USE_ENTRY} and {@link #COMPRESSED_ENTRY}, or
+     * {@link #ABSENT_ENTRY} if there is no such entry
+     */
+    int getType(int objNr) {
+        return contains(objNr) ? types[objNr] - 1 : ABSENT_ENTRY;
+    }
+
+    /**
+     * Gets the second field of the stored entry in terms of cross-reference streams.
+     *
+     * @param objNr object number of the entry
+     * @return byte offset of the object or number of the object stream which contains the object
+     */
+    long getField2(int objNr) {
+        return offsets[objNr];
+    }
+
+    /**
+     * Gets the third field of the stored entry in terms of cross-reference streams.
+     *
+     * @param objNr object number of the entry
+     * @return generation number of the object or index of the object within its object stream
+     */
+    int getField3(int objNr) {
+        return generations[objNr];
+    }
+
+    boolean checkState(int objNr, short state) {
+        return (states[objNr] & state) == state;
+    }
+
+    /**
+     * Creates an indirect reference for the stored entry.
+     *
+     * @param objNr object number of the entry
+     * @return created indirect reference or {@code null} if there is no such entry
+     */
+    PdfIndirectReference createReference(int objNr) {
+        PdfIndirectReference reference;
+        switch (getType(objNr)) {
+            case ABSENT_ENTRY:
+                return null;
+            case COMPRESSED_ENTRY:
+                reference = new PdfIndirectReference(document, objNr, 0, generations[objNr]);
+                reference.setObjStreamNumber((int) offsets[objNr]);
+                break;
+            default:
+                reference = new PdfIndirectReference(document, objNr, generations[objNr], offsets[objNr]);
+                break;
+        }
+        reference.setState(states[objNr]);
+        return reference;
+    }
+
+    /**
+     * Removes all entries except the free ones up to the specified object number inclusively.
+     *
+     * @param count the greatest object number to be cleared
+     */
+    void clear(int count) {
+        int last = Math.min(count, types.length - 1);
+        for (int i = 1; i <= last; i++) {
+            if (types[i] - 1 != FREE_ENTRY) {
+                types[i] = 0;
+            }
+        }
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity > types.length) {
+            int newCapacity = Math.max(capacity, types.length << 1);
+            byte[] newTypes = new byte[newCapacity];
+            System.arraycopy(types, 0, newTypes, 0, types.length);
+            long[] newOffsets = new long[newCapacity];
+            System.arraycopy(offsets, 0, newOffsets, 0, offsets.length);
+            int[] newGenerations = new int[newCapacity];
+            System.arraycopy(generations, 0, newGenerations, 0, generations.length);
+            short[] newStates = new short[newCapacity];
+            System.arraycopy(states, 0, newStates, 0, states.length);
+            types = newTypes;
+            offsets = newOffsets;
+            generations = newGenerations;
+            states = newStates;
+        }
+    }
+
+    private void put(int objNr, int type, long field2, int field3, short state) {
+        ensureCapacity(objNr + 1);
+        types[objNr] = (byte) (type + 1);
+        offsets[objNr] = field2;
+        generations[objNr] = field3;
+        states[objNr] = state;
+    }
+}
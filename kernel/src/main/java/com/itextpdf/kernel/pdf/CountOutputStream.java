@@ -22,8 +22,11 @@
  */
 package com.itextpdf.kernel.pdf;
 
+import com.itextpdf.io.source.FileChannelOutputStream;
+
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 
 /**
  * An <code>OutputStream</code> that counts the written bytes.
@@ -87,6 +90,30 @@ public class CountOutputStream extends OutputStream {
         outputStream.close();
     }
 
+    /**
+     * Checks if the regions of files can be transferred to the inner output stream by
+     * {@link #transferFrom(FileChannel, long, long)}, i.e. if it is a {@link FileChannelOutputStream}.
+     *
+     * @return true if the transfers are supported, otherwise false
+     */
+    boolean isTransferSupported() {
+        return outputStream instanceof FileChannelOutputStream;
+    }
+
+    /**
+     * Writes the region of the source channel to the inner {@link FileChannelOutputStream},
+     * see {@link FileChannelOutputStream#transferFrom(FileChannel, long, long)}.
+     *
+     * @param source the channel to read from
+     * @param sourcePosition the position of the region in the source channel
+     * @param count the length of the region in bytes
+     * @throws IOException if an I/O error occurs
+     */
+    void transferFrom(FileChannel source, long sourcePosition, long count) throws IOException {
+        ((FileChannelOutputStream) outputStream).transferFrom(source, sourcePosition, count);
+        amountOfWrittenBytes += count;
+    }
+
     /**
      * Gets amount of bytes written to the inner output stream.
      *
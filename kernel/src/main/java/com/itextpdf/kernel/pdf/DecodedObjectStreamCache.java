@@ -0,0 +1,163 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of decoded object streams, limited by the total size of the decoded bytes.
+ *
+ * <p>
+ * Every object stream is inflated only once while it stays in the cache. Its offset table is parsed together with
+ * the decoded bytes, so that any object of the stream can be parsed later on without touching the other objects,
+ * see {@link PdfReader#setLazyObjectStreamReading(boolean)}.
+ */
+final class DecodedObjectStreamCache {
+
+    private final Map<Integer, DecodedObjectStream> streams = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long maxSize;
+
+    private long size;
+
+    DecodedObjectStreamCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the decoded object stream and marks it as the most recently used one.
+     *
+     * @param objectStreamNumber object number of the object stream
+     * @return the decoded object stream or {@code null} if it is not cached
+     */
+    DecodedObjectStream get(int objectStreamNumber) {
+        return streams.get(objectStreamNumber);
+    }
+
+    /**
+     * Caches the decoded object stream and evicts the least recently used streams which exceed the size limit.
+     * The stream which does not fit into the limit on its own is not cached at all.
+     *
+     * @param objectStreamNumber object number of the object stream
+     * @param stream             decoded object stream
+     */
+    void put(int objectStreamNumber, DecodedObjectStream stream) {
+        if (stream.getSize() > maxSize) {
+            // caching it would only evict all the other streams before the stream itself
+            DecodedObjectStream previous = streams.remove(objectStreamNumber);
+            if (previous != null) {
+                size -= previous.getSize();
+            }
+            return;
+        }
+        DecodedObjectStream previous = streams.put(objectStreamNumber, stream);
+        if (previous != null) {
+            size -= previous.getSize();
+        }
+        size += stream.getSize();
+        evictExceeding();
+    }
+
+    void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        evictExceeding();
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    int getCount() {
+        return streams.size();
+    }
+
+    void clear() {
+        streams.clear();
+        size = 0;
+    }
+
+    private void evictExceeding() {
+        Iterator<DecodedObjectStream> iterator = streams.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().getSize();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Decoded bytes of the object stream together with its offset table.
+     */
+    static final class DecodedObjectStream {
+
+        private final byte[] bytes;
+        private final int[] objNumbers;
+        private final int[] offsets;
+
+        DecodedObjectStream(byte[] bytes, int[] objNumbers, int[] offsets) {
+            this.bytes = bytes;
+            this.objNumbers = objNumbers;
+            this.offsets = offsets;
+        }
+
+        byte[] getBytes() {
+            return bytes;
+        }
+
+        int getObjectsCount() {
+            return objNumbers.length;
+        }
+
+        int getObjNumber(int index) {
+            return objNumbers[index];
+        }
+
+        int getOffset(int index) {
+            return offsets[index];
+        }
+
+        /**
+         * Finds the offset of the object in the decoded bytes.
+         *
+         * @param objNumber object number
+         * @param index     expected index of the object in the stream, as specified by the cross-reference entry
+         * @return the offset of the object or -1 if the stream does not contain the object
+         */
+        int findOffset(int objNumber, int index) {
+            if (index >= 0 && index < objNumbers.length && objNumbers[index] == objNumber) {
+                return offsets[index];
+            }
+            for (int k = 0; k < objNumbers.length; ++k) {
+                if (objNumbers[k] == objNumber) {
+                    return offsets[k];
+                }
+            }
+            return -1;
+        }
+
+        long getSize() {
+            return bytes.length + 8L * objNumbers.length;
+        }
+    }
+}
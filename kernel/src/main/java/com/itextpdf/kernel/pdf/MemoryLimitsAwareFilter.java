@@ -33,6 +33,9 @@ import java.io.ByteArrayOutputStream;
  */
 public abstract class MemoryLimitsAwareFilter implements IFilterHandler {
 
+    // The same as the initial capacity of ByteArrayOutputStream
+    private static final int DEFAULT_INITIAL_CAPACITY = 32;
+
     /**
      * Creates a {@link MemoryLimitsAwareOutputStream} which will be used for decompression of the passed pdf stream.
      *
@@ -40,7 +43,21 @@ public abstract class MemoryLimitsAwareFilter implements IFilterHandler {
      * @return the {@link ByteArrayOutputStream} which will be used for decompression of the passed pdf stream
      */
     public ByteArrayOutputStream enableMemoryLimitsAwareHandler(PdfDictionary streamDictionary) {
-        MemoryLimitsAwareOutputStream outputStream = new MemoryLimitsAwareOutputStream();
+        return enableMemoryLimitsAwareHandler(streamDictionary, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a {@link MemoryLimitsAwareOutputStream} which will be used for decompression of the passed pdf stream.
+     * The output stream is allocated at once with the expected size of the decompressed data, so that it does not
+     * need to grow and copy its buffer while the data is written.
+     *
+     * @param streamDictionary the pdf stream which is going to be decompressed.
+     * @param initialCapacity  the expected size of the decompressed data. The maximum allowed size of a single
+     *                         decompressed stream is used instead if it is smaller.
+     * @return the {@link ByteArrayOutputStream} which will be used for decompression of the passed pdf stream
+     */
+    public ByteArrayOutputStream enableMemoryLimitsAwareHandler(PdfDictionary streamDictionary,
+            int initialCapacity) {
         MemoryLimitsAwareHandler memoryLimitsAwareHandler = null;
         if (null != streamDictionary.getIndirectReference()) {
             memoryLimitsAwareHandler = streamDictionary.getIndirectReference().getDocument().memoryLimitsAwareHandler;
@@ -48,8 +65,13 @@ public abstract class MemoryLimitsAwareFilter implements IFilterHandler {
             // We do not reuse some static instance because one can process pdfs in different threads.
             memoryLimitsAwareHandler = new MemoryLimitsAwareHandler();
         }
+        MemoryLimitsAwareOutputStream outputStream;
         if (null != memoryLimitsAwareHandler && memoryLimitsAwareHandler.considerCurrentPdfStream) {
-            outputStream.setMaxStreamSize(memoryLimitsAwareHandler.getMaxSizeOfSingleDecompressedPdfStream());
+            int maxStreamSize = memoryLimitsAwareHandler.getMaxSizeOfSingleDecompressedPdfStream();
+            outputStream = new MemoryLimitsAwareOutputStream(Math.max(0, Math.min(initialCapacity, maxStreamSize)));
+            outputStream.setMaxStreamSize(maxStreamSize);
+        } else {
+            outputStream = new MemoryLimitsAwareOutputStream(Math.max(0, initialCapacity));
         }
         return outputStream;
     }
@@ -0,0 +1,151 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.commons.utils.DaemonThreadFactory;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compresses the content of flushed {@link PdfStream} objects on a bounded pool of worker threads
+ * while keeping the order in which objects are written to the document.
+ * <p>
+ * Flushed objects are not written right away: they are put into a queue in the order of flushing and the content
+ * of the streams which will be compressed on writing is deflated in the background. Objects are written strictly
+ * in the queue order, once the queue exceeds its capacity or when the writer asks to write all pending objects.
+ * Both of these points don't depend on the speed of the worker threads, so the byte order of the resulting file
+ * and hence the offsets stored in the {@link PdfXrefTable} are the same for each run.
+ * <p>
+ * NOTE: an object passed to {@link #addObject(PdfObject)} shall not be modified afterwards, the same way as
+ * any other flushed object. Its content is released only after it is actually written.
+ */
+class ParallelStreamCompressor {
+
+    /**
+     * Max number of pending objects per worker thread, after which the writer waits for the oldest
+     * object to be written.
+     */
+    private static final int MAX_PENDING_OBJECTS_PER_WORKER = 16;
+
+    private final PdfWriter writer;
+    private final ExecutorService executor;
+    private final Deque<PendingObject> pendingObjects = new ArrayDeque<>();
+    private final int maxPendingObjects;
+
+    /**
+     * Creates a new {@link ParallelStreamCompressor} instance.
+     *
+     * @param writer the writer to which compressed objects will be written
+     * @param parallelism the number of worker threads
+     */
+    ParallelStreamCompressor(PdfWriter writer, int parallelism) {
+        this.writer = writer;
+        this.executor = Executors.newFixedThreadPool(parallelism, new DaemonThreadFactory("itext-stream-compression"));
+        this.maxPendingObjects = parallelism * MAX_PENDING_OBJECTS_PER_WORKER;
+    }
+
+    /**
+     * Adds flushed object to the queue of objects to be written. If the object is a stream which content
+     * is going to be compressed on writing, the compression is started in background.
+     *
+     * @param pdfObject flushed object
+     */
+    void addObject(PdfObject pdfObject) {
+        Future<ByteArrayOutputStream> compressedContent = null;
+        if (pdfObject.getType() == PdfObject.STREAM) {
+            final PdfStream pdfStream = (PdfStream) pdfObject;
+            if (writer.prepareStreamForPrecompression(pdfStream)) {
+                final int compressionLevel = pdfStream.getCompressionLevel();
+                compressedContent = executor.submit(new Callable<ByteArrayOutputStream>() {
+                    @Override
+                    public ByteArrayOutputStream call() throws Exception {
+                        return PdfOutputStream.compressStreamContent(pdfStream, compressionLevel);
+                    }
+                });
+            }
+        }
+        pendingObjects.addLast(new PendingObject(pdfObject, compressedContent));
+        if (pendingObjects.size() > maxPendingObjects) {
+            writeFirstPendingObject();
+        }
+    }
+
+    /**
+     * Writes all pending objects in the order in which they were added.
+     */
+    void writePendingObjects() {
+        while (!pendingObjects.isEmpty()) {
+            writeFirstPendingObject();
+        }
+    }
+
+    /**
+     * Stops worker threads. Pending objects which weren't written by this moment are dropped.
+     */
+    void shutdown() {
+        for (PendingObject pendingObject : pendingObjects) {
+            if (pendingObject.compressedContent != null) {
+                pendingObject.compressedContent.cancel(false);
+            }
+        }
+        pendingObjects.clear();
+        executor.shutdown();
+    }
+
+    private void writeFirstPendingObject() {
+        PendingObject pendingObject = pendingObjects.removeFirst();
+        ByteArrayOutputStream compressedContent = null;
+        if (pendingObject.compressedContent != null) {
+            try {
+                compressedContent = pendingObject.compressedContent.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e,
+                        pendingObject.pdfObject);
+            } catch (ExecutionException e) {
+                throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e.getCause(),
+                        pendingObject.pdfObject);
+            }
+        }
+        writer.writePendingObject(pendingObject.pdfObject, compressedContent);
+    }
+
+    private static final class PendingObject {
+        final PdfObject pdfObject;
+        final Future<ByteArrayOutputStream> compressedContent;
+
+        PendingObject(PdfObject pdfObject, Future<ByteArrayOutputStream> compressedContent) {
+            this.pdfObject = pdfObject;
+            this.compressedContent = compressedContent;
+        }
+    }
+}
@@ -912,7 +912,7 @@ public class PdfDocument implements IEventDispatcher, Closeable {
 
                     writer.flushModifiedWaitingObjects(forbiddenToFlush);
                     for (int i = 0; i < xref.size(); i++) {
-                        PdfIndirectReference indirectReference = xref.get(i);
+                        PdfIndirectReference indirectReference = xref.getUnflushed(i);
                         if (indirectReference != null && !indirectReference.isFree() && indirectReference.checkState(
                                 PdfObject.MODIFIED) && !indirectReference.checkState(PdfObject.FLUSHED)
                                 && !forbiddenToFlush.contains(indirectReference)) {
@@ -958,7 +958,7 @@ public class PdfDocument implements IEventDispatcher, Closeable {
 
                     writer.flushWaitingObjects(forbiddenToFlush);
                     for (int i = 0; i < xref.size(); i++) {
-                        PdfIndirectReference indirectReference = xref.get(i);
+                        PdfIndirectReference indirectReference = xref.getUnflushed(i);
                         if (indirectReference != null && !indirectReference.isFree() && !indirectReference.checkState(
                                 PdfObject.FLUSHED) && !forbiddenToFlush.contains(indirectReference)) {
                             PdfObject object;
@@ -973,6 +973,8 @@ public class PdfDocument implements IEventDispatcher, Closeable {
                     }
                 }
 
+                // Objects flushed so far shall be written with the current encryption settings.
+                writer.writePendingObjects();
                 // To avoid encryption of XrefStream and Encryption dictionary remove crypto.
                 // NOTE. No need in reverting, because it is the last operation with the document.
                 writer.crypto = null;
@@ -993,6 +995,7 @@ public class PdfDocument implements IEventDispatcher, Closeable {
                 // shouldn't worry about it being null next
                 PdfObject fileId = PdfEncryption.createInfoId(ByteUtils.getIsoBytes(originalDocumentId.getValue()),
                         ByteUtils.getIsoBytes(modifiedDocumentId.getValue()));
+                writer.writePendingObjects();
                 xref.writeXrefTableAndTrailer(this, fileId, crypto);
                 writer.flush();
                 if (writer.getOutputStream() instanceof CountOutputStream) {
@@ -1005,6 +1008,9 @@ public class PdfDocument implements IEventDispatcher, Closeable {
         } catch (IOException e) {
             throw new PdfException(KernelExceptionMessageConstant.CANNOT_CLOSE_DOCUMENT, e, this);
         } finally {
+            if (writer != null) {
+                writer.releaseWorkerThreads();
+            }
             if (writer != null && isCloseWriter()) {
                 try {
                     writer.close();
@@ -2092,10 +2098,15 @@ public class PdfDocument implements IEventDispatcher, Closeable {
                 // Due to constructor reader and writer not null.
                 assert reader != null;
                 RandomAccessFileOrArray file = reader.tokens.getSafeFile();
-                int n;
-                byte[] buffer = new byte[8192];
-                while ((n = file.read(buffer)) > 0) {
-                    writer.write(buffer, 0, n);
+                if (writer.isSourceTransferSupported(reader)) {
+                    // the original revision is copied from the source file without reading it into memory
+                    writer.transferFrom(reader, 0, file.length());
+                } else {
+                    int n;
+                    byte[] buffer = new byte[8192];
+                    while ((n = file.read(buffer)) > 0) {
+                        writer.write(buffer, 0, n);
+                    }
                 }
                 file.close();
                 writer.write((byte) '\n');
@@ -414,9 +414,11 @@ public abstract class PdfObject {
         } else {
             if (indirectReference != null && indirectReference.getReader() != null
                     && !indirectReference.checkState(FLUSHED)) {
+                PdfIndirectReference releasedReference = indirectReference;
                 indirectReference.refersTo = null;
                 indirectReference = null;
                 setState(READ_ONLY);
+                releasedReference.getDocument().getXref().unloadReference(releasedReference);
             }
             // TODO DEVSIX-4020. Log reasonless call of method
         }
@@ -571,6 +573,15 @@ public abstract class PdfObject {
         return this;
     }
 
+    /**
+     * Gets all special states of current object.
+     *
+     * @return special flags of current object
+     */
+    short getState() {
+        return state;
+    }
+
     /**
      * Copies object content from object 'from'.
      *
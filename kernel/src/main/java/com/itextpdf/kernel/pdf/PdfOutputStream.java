@@ -56,6 +56,12 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
      */
     protected PdfEncryption crypto;
 
+    /**
+     * Already compressed content of the stream which is currently being written, if it was prepared in advance.
+     * It is set by {@link PdfWriter} in parallel stream compression mode only.
+     */
+    ByteArrayOutputStream precompressedStreamContent;
+
     /**
      * Create a pdfOutputSteam writing to the passed OutputStream.
      *
@@ -299,6 +305,28 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 length.setValue((int) (getCurrentPos() - beginStreamContent));
                 pdfStream.updateLength(length.intValue());
                 writeBytes(PdfOutputStream.endstream);
+            } else if (pdfStream.isRawContentNotLoaded() && !checkEncryption(pdfStream) && !(toCompress
+                    && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression))) {
+                // the raw content of the copied stream is written as is, directly from the source document
+                int length = pdfStream.getRawContentLength();
+                pdfStream.put(PdfName.Length, new PdfNumber(length));
+                pdfStream.updateLength(length);
+                this.write((PdfDictionary) pdfStream);
+                writeBytes(PdfOutputStream.stream);
+                pdfStream.writeRawContent(this);
+                writeBytes(PdfOutputStream.endstream);
+            } else if (isSourceContentTransferable(pdfStream) && !userDefinedCompression && !checkEncryption(pdfStream)
+                    && !(toCompress && !containsFlateFilter(pdfStream) && allowCompression)) {
+                // the raw content of the unchanged stream of the stamped document is copied from the source file as is
+                PdfReader reader = pdfStream.getIndirectReference().getReader();
+                reader.checkPdfStreamLength(pdfStream);
+                int length = Math.max(pdfStream.getLength(), 0);
+                pdfStream.put(PdfName.Length, new PdfNumber(length));
+                pdfStream.updateLength(length);
+                this.write((PdfDictionary) pdfStream);
+                writeBytes(PdfOutputStream.stream);
+                transferFrom(reader, pdfStream.getOffset(), length);
+                writeBytes(PdfOutputStream.endstream);
             } else {
                 //When document is opened in stamping mode the output stream can be uninitialized.
                 //We have to initialize it and write all data from streams input to streams output.
@@ -319,17 +347,11 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                             && (allowCompression || userDefinedCompression)) {
                         // compress
                         updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+                        if (precompressedStreamContent != null) {
+                            byteArrayStream = precompressedStreamContent;
                         } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            byteArrayStream = compressStreamContent(pdfStream, pdfStream.getCompressionLevel());
                         }
-                        zip.finish();
                     } else {
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
@@ -364,6 +386,97 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
+    /**
+     * Writes the bytes of the source document to the output as is. Depending on the platform, the bytes are
+     * transferred from the source file to the output file without copying them to the application memory.
+     * <br>
+     * Applicable only if {@link #isSourceTransferSupported(PdfReader)} returns true.
+     *
+     * @param reader the reader of the source document
+     * @param offset the position of the first byte in the source document
+     * @param length the number of bytes to write
+     * @throws IOException if an I/O error occurs
+     */
+    void transferFrom(PdfReader reader, long offset, long length) throws IOException {
+        reader.transferRawBytes(offset, length, (CountOutputStream) outputStream);
+        currentPos += length;
+    }
+
+    /**
+     * Checks if the bytes of the source document can be transferred to the output by
+     * {@link #transferFrom(PdfReader, long, long)}, i.e. if the document is read from a file
+     * and this stream writes to a {@link com.itextpdf.io.source.FileChannelOutputStream}.
+     *
+     * @param reader the reader of the source document
+     * @return true if the bytes can be transferred, otherwise false
+     */
+    boolean isSourceTransferSupported(PdfReader reader) {
+        return outputStream instanceof CountOutputStream && ((CountOutputStream) outputStream).isTransferSupported()
+                && reader.isRawBytesTransferSupported();
+    }
+
+    /**
+     * Checks if the stream is an unchanged stream of the source document, which raw content isn't read yet
+     * and can be transferred to the output by {@link #transferFrom(PdfReader, long, long)} without decryption.
+     *
+     * @param pdfStream the stream to check
+     * @return true if the raw content of the stream can be transferred, otherwise false
+     */
+    private boolean isSourceContentTransferable(PdfStream pdfStream) {
+        if (pdfStream.getOutputStream() != null || pdfStream.getOffset() <= 0
+                || pdfStream.getIndirectReference() == null) {
+            return false;
+        }
+        PdfReader reader = pdfStream.getIndirectReference().getReader();
+        return reader != null && reader.decrypt == null && isSourceTransferSupported(reader);
+    }
+
+    /**
+     * Checks if the content of the stream will be compressed by {@link #write(PdfObject)} and if it can be compressed
+     * in advance, i.e. before the stream is actually written. As a side effect, sets the default compression level
+     * to the stream, if the stream doesn't define its own one, the same way as it is done on writing.
+     *
+     * @param pdfStream the stream to check
+     * @return true if the content of the stream can be compressed in advance, otherwise false
+     */
+    boolean prepareStreamForPrecompression(PdfStream pdfStream) {
+        if (pdfStream.getCompressionLevel() == CompressionConstants.UNDEFINED_COMPRESSION) {
+            pdfStream.setCompressionLevel(document != null ?
+                    document.getWriter().getCompressionLevel() : CompressionConstants.DEFAULT_COMPRESSION);
+        }
+        // filter is checked first, so that the raw content of the copied streams isn't loaded needlessly
+        return !pdfStream.containsKey(PdfName.Filter) && pdfStream.getInputStream() == null
+                && pdfStream.getOutputStream() != null
+                && pdfStream.getCompressionLevel() != CompressionConstants.NO_COMPRESSION
+                && isNotMetadataPdfStream(pdfStream);
+    }
+
+    /**
+     * Compresses the content of the stream, which is stored in its output stream.
+     * The method doesn't modify the stream itself, so it can be called from any thread
+     * as long as the stream is not modified concurrently.
+     *
+     * @param pdfStream the stream which content shall be compressed
+     * @param compressionLevel the compression level to use
+     * @return the compressed content of the stream
+     * @throws IOException if an I/O error occurs
+     */
+    static ByteArrayOutputStream compressStreamContent(PdfStream pdfStream, int compressionLevel)
+            throws IOException {
+        ByteArrayOutputStream byteArrayStream = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, compressionLevel);
+        if (pdfStream instanceof PdfObjectStream) {
+            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
+            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+        } else {
+            assert pdfStream.getOutputStream() != null : "Error in outputStream";
+            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+        }
+        zip.finish();
+        return byteArrayStream;
+    }
+
     protected boolean checkEncryption(PdfStream pdfStream) {
         if (crypto == null || (crypto.isEmbeddedFilesOnly() && !document.doesStreamBelongToEmbeddedFile(pdfStream))) {
             return false;
@@ -49,8 +49,14 @@ import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 import org.slf4j.Logger;
@@ -66,12 +72,19 @@ public class PdfReader implements Closeable {
      */
     public static final StrictnessLevel DEFAULT_STRICTNESS_LEVEL = StrictnessLevel.LENIENT;
 
+    /**
+     * The default maximum total size in bytes of the decoded object streams which are kept in memory
+     * if lazy reading of object streams is enabled.
+     */
+    public static final long DEFAULT_OBJECT_STREAM_CACHE_SIZE = 4 * 1024 * 1024;
+
     private static final String endstream1 = "endstream";
     private static final String endstream2 = "\nendstream";
     private static final String endstream3 = "\r\nendstream";
     private static final String endstream4 = "\rendstream";
     private static final byte[] endstream = ByteUtils.getIsoBytes("endstream");
     private static final byte[] endobj = ByteUtils.getIsoBytes("endobj");
+    private static final int RAW_BYTES_BUFFER_SIZE = 64 * 1024;
 
     protected static boolean correctStreamLength = true;
 
@@ -79,6 +92,13 @@ public class PdfReader implements Closeable {
 
     private boolean memorySavingMode;
 
+    private boolean lazyXrefLoading;
+
+    private boolean lazyObjectStreamReading;
+
+    private final DecodedObjectStreamCache decodedObjectStreams =
+            new DecodedObjectStreamCache(DEFAULT_OBJECT_STREAM_CACHE_SIZE);
+
     private StrictnessLevel strictnessLevel = DEFAULT_STRICTNESS_LEVEL;
 
     //indicate nearest first Indirect reference object which includes current reading the object, using for PdfString decrypt
@@ -86,6 +106,26 @@ public class PdfReader implements Closeable {
 
     private XMPMeta xmpMeta;
 
+    /**
+     * Streams copied to other documents which raw content is still to be read from this reader.
+     */
+    private Set<PdfStream> streamsWithRawContent;
+
+    /**
+     * The name of the file the document is read from, if the reader was created for a file name.
+     */
+    private String sourceFileName;
+
+    /**
+     * The channel of the source file, which is opened on the first transfer of its bytes to the output.
+     */
+    private FileChannel sourceFileChannel;
+
+    /**
+     * The position of the PDF header in the source, the offsets of the document are relative to it.
+     */
+    private int headerOffset;
+
     protected PdfTokenizer tokens;
     protected PdfEncryption decrypt;
 
@@ -169,6 +209,7 @@ public class PdfReader implements Closeable {
                 properties,
                 true
         );
+        this.sourceFileName = filename;
     }
 
     /**
@@ -193,7 +234,119 @@ public class PdfReader implements Closeable {
      * @throws IOException on error.
      */
     public void close() throws IOException {
-        tokens.close();
+        if (streamsWithRawContent != null) {
+            // copied streams which are not written yet need their content before the source is closed
+            for (PdfStream stream : new ArrayList<>(streamsWithRawContent)) {
+                stream.loadRawContent();
+            }
+            streamsWithRawContent = null;
+        }
+        decodedObjectStreams.clear();
+        try {
+            if (sourceFileChannel != null) {
+                sourceFileChannel.close();
+                sourceFileChannel = null;
+            }
+        } finally {
+            tokens.close();
+        }
+    }
+
+    /**
+     * Registers the stream of another document which content will be read from this reader as is.
+     *
+     * @param stream the copied stream
+     */
+    void addStreamWithRawContent(PdfStream stream) {
+        if (streamsWithRawContent == null) {
+            streamsWithRawContent = Collections.newSetFromMap(new IdentityHashMap<PdfStream, Boolean>());
+        }
+        streamsWithRawContent.add(stream);
+    }
+
+    /**
+     * Removes the stream which content was read or is not needed anymore.
+     *
+     * @param stream the copied stream
+     */
+    void removeStreamWithRawContent(PdfStream stream) {
+        if (streamsWithRawContent != null) {
+            streamsWithRawContent.remove(stream);
+        }
+    }
+
+    /**
+     * Reads the bytes of the document, e.g. the raw content of the stream, without decrypting them.
+     *
+     * @param offset the position of the first byte
+     * @param length the number of bytes to read
+     * @return the read bytes
+     * @throws IOException on error
+     */
+    byte[] readRawBytes(long offset, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        RandomAccessFileOrArray file = tokens.getSafeFile();
+        try {
+            file.seek(offset);
+            file.readFully(bytes);
+        } finally {
+            file.close();
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the bytes of the document, e.g. the raw content of the stream, to the output as is,
+     * without loading all of them into memory.
+     *
+     * @param offset the position of the first byte
+     * @param length the number of bytes to write
+     * @param out the output to write to
+     * @throws IOException on error
+     */
+    void writeRawBytes(long offset, int length, java.io.OutputStream out) throws IOException {
+        byte[] buffer = new byte[Math.min(length, RAW_BYTES_BUFFER_SIZE)];
+        RandomAccessFileOrArray file = tokens.getSafeFile();
+        try {
+            file.seek(offset);
+            int remaining = length;
+            while (remaining > 0) {
+                int n = Math.min(remaining, buffer.length);
+                file.readFully(buffer, 0, n);
+                out.write(buffer, 0, n);
+                remaining -= n;
+            }
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Checks if the bytes of the document can be transferred to the output by
+     * {@link #transferRawBytes(long, long, CountOutputStream)}, i.e. if the document is read from a file.
+     *
+     * @return true if the bytes can be transferred, otherwise false
+     */
+    boolean isRawBytesTransferSupported() {
+        return sourceFileName != null;
+    }
+
+    /**
+     * Writes the bytes of the source file, e.g. the raw content of the unchanged stream, to the output as is.
+     * Depending on the platform, the bytes are transferred from the source file to the output file
+     * without copying them to the application memory.
+     *
+     * @param offset the position of the first byte
+     * @param length the number of bytes to write
+     * @param out the output to write to, which has to support transfers, see
+     *            {@link CountOutputStream#isTransferSupported()}
+     * @throws IOException on error
+     */
+    void transferRawBytes(long offset, long length, CountOutputStream out) throws IOException {
+        if (sourceFileChannel == null) {
+            sourceFileChannel = FileChannel.open(Paths.get(sourceFileName), StandardOpenOption.READ);
+        }
+        out.transferFrom(sourceFileChannel, headerOffset + offset, length);
     }
 
     /**
@@ -224,6 +377,64 @@ public class PdfReader implements Closeable {
         return this;
     }
 
+    /**
+     * Defines if cross-reference entries are loaded lazily.
+     * <p>
+     * By default every cross-reference entry is represented by a {@link PdfIndirectReference} instance as soon
+     * as the document is opened. If lazy loading is enabled, the entries are kept in a compact primitive index
+     * and indirect references are only created when the corresponding objects are requested. Indirect references
+     * of the objects released with {@link PdfObject#release()} are returned to the index again if the document
+     * is opened in reading mode.
+     * <p>
+     * Lazy loading considerably decreases memory consumption of the documents with a huge number of objects
+     * when only a small part of them is processed, e.g. when a few pages are extracted from a big archive.
+     *
+     * @param lazyXrefLoading true to enable lazy loading of cross-reference entries, false to disable it.
+     *                        By default lazy loading is disabled.
+     * @return this {@link PdfReader} instance.
+     */
+    public PdfReader setLazyXrefLoading(boolean lazyXrefLoading) {
+        this.lazyXrefLoading = lazyXrefLoading;
+        return this;
+    }
+
+    /**
+     * Defines if objects of object streams are read lazily.
+     * <p>
+     * By default, the first request of any object from an object stream leads to reading of all the objects the
+     * stream contains. If lazy reading is enabled, only the requested object is parsed. The decoded bytes of the
+     * object stream together with its offset table are kept in memory, so that the stream is inflated only once
+     * while other objects are requested from it. The total size of the decoded object streams kept in memory is
+     * limited, see {@link #setObjectStreamCacheSize(long)}, the least recently used streams are evicted first.
+     * <p>
+     * Lazy reading considerably speeds up opening of the documents with big object streams, e.g. PDF 2.0 documents,
+     * when only a small part of them is processed. It can be combined with {@link #setLazyXrefLoading(boolean)}.
+     *
+     * @param lazyObjectStreamReading true to enable lazy reading of object streams, false to disable it.
+     *                                By default lazy reading is disabled.
+     * @return this {@link PdfReader} instance.
+     */
+    public PdfReader setLazyObjectStreamReading(boolean lazyObjectStreamReading) {
+        this.lazyObjectStreamReading = lazyObjectStreamReading;
+        return this;
+    }
+
+    /**
+     * Sets the maximum total size in bytes of the decoded object streams kept in memory
+     * if lazy reading of object streams is enabled, see {@link #setLazyObjectStreamReading(boolean)}.
+     *
+     * @param maxSize the maximum size in bytes, {@link #DEFAULT_OBJECT_STREAM_CACHE_SIZE} by default.
+     *                Zero disables caching, so that the object stream is decoded every time an object is read from it.
+     * @return this {@link PdfReader} instance.
+     */
+    public PdfReader setObjectStreamCacheSize(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize");
+        }
+        decodedObjectStreams.setMaxSize(maxSize);
+        return this;
+    }
+
     /**
      * Get the current {@link StrictnessLevel} of the reader.
      *
@@ -728,6 +939,9 @@ public class PdfReader implements Closeable {
         } catch (IllegalArgumentException exc) {
             throw new PdfException(KernelExceptionMessageConstant.PDF_VERSION_IS_NOT_VALID, version);
         }
+        if (lazyXrefLoading) {
+            pdfDocument.getXref().enableLazyLoading(pdfDocument);
+        }
         try {
             readXref();
         } catch (XrefCycledReferencesException | MemoryLimitsAwareException | InvalidXRefPrevException ex) {
@@ -751,40 +965,17 @@ public class PdfReader implements Closeable {
 
     protected void readObjectStream(PdfStream objectStream) throws IOException {
         int objectStreamNumber = objectStream.getIndirectReference().getObjNumber();
-        int first = objectStream.getAsNumber(PdfName.First).intValue();
-        int n = objectStream.getAsNumber(PdfName.N).intValue();
-        byte[] bytes = readStreamBytes(objectStream, true);
+        DecodedObjectStreamCache.DecodedObjectStream decodedStream = decodeObjectStream(objectStream);
         PdfTokenizer saveTokens = tokens;
         try {
-            tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
-            int[] address = new int[n];
-            int[] objNumber = new int[n];
-            boolean ok = true;
-            for (int k = 0; k < n; ++k) {
-                ok = tokens.nextToken();
-                if (!ok)
-                    break;
-                if (tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
-                    ok = false;
-                    break;
-                }
-                objNumber[k] = tokens.getIntValue();
-                ok = tokens.nextToken();
-                if (!ok)
-                    break;
-                if (tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
-                    ok = false;
-                    break;
-                }
-                address[k] = tokens.getIntValue() + first;
-            }
-            if (!ok)
-                throw new PdfException(KernelExceptionMessageConstant.ERROR_WHILE_READING_OBJECT_STREAM);
-            for (int k = 0; k < n; ++k) {
-                tokens.seek(address[k]);
+            tokens = new PdfTokenizer(new RandomAccessFileOrArray(
+                    new RandomAccessSourceFactory().createSource(decodedStream.getBytes())));
+            for (int k = 0; k < decodedStream.getObjectsCount(); ++k) {
+                int address = decodedStream.getOffset(k);
+                tokens.seek(address);
                 tokens.nextToken();
                 PdfObject obj;
-                PdfIndirectReference reference = pdfDocument.getXref().get(objNumber[k]);
+                PdfIndirectReference reference = pdfDocument.getXref().get(decodedStream.getObjNumber(k));
                 if (reference.refersTo != null || reference.getObjStreamNumber() != objectStreamNumber) {
                     // We skip reading of objects stream's element k if either it is already available in xref
                     // or if corresponding indirect object reference points to a different object stream.
@@ -800,7 +991,7 @@ public class PdfReader implements Closeable {
                     // which are forbidden in object streams.
                     obj = new PdfNumber(tokens.getByteContent());
                 } else {
-                    tokens.seek(address[k]);
+                    tokens.seek(address);
                     obj = readObject(false, true);
                 }
                 reference.setRefersTo(obj);
@@ -812,6 +1003,98 @@ public class PdfReader implements Closeable {
         }
     }
 
+    /**
+     * Reads the only requested object of the object stream, see {@link #setLazyObjectStreamReading(boolean)}.
+     *
+     * @param objectStream the object stream which contains the object
+     * @param reference    the reference of the requested object
+     * @return the read object or {@code null} if the object stream doesn't contain the object
+     * @throws IOException on error
+     */
+    private PdfObject readObjectFromObjectStream(PdfStream objectStream, PdfIndirectReference reference)
+            throws IOException {
+        int objectStreamNumber = objectStream.getIndirectReference().getObjNumber();
+        DecodedObjectStreamCache.DecodedObjectStream decodedStream = decodedObjectStreams.get(objectStreamNumber);
+        if (decodedStream == null) {
+            decodedStream = decodeObjectStream(objectStream);
+            decodedObjectStreams.put(objectStreamNumber, decodedStream);
+            objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
+        }
+        int address = decodedStream.findOffset(reference.getObjNumber(), reference.getIndex());
+        if (address < 0) {
+            return null;
+        }
+        PdfTokenizer saveTokens = tokens;
+        try {
+            tokens = new PdfTokenizer(new RandomAccessFileOrArray(
+                    new RandomAccessSourceFactory().createSource(decodedStream.getBytes())));
+            tokens.seek(address);
+            tokens.nextToken();
+            PdfObject obj;
+            if (tokens.getTokenType() == PdfTokenizer.TokenType.Number) {
+                obj = new PdfNumber(tokens.getByteContent());
+            } else {
+                tokens.seek(address);
+                obj = readObject(false, true);
+            }
+            reference.setRefersTo(obj);
+            obj.setIndirectReference(reference);
+            return obj;
+        } finally {
+            tokens = saveTokens;
+        }
+    }
+
+    /**
+     * Inflates the object stream and parses its offset table.
+     *
+     * @param objectStream the object stream to decode
+     * @return the decoded bytes of the object stream together with the object numbers and offsets of its objects
+     * @throws IOException on error
+     */
+    private DecodedObjectStreamCache.DecodedObjectStream decodeObjectStream(PdfStream objectStream)
+            throws IOException {
+        int first = objectStream.getAsNumber(PdfName.First).intValue();
+        int n = objectStream.getAsNumber(PdfName.N).intValue();
+        byte[] bytes = readStreamBytes(objectStream, true);
+        PdfTokenizer offsetsTokens = new PdfTokenizer(
+                new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
+        int[] address = new int[n];
+        int[] objNumber = new int[n];
+        boolean ok = true;
+        for (int k = 0; k < n; ++k) {
+            ok = offsetsTokens.nextToken();
+            if (!ok)
+                break;
+            if (offsetsTokens.getTokenType() != PdfTokenizer.TokenType.Number) {
+                ok = false;
+                break;
+            }
+            objNumber[k] = offsetsTokens.getIntValue();
+            ok = offsetsTokens.nextToken();
+            if (!ok)
+                break;
+            if (offsetsTokens.getTokenType() != PdfTokenizer.TokenType.Number) {
+                ok = false;
+                break;
+            }
+            address[k] = offsetsTokens.getIntValue() + first;
+        }
+        if (!ok)
+            throw new PdfException(KernelExceptionMessageConstant.ERROR_WHILE_READING_OBJECT_STREAM);
+        return new DecodedObjectStreamCache.DecodedObjectStream(bytes, objNumber, address);
+    }
+
+    /**
+     * Gets the number of decoded object streams which are currently kept in memory,
+     * see {@link #setLazyObjectStreamReading(boolean)}.
+     *
+     * @return the number of decoded object streams
+     */
+    int getDecodedObjectStreamsCount() {
+        return decodedObjectStreams.getCount();
+    }
+
     protected PdfObject readObject(PdfIndirectReference reference) {
         return readObject(reference, true);
     }
@@ -1088,14 +1371,21 @@ public class PdfReader implements Closeable {
                     end--;
                     continue;
                 }
+                if (xref.containsLazyEntry(num)) {
+                    // the entry has already been read from the more recent section
+                    continue;
+                }
                 PdfIndirectReference reference = xref.get(num);
                 boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen;
                 // for references that are added by xref table itself (like 0 entry)
                 boolean refFirstEncountered = reference == null
                         || !refReadingState && reference.getDocument() == null;
+                boolean addLazily = lazyXrefLoading && reference == null;
 
                 if (refFirstEncountered) {
-                    reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
+                    if (!addLazily) {
+                        reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
+                    }
                 } else if (refReadingState) {
                     reference.setOffset(pos);
                     reference.clearState(PdfObject.READING);
@@ -1103,21 +1393,25 @@ public class PdfReader implements Closeable {
                     continue;
                 }
 
+                boolean free = false;
                 if (tokens.tokenValueEqualsTo(PdfTokenizer.N)) {
                     if (pos == 0) {
                         tokens.throwError(
                                 KernelExceptionMessageConstant.FILE_POSITION_0_CROSS_REFERENCE_ENTRY_IN_THIS_XREF_SUBSECTION);
                     }
                 } else if (tokens.tokenValueEqualsTo(PdfTokenizer.F)) {
-                    if (refFirstEncountered) {
-                        reference.setState(PdfObject.FREE);
-                    }
+                    free = true;
                 } else {
                     tokens.throwError(
                             KernelExceptionMessageConstant.INVALID_CROSS_REFERENCE_ENTRY_IN_THIS_XREF_SUBSECTION);
                 }
 
-                if (refFirstEncountered) {
+                if (addLazily) {
+                    xref.addLazyEntry(num, free ? 0 : 1, pos, gen);
+                } else if (refFirstEncountered) {
+                    if (free) {
+                        reference.setState(PdfObject.FREE);
+                    }
                     xref.add(reference);
                 }
             }
@@ -1218,6 +1512,21 @@ public class PdfReader implements Closeable {
                         field3 = (field3 << 8) + (b[bptr++] & 0xff);
                     }
                     int base = start;
+                    if (lazyXrefLoading) {
+                        if (type < 0 || type > 2) {
+                            throw new PdfException(KernelExceptionMessageConstant.INVALID_XREF_STREAM);
+                        }
+                        // the lazy entry could have already been read from the more recent section
+                        boolean lazyEntry = xref.containsLazyEntry(base);
+                        if (!lazyEntry && xref.get(base) == null) {
+                            xref.addLazyEntry(base, type, field2, field3);
+                            lazyEntry = true;
+                        }
+                        if (lazyEntry) {
+                            ++start;
+                            continue;
+                        }
+                    }
                     PdfIndirectReference newReference;
                     switch (type) {
                         case 0:
@@ -1429,11 +1738,18 @@ public class PdfReader implements Closeable {
             return null;
         if (reference.refersTo != null)
             return reference.refersTo;
+        PdfIndirectReference loadedReference = pdfDocument.getXref().reloadReference(reference);
+        if (loadedReference != reference) {
+            return readObject(loadedReference, fixXref);
+        }
         try {
             currentIndirectReference = reference;
             if (reference.getObjStreamNumber() > 0) {
                 PdfStream objectStream = (PdfStream) pdfDocument.getXref().
                         get(reference.getObjStreamNumber()).getRefersTo(false);
+                if (lazyObjectStreamReading) {
+                    return readObjectFromObjectStream(objectStream, reference);
+                }
                 readObjectStream(objectStream);
                 return reference.refersTo;
             } else if (reference.getOffset() > 0) {
@@ -1465,7 +1781,7 @@ public class PdfReader implements Closeable {
         }
     }
 
-    private void checkPdfStreamLength(PdfStream pdfStream) throws IOException {
+    void checkPdfStreamLength(PdfStream pdfStream) throws IOException {
         if (!correctStreamLength)
             return;
         long fileLength = tokens.length();
@@ -1546,7 +1862,7 @@ public class PdfReader implements Closeable {
      * @return a tokeniser that is guaranteed to start at the PDF header
      * @throws IOException if there is a problem reading the byte source
      */
-    private static PdfTokenizer getOffsetTokeniser(IRandomAccessSource byteSource, boolean closeStream)
+    private PdfTokenizer getOffsetTokeniser(IRandomAccessSource byteSource, boolean closeStream)
             throws IOException {
         PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(byteSource));
         int offset;
@@ -1558,6 +1874,7 @@ public class PdfReader implements Closeable {
             }
             throw ex;
         }
+        headerOffset = offset;
         if (offset != 0) {
             IRandomAccessSource offsetSource = new WindowRandomAccessSource(byteSource, offset);
             tok = new PdfTokenizer(new RandomAccessFileOrArray(offsetSource));
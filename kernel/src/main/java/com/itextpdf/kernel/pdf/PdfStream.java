@@ -46,6 +46,14 @@ public class PdfStream extends PdfDictionary {
     private long offset;
     private int length = -1;
 
+    /**
+     * The reader of the source document, if this stream is a copy which raw content is not loaded yet.
+     * See {@link WriterProperties#useRawStreamPassthrough()}.
+     */
+    private PdfReader rawContentReader;
+    private long rawContentOffset;
+    private int rawContentLength;
+
     /**
      * Constructs a {@code PdfStream}-object.
      *
@@ -166,6 +174,7 @@ public class PdfStream extends PdfDictionary {
      * @return output stream
      */
     public PdfOutputStream getOutputStream() {
+        loadRawContent();
         return outputStream;
     }
 
@@ -227,6 +236,7 @@ public class PdfStream extends PdfDictionary {
             return null;
         }
         byte[] bytes = null;
+        loadRawContent();
         if (outputStream != null && outputStream.getOutputStream() != null) {
             assert outputStream.getOutputStream() instanceof ByteArrayOutputStream
                     : "Invalid OutputStream: ByteArrayByteArrayOutputStream expected";
@@ -284,6 +294,11 @@ public class PdfStream extends PdfDictionary {
             throw new PdfException(
                     KernelExceptionMessageConstant.CANNOT_SET_DATA_TO_PDF_STREAM_WHICH_WAS_CREATED_BY_INPUT_STREAM);
         }
+        if (append) {
+            loadRawContent();
+        } else {
+            releaseRawContent();
+        }
 
         boolean outputStreamIsUninitialized = outputStream == null;
         if (outputStreamIsUninitialized) {
@@ -353,6 +368,23 @@ public class PdfStream extends PdfDictionary {
         super.copyContent(from, document, copyFilter);
         PdfStream stream = (PdfStream) from;
         assert inputStream == null : "Try to copy the PdfStream that has been just created.";
+        if (isRawContentPassthroughAllowed(stream, document)) {
+            PdfReader reader = stream.getIndirectReference().getReader();
+            try {
+                reader.checkPdfStreamLength(stream);
+            } catch (IOException ioe) {
+                throw new PdfException(KernelExceptionMessageConstant.CANNOT_COPY_OBJECT_CONTENT, ioe, stream);
+            }
+            if (stream.getLength() > 0) {
+                // the content is read from the source document only when it is needed,
+                // in the best case it is transferred to the output as is on writing
+                rawContentReader = reader;
+                rawContentOffset = stream.getOffset();
+                rawContentLength = stream.getLength();
+                reader.addStreamWithRawContent(this);
+            }
+            return;
+        }
         byte[] bytes = stream.getBytes(false);
         try {
             outputStream.write(bytes);
@@ -371,6 +403,7 @@ public class PdfStream extends PdfDictionary {
      */
     protected void releaseContent() {
         super.releaseContent();
+        releaseRawContent();
         try {
             if (outputStream != null) {
                 outputStream.close();
@@ -384,4 +417,68 @@ public class PdfStream extends PdfDictionary {
     protected InputStream getInputStream() {
         return inputStream;
     }
+
+    /**
+     * Checks if this stream is a copy which raw content is still to be read from the source document.
+     *
+     * @return true if the raw content of the copied stream is not loaded yet, otherwise false
+     */
+    boolean isRawContentNotLoaded() {
+        return rawContentReader != null;
+    }
+
+    /**
+     * Gets the length of the raw content of the copied stream, which is not loaded yet.
+     *
+     * @return the length of the raw content in bytes
+     */
+    int getRawContentLength() {
+        return rawContentLength;
+    }
+
+    /**
+     * Writes the raw content of the copied stream from the source document to the output as is.
+     *
+     * @param out the output to write to
+     * @throws IOException if the content can't be read or written
+     */
+    void writeRawContent(java.io.OutputStream out) throws IOException {
+        PdfReader reader = rawContentReader;
+        releaseRawContent();
+        reader.writeRawBytes(rawContentOffset, rawContentLength, out);
+    }
+
+    /**
+     * Reads the raw content of the copied stream from the source document, if it is not loaded yet.
+     */
+    void loadRawContent() {
+        if (rawContentReader != null) {
+            PdfReader reader = rawContentReader;
+            releaseRawContent();
+            try {
+                byte[] bytes = reader.readRawBytes(rawContentOffset, rawContentLength);
+                outputStream.assignBytes(bytes, bytes.length);
+            } catch (IOException ioe) {
+                throw new PdfException(KernelExceptionMessageConstant.CANNOT_GET_PDF_STREAM_BYTES, ioe, this);
+            }
+        }
+    }
+
+    private void releaseRawContent() {
+        if (rawContentReader != null) {
+            rawContentReader.removeStreamWithRawContent(this);
+            rawContentReader = null;
+        }
+    }
+
+    private static boolean isRawContentPassthroughAllowed(PdfStream stream, PdfDocument document) {
+        if (document == null || document.getWriter() == null || !document.getWriter().properties.rawStreamPassthrough
+                || stream.isFlushed() || stream.outputStream != null || stream.inputStream != null
+                || stream.getIndirectReference() == null) {
+            return false;
+        }
+        PdfReader reader = stream.getIndirectReference().getReader();
+        // encrypted content shall be decrypted anyway, so there is no point in postponing it
+        return reader != null && reader.decrypt == null && stream.getOffset() > 0;
+    }
 }
@@ -24,11 +24,15 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.commons.utils.FileUtil;
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.io.source.FileChannelOutputStream;
 import com.itextpdf.kernel.utils.ICopyFilter;
 import com.itextpdf.kernel.utils.NullCopyFilter;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -58,7 +62,15 @@ public class PdfWriter extends PdfOutputStream {
     /**
      * Is used in smart mode to serialize and store serialized objects content.
      */
-    private SmartModePdfObjectsSerializer smartModeSerializer = new SmartModePdfObjectsSerializer();
+    private SmartModePdfObjectsSerializer smartModeSerializer;
+    /**
+     * Is used to compress streams in parallel, if it is enabled in {@link WriterProperties}.
+     */
+    private ParallelStreamCompressor parallelStreamCompressor;
+    /**
+     * Is used to write flushed objects on the separate thread, if it is enabled in {@link WriterProperties}.
+     */
+    private AsynchronousObjectWriter asynchronousObjectWriter;
 
     /**
      * Create a PdfWriter writing to the passed File and with default writer properties.
@@ -83,10 +95,31 @@ public class PdfWriter extends PdfOutputStream {
     }
 
     public PdfWriter(java.io.OutputStream os, WriterProperties properties) {
-        super(new CountOutputStream(FileUtil.wrapWithBufferedOutputStream(os)));
+        // FileChannelOutputStream is buffered itself and writes big chunks directly to the channel
+        super(new CountOutputStream(os instanceof FileChannelOutputStream ? os
+                : FileUtil.wrapWithBufferedOutputStream(os)));
         this.properties = properties;
     }
 
+    /**
+     * Create a PdfWriter writing to the passed file channel and using the passed writer properties.
+     * <br>
+     * The document is written with {@link FileChannelOutputStream} starting at the current position of the channel.
+     * If the document is stamped and the {@link PdfReader} is created for a file name, the original revision
+     * in append mode and the unchanged streams otherwise are transferred from the source file to the channel as is.
+     * The channel is closed together with the writer. If the written bytes need to be patched after the document
+     * is closed, create {@link FileChannelOutputStream} directly, pass it to
+     * {@link #PdfWriter(java.io.OutputStream, WriterProperties)} and set {@link #setCloseStream(boolean)} to false.
+     *
+     * @param channel    file channel to write to.
+     * @param properties writerproperties to use.
+     *
+     * @throws IOException if the current position of the channel can't be obtained
+     */
+    public PdfWriter(FileChannel channel, WriterProperties properties) throws IOException {
+        this(new FileChannelOutputStream(channel), properties);
+    }
+
     /**
      * Create a PdfWriter writing to the passed filename and with default writer properties.
      *
@@ -185,35 +218,34 @@ public class PdfWriter extends PdfOutputStream {
      */
     protected void flushObject(PdfObject pdfObject, boolean canBeInObjStm) {
         PdfIndirectReference indirectReference = pdfObject.getIndirectReference();
+        boolean isWritingPostponed = false;
         if (isFullCompression() && canBeInObjStm) {
             PdfObjectStream objectStream = getObjectStream();
             objectStream.addObject(pdfObject);
+        } else if (getParallelStreamCompressor() != null && !requiresSynchronousWriting(pdfObject)) {
+            parallelStreamCompressor.addObject(pdfObject);
+            isWritingPostponed = true;
+        } else if (getAsynchronousObjectWriter() != null && !requiresSynchronousWriting(pdfObject)) {
+            // the object is owned by the writer thread after the hand-off, so everything that
+            // changes the document or reads the object content shall be done beforehand
+            makeContentIndirectIfRequired(pdfObject);
+            indirectReference.setState(PdfObject.FLUSHED).clearState(PdfObject.MUST_BE_FLUSHED);
+            markContentToFlush(pdfObject);
+            asynchronousObjectWriter.addObject(pdfObject);
+            return;
         } else {
+            // the length of the stream with input stream content is only known after writing and the raw
+            // content of the copied stream can't be read on the other thread, so their writing can't be
+            // postponed, but the previously flushed objects shall be written first
+            writePendingObjects();
             indirectReference.setOffset(getCurrentPos());
             writeToBody(pdfObject);
         }
         indirectReference.setState(PdfObject.FLUSHED).clearState(PdfObject.MUST_BE_FLUSHED);
-        switch (pdfObject.getType()) {
-            case PdfObject.BOOLEAN:
-            case PdfObject.NAME:
-            case PdfObject.NULL:
-            case PdfObject.NUMBER:
-            case PdfObject.STRING:
-                ((PdfPrimitiveObject) pdfObject).content = null;
-                break;
-            case PdfObject.ARRAY:
-                PdfArray array = ((PdfArray) pdfObject);
-                markArrayContentToFlush(array);
-                array.releaseContent();
-                break;
-            case PdfObject.STREAM:
-            case PdfObject.DICTIONARY:
-                PdfDictionary dictionary = ((PdfDictionary) pdfObject);
-                markDictionaryContentToFlush(dictionary);
-                dictionary.releaseContent();
-                break;
-            case PdfObject.INDIRECT_REFERENCE:
-                markObjectToFlush(((PdfIndirectReference) pdfObject).getRefersTo(false));
+        markContentToFlush(pdfObject);
+        if (!isWritingPostponed) {
+            releaseFlushedObjectContent(pdfObject);
+            storeFlushedReference(indirectReference);
         }
     }
 
@@ -266,6 +298,11 @@ public class PdfWriter extends PdfOutputStream {
         SerializedObjectContent serializedContent = null;
         if (properties.smartMode && tryToFindDuplicate && !checkTypeOfPdfDictionary(obj, PdfName.Page) &&
                 !checkTypeOfPdfDictionary(obj, PdfName.OCG) && !checkTypeOfPdfDictionary(obj, PdfName.OCMD)) {
+            if (smartModeSerializer == null) {
+                smartModeSerializer = properties.hashedSmartModeIndex
+                        ? new SmartModePdfObjectsSerializer(true, properties.smartModeIndexLimit)
+                        : new SmartModePdfObjectsSerializer();
+            }
             serializedContent = smartModeSerializer.serializeObject(obj);
             PdfIndirectReference objectRef = smartModeSerializer.getSavedSerializedObject(serializedContent);
             if (objectRef != null) {
@@ -325,7 +362,7 @@ public class PdfWriter extends PdfOutputStream {
         while (needFlush) {
             needFlush = false;
             for (int i = 1; i < xref.size(); i++) {
-                PdfIndirectReference indirectReference = xref.get(i);
+                PdfIndirectReference indirectReference = xref.getUnflushed(i);
                 if (indirectReference != null && !indirectReference.isFree()
                         && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)
                         && !forbiddenToFlush.contains(indirectReference)) {
@@ -341,6 +378,7 @@ public class PdfWriter extends PdfOutputStream {
             objectStream.flush();
             objectStream = null;
         }
+        writePendingObjects();
     }
 
     /**
@@ -352,7 +390,7 @@ public class PdfWriter extends PdfOutputStream {
     protected void flushModifiedWaitingObjects(Set<PdfIndirectReference> forbiddenToFlush) {
         PdfXrefTable xref = document.getXref();
         for (int i = 1; i < xref.size(); i++) {
-            PdfIndirectReference indirectReference = xref.get(i);
+            PdfIndirectReference indirectReference = xref.getUnflushed(i);
             if (null != indirectReference && !indirectReference.isFree() && !forbiddenToFlush.contains(
                     indirectReference)) {
                 boolean isModified = indirectReference.checkState(PdfObject.MODIFIED);
@@ -370,6 +408,7 @@ public class PdfWriter extends PdfOutputStream {
             objectStream.flush();
             objectStream = null;
         }
+        writePendingObjects();
     }
 
     /**
@@ -385,11 +424,79 @@ public class PdfWriter extends PdfOutputStream {
             objectStream = new PdfObjectStream(document);
         } else if (objectStream.getSize() == PdfObjectStream.MAX_OBJ_STREAM_SIZE) {
             objectStream.flush();
-            objectStream = new PdfObjectStream(objectStream);
+            if (parallelStreamCompressor != null || asynchronousObjectWriter != null) {
+                // flushed object stream may be still not written, so its buffers can't be reused
+                objectStream = new PdfObjectStream(document);
+            } else {
+                objectStream = new PdfObjectStream(objectStream);
+            }
         }
         return objectStream;
     }
 
+    /**
+     * Writes all flushed objects which writing was postponed because of parallel stream compression.
+     * Shall be called before anything else is written to the document directly, e.g. cross-reference table,
+     * and before encryption settings of the writer are changed.
+     */
+    void writePendingObjects() {
+        if (parallelStreamCompressor != null) {
+            parallelStreamCompressor.writePendingObjects();
+        }
+        if (asynchronousObjectWriter != null) {
+            asynchronousObjectWriter.writePendingObjects();
+        }
+    }
+
+    /**
+     * Writes flushed object which writing was postponed because of parallel stream compression
+     * and releases its content.
+     *
+     * @param pdfObject flushed object to write
+     * @param compressedContent already compressed content of the stream or null if there is none
+     */
+    void writePendingObject(PdfObject pdfObject, ByteArrayOutputStream compressedContent) {
+        writeAndReleasePendingObject(pdfObject, compressedContent);
+        storeFlushedReference(pdfObject.getIndirectReference());
+    }
+
+    /**
+     * Writes flushed object which writing was postponed and releases its content, but doesn't change
+     * the cross-reference table, so it can be called from the asynchronous writer thread.
+     *
+     * @param pdfObject flushed object to write
+     * @param compressedContent already compressed content of the stream or null if there is none
+     */
+    void writeAndReleasePendingObject(PdfObject pdfObject, ByteArrayOutputStream compressedContent) {
+        pdfObject.getIndirectReference().setOffset(getCurrentPos());
+        precompressedStreamContent = compressedContent;
+        try {
+            writeToBody(pdfObject);
+        } finally {
+            precompressedStreamContent = null;
+        }
+        if (pdfObject instanceof PdfObjectStream) {
+            // buffers of object streams aren't reused in parallel stream compression mode
+            ((PdfObjectStream) pdfObject).releaseContent(true);
+        } else {
+            releaseFlushedObjectContent(pdfObject);
+        }
+    }
+
+    /**
+     * Stops worker threads used for parallel stream compression or asynchronous writing, if any.
+     */
+    void releaseWorkerThreads() {
+        if (parallelStreamCompressor != null) {
+            parallelStreamCompressor.shutdown();
+            parallelStreamCompressor = null;
+        }
+        if (asynchronousObjectWriter != null) {
+            asynchronousObjectWriter.shutdown();
+            asynchronousObjectWriter = null;
+        }
+    }
+
     /**
      * Flush all copied objects.
      *
@@ -411,6 +518,99 @@ public class PdfWriter extends PdfOutputStream {
         }
     }
 
+    private ParallelStreamCompressor getParallelStreamCompressor() {
+        if (parallelStreamCompressor == null && properties.streamCompressionParallelism > 1) {
+            parallelStreamCompressor = new ParallelStreamCompressor(this, properties.streamCompressionParallelism);
+        }
+        return parallelStreamCompressor;
+    }
+
+    private static void releaseFlushedObjectContent(PdfObject pdfObject) {
+        switch (pdfObject.getType()) {
+            case PdfObject.BOOLEAN:
+            case PdfObject.NAME:
+            case PdfObject.NULL:
+            case PdfObject.NUMBER:
+            case PdfObject.STRING:
+                ((PdfPrimitiveObject) pdfObject).content = null;
+                break;
+            case PdfObject.ARRAY:
+                ((PdfArray) pdfObject).releaseContent();
+                break;
+            case PdfObject.STREAM:
+            case PdfObject.DICTIONARY:
+                ((PdfDictionary) pdfObject).releaseContent();
+                break;
+        }
+    }
+
+    void storeFlushedReference(PdfIndirectReference indirectReference) {
+        // Objects read from the original document may refer to the flushed objects at any time, so
+        // flushed references are only stored in compact form for the documents created from scratch.
+        if (properties.compactXrefTable && document.getReader() == null) {
+            document.getXref().storeFlushedReference(indirectReference);
+        }
+    }
+
+    private AsynchronousObjectWriter getAsynchronousObjectWriter() {
+        // encryption state and the reader of the original document can't be shared with the writer thread
+        if (asynchronousObjectWriter == null && properties.asynchronousFlushing && crypto == null
+                && document.getReader() == null) {
+            asynchronousObjectWriter = new AsynchronousObjectWriter(this);
+        }
+        return asynchronousObjectWriter;
+    }
+
+    private static boolean requiresSynchronousWriting(PdfObject pdfObject) {
+        if (pdfObject.getType() != PdfObject.STREAM) {
+            return false;
+        }
+        // the raw content of the copied streams is read from the source document on writing
+        PdfStream pdfStream = (PdfStream) pdfObject;
+        return pdfStream.getInputStream() != null || pdfStream.isRawContentNotLoaded();
+    }
+
+    private void makeContentIndirectIfRequired(PdfObject pdfObject) {
+        switch (pdfObject.getType()) {
+            case PdfObject.ARRAY:
+                PdfArray array = (PdfArray) pdfObject;
+                for (int i = 0; i < array.size(); i++) {
+                    makeIndirectIfRequired(array.get(i, false));
+                }
+                break;
+            case PdfObject.STREAM:
+            case PdfObject.DICTIONARY:
+                for (PdfObject item : ((PdfDictionary) pdfObject).values(false)) {
+                    makeIndirectIfRequired(item);
+                }
+                break;
+        }
+    }
+
+    private void makeIndirectIfRequired(PdfObject pdfObject) {
+        if (pdfObject != null && pdfObject.getIndirectReference() == null) {
+            if (pdfObject.checkState(PdfObject.MUST_BE_INDIRECT)) {
+                pdfObject.makeIndirect(document);
+            } else {
+                makeContentIndirectIfRequired(pdfObject);
+            }
+        }
+    }
+
+    private void markContentToFlush(PdfObject pdfObject) {
+        switch (pdfObject.getType()) {
+            case PdfObject.ARRAY:
+                markArrayContentToFlush((PdfArray) pdfObject);
+                break;
+            case PdfObject.STREAM:
+            case PdfObject.DICTIONARY:
+                markDictionaryContentToFlush((PdfDictionary) pdfObject);
+                break;
+            case PdfObject.INDIRECT_REFERENCE:
+                markObjectToFlush(((PdfIndirectReference) pdfObject).getRefersTo(false));
+        }
+    }
+
     private void markArrayContentToFlush(PdfArray array) {
         for (int i = 0; i < array.size(); i++) {
             markObjectToFlush(array.get(i, false));
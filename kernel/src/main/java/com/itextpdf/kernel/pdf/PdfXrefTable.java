@@ -33,8 +33,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 import java.util.TreeSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,11 +55,20 @@ public class PdfXrefTable {
     private MemoryLimitsAwareHandler memoryLimitsAwareHandler;
 
     /**
-     * Free references linked list is stored in a form of a map, where:
-     * key - free reference obj number;
-     * value - previous item in the linked list of free references for the object denoted by the key.
+     * Entries which are not represented by {@link PdfIndirectReference} instances: the entries read from the
+     * document which have not been requested yet, see {@link PdfReader#setLazyXrefLoading(boolean)}, and the entries
+     * of flushed objects, see {@link WriterProperties#useCompactXrefTable()}.
      */
-    private final TreeMap<Integer, PdfIndirectReference> freeReferencesLinkedList;
+    private CompactXrefIndex compactEntries;
+
+    /**
+     * Free references linked list is stored in a form of an array, where:
+     * index - free reference obj number;
+     * value - obj number of the previous item in the linked list of free references for the object denoted by
+     * the index, increased by one, so that zero value means that there is no such free reference in the list.
+     */
+    private int[] freeReferencesLinkedList;
+    private int freeReferencesCount;
 
     /**
      * Creates a {@link PdfXrefTable} which will be used to store xref structure of the pdf document.
@@ -105,7 +112,7 @@ public class PdfXrefTable {
             this.memoryLimitsAwareHandler.checkIfXrefStructureExceedsTheLimit(capacity);
         }
         this.xref = new PdfIndirectReference[capacity];
-        this.freeReferencesLinkedList = new TreeMap<>();
+        this.freeReferencesLinkedList = new int[INITIAL_CAPACITY];
         add((PdfIndirectReference) new PdfIndirectReference(null, 0, MAX_GENERATION, 0).setState(PdfObject.FREE));
     }
 
@@ -152,8 +159,9 @@ public class PdfXrefTable {
     public int getCountOfIndirectObjects() {
         int countOfIndirectObjects = 0;
 
-        for (final PdfIndirectReference ref: xref) {
-            if (ref != null && ! ref.isFree()) {
+        for (int i = 0; i < xref.length; i++) {
+            final int entryType = getEntryType(i);
+            if (entryType != CompactXrefIndex.ABSENT_ENTRY && entryType != CompactXrefIndex.FREE_ENTRY) {
                 countOfIndirectObjects++;
             }
         }
@@ -171,7 +179,12 @@ public class PdfXrefTable {
         if (index > count) {
             return null;
         }
-        return xref[index];
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && compactEntries != null && compactEntries.contains(index)) {
+            reference = compactEntries.createReference(index);
+            xref[index] = reference;
+        }
+        return reference;
     }
 
     /**
@@ -271,8 +284,8 @@ public class PdfXrefTable {
 
         if (!document.properties.appendMode) {
             for (int i = count; i > 0; --i) {
-                PdfIndirectReference lastRef = xref[i];
-                if (lastRef == null || lastRef.isFree()) {
+                int lastEntryType = getEntryType(i);
+                if (lastEntryType == CompactXrefIndex.ABSENT_ENTRY || lastEntryType == CompactXrefIndex.FREE_ENTRY) {
                     removeFreeRefFromList(i);
                     --count;
                 } else {
@@ -322,28 +335,17 @@ public class PdfXrefTable {
             }
             xrefStream.put(PdfName.Index, index);
             xrefStream.getIndirectReference().setOffset(startxref);
-            PdfXrefTable xrefTable = document.getXref();
             for (int k = 0; k < sections.size(); k += 2) {
                 int first = (int) sections.get(k);
                 int len = (int) sections.get(k + 1);
                 for (int i = first; i < first + len; i++) {
-                    PdfIndirectReference reference = xrefTable.get(i);
-                    if (reference.isFree()) {
-                        xrefStream.getOutputStream().write(0);
-                        xrefStream.getOutputStream().write(reference.getOffset(), offsetSize);
-                        xrefStream.getOutputStream().write(reference.getGenNumber(), 2);
-                    } else if (reference.getObjStreamNumber() == 0) {
-                        xrefStream.getOutputStream().write(1);
-                        xrefStream.getOutputStream().write(reference.getOffset(), offsetSize);
-                        xrefStream.getOutputStream().write(reference.getGenNumber(), 2);
-                    } else {
-                        xrefStream.getOutputStream().write(2);
-                        xrefStream.getOutputStream().write(reference.getObjStreamNumber(), offsetSize);
-                        xrefStream.getOutputStream().write(reference.getIndex(), 2);
-                    }
+                    xrefStream.getOutputStream().write(getEntryType(i));
+                    xrefStream.getOutputStream().write(getEntryField2(i), offsetSize);
+                    xrefStream.getOutputStream().write(getEntryField3(i), 2);
                 }
             }
             xrefStream.flush();
+            writer.writePendingObjects();
             xRefStmPos = startxref;
         }
 
@@ -355,7 +357,6 @@ public class PdfXrefTable {
         if (needsRegularXref) {
             startxref = writer.getCurrentPos();
             writer.writeString("xref\n");
-            PdfXrefTable xrefTable = document.getXref();
             if (xRefStmPos != -1) {
                 // Get rid of all objects from object stream. This is done for hybrid documents
                 sections = createSections(document, true);
@@ -365,13 +366,15 @@ public class PdfXrefTable {
                 int len = (int) sections.get(k + 1);
                 writer.writeInteger(first).writeSpace().writeInteger(len).writeByte((byte) '\n');
                 for (int i = first; i < first + len; i++) {
-                    PdfIndirectReference reference = xrefTable.get(i);
+                    int entryType = getEntryType(i);
+                    boolean compressed = entryType == CompactXrefIndex.COMPRESSED_ENTRY;
 
-                    StringBuilder off = new StringBuilder("0000000000").append(reference.getOffset());
-                    StringBuilder gen = new StringBuilder("00000").append(reference.getGenNumber());
+                    StringBuilder off = new StringBuilder("0000000000")
+                            .append(compressed ? getEntryField3(i) : getEntryField2(i));
+                    StringBuilder gen = new StringBuilder("00000").append(compressed ? 0 : getEntryField3(i));
                     writer.writeString(off.substring(off.length() - 10, off.length())).writeSpace().
                             writeString(gen.substring(gen.length() - 5, gen.length())).writeSpace();
-                    if (reference.isFree()) {
+                    if (entryType == CompactXrefIndex.FREE_ENTRY) {
                         writer.writeBytes(freeXRefEntry);
                     } else {
                         writer.writeBytes(inUseXRefEntry);
@@ -404,7 +407,8 @@ public class PdfXrefTable {
                 writeLong(startxref).
                 writeString("\n%%EOF\n");
         xref = null;
-        freeReferencesLinkedList.clear();
+        compactEntries = null;
+        clearFreeReferencesList();
     }
 
     /**
@@ -424,20 +428,129 @@ public class PdfXrefTable {
         return readingCompleted;
     }
 
+    /**
+     * Enables lazy loading of the cross-reference entries: entries added with
+     * {@link #addLazyEntry(int, int, long, int)} are only turned into {@link PdfIndirectReference} instances
+     * when they are requested.
+     *
+     * @param document is the current {@link PdfDocument document}
+     */
+    void enableLazyLoading(PdfDocument document) {
+        ensureCompactEntries(document);
+    }
+
+    /**
+     * Checks if the entry for the given object number is stored in the lazy index and has not been requested yet.
+     *
+     * @param objNr object number of the entry
+     * @return true if the entry is stored in the lazy index, false otherwise
+     */
+    boolean containsLazyEntry(int objNr) {
+        return compactEntries != null && xref.length > objNr && xref[objNr] == null && compactEntries.contains(objNr);
+    }
+
+    /**
+     * Adds the entry read from the document to the lazy index. The meaning of the parameters is the same as
+     * for the fields of cross-reference stream entries.
+     *
+     * @param objNr  object number of the entry
+     * @param type   type of the entry: 0 for free, 1 for in-use and 2 for compressed objects
+     * @param field2 byte offset of the object or number of the object stream which contains the object
+     * @param field3 generation number of the object or index of the object within its object stream
+     */
+    void addLazyEntry(int objNr, int type, long field2, int field3) {
+        this.count = Math.max(this.count, objNr);
+        ensureCount(objNr);
+        compactEntries.put(objNr, type, field2, field3);
+    }
+
+    /**
+     * Returns the reference of the released object to the lazy index, so that the {@link PdfIndirectReference}
+     * instance no longer occupies memory. It is only done for read-only documents and for references which
+     * have not been changed.
+     *
+     * @param reference the reference of the released object
+     */
+    void unloadReference(PdfIndirectReference reference) {
+        if (compactEntries == null || !readingCompleted || reference.getDocument().getWriter() != null) {
+            return;
+        }
+        int objNr = reference.getObjNumber();
+        if (objNr > count || xref[objNr] != reference || reference.refersTo != null
+                || reference.checkState(PdfObject.FREE) || reference.checkState(PdfObject.MODIFIED)
+                || reference.checkState(PdfObject.MUST_BE_FLUSHED) || reference.checkState(PdfObject.FLUSHED)) {
+            return;
+        }
+        compactEntries.put(reference);
+        xref[objNr] = null;
+    }
+
+    /**
+     * Stores the entry of the flushed object in the compact form, so that the {@link PdfIndirectReference} instance
+     * is no longer kept by the cross-reference table. The reference can still be obtained with {@link #get(int)},
+     * but it will be a new instance.
+     *
+     * @param reference the reference of the flushed object
+     */
+    void storeFlushedReference(PdfIndirectReference reference) {
+        int objNr = reference.getObjNumber();
+        if (objNr > count || xref[objNr] != reference || !reference.checkState(PdfObject.FLUSHED)) {
+            return;
+        }
+        ensureCompactEntries(reference.getDocument());
+        compactEntries.put(reference);
+        xref[objNr] = null;
+    }
+
+    /**
+     * Gets the reference to the indirect object unless the object has already been flushed.
+     * Unlike {@link #get(int)}, it doesn't create references for the flushed objects stored in the compact form.
+     *
+     * @param index is the index of required object
+     * @return reference to object with the provided index or null if there is no such object or it has been flushed
+     */
+    PdfIndirectReference getUnflushed(int index) {
+        if (index > count || xref[index] == null && compactEntries != null
+                && compactEntries.contains(index) && compactEntries.checkState(index, PdfObject.FLUSHED)) {
+            return null;
+        }
+        PdfIndirectReference reference = get(index);
+        return reference == null || reference.checkState(PdfObject.FLUSHED) ? null : reference;
+    }
+
+    /**
+     * Returns the reference which was unloaded by {@link #unloadReference(PdfIndirectReference)} back to the
+     * cross-reference table when its object is requested again.
+     *
+     * @param reference the reference of the requested object
+     * @return the instance registered in the cross-reference table for the same object, which is the passed
+     * reference itself unless another instance was loaded after the passed one had been unloaded
+     */
+    PdfIndirectReference reloadReference(PdfIndirectReference reference) {
+        int objNr = reference.getObjNumber();
+        if (compactEntries == null || objNr > count || xref[objNr] == reference) {
+            return reference;
+        }
+        if (xref[objNr] == null && compactEntries.contains(objNr)) {
+            xref[objNr] = reference;
+        }
+        return xref[objNr] != null && xref[objNr].equals(reference) ? xref[objNr] : reference;
+    }
+
     /**
      * Set up appropriate state for the free references list.
      *
      * @param pdfDocument is the current {@link PdfDocument document}
      */
     void initFreeReferencesList(PdfDocument pdfDocument) {
-        freeReferencesLinkedList.clear();
+        clearFreeReferencesList();
 
         // ensure zero object is free
         xref[0].setState(PdfObject.FREE);
         TreeSet<Integer> freeReferences = new TreeSet<>();
         for (int i = 1; i < size(); ++i) {
-            PdfIndirectReference ref = xref[i];
-            if (ref == null || ref.isFree()) {
+            int entryType = getEntryType(i);
+            if (entryType == CompactXrefIndex.ABSENT_ENTRY || entryType == CompactXrefIndex.FREE_ENTRY) {
                 freeReferences.add(i);
             }
         }
@@ -448,18 +561,18 @@ public class PdfXrefTable {
             if (prevFreeRef.getOffset() <= Integer.MAX_VALUE) {
                 currFreeRefObjNr = (int) prevFreeRef.getOffset();
             }
-            if (!freeReferences.contains(currFreeRefObjNr) || xref[currFreeRefObjNr] == null) {
+            if (!freeReferences.contains(currFreeRefObjNr) || get(currFreeRefObjNr) == null) {
                 break;
             }
 
-            freeReferencesLinkedList.put(currFreeRefObjNr, prevFreeRef);
+            putToFreeReferencesList(currFreeRefObjNr, prevFreeRef);
             prevFreeRef = xref[currFreeRefObjNr];
             freeReferences.remove(currFreeRefObjNr);
         }
 
         while (!freeReferences.<Integer>isEmpty()) {
             int next = freeReferences.pollFirst();
-            if (xref[next] == null) {
+            if (get(next) == null) {
                 if (pdfDocument.properties.appendMode) {
                     continue;
                 }
@@ -470,14 +583,14 @@ public class PdfXrefTable {
             if (prevFreeRef.getOffset() != (long)next) {
                 ((PdfIndirectReference) prevFreeRef.setState(PdfObject.MODIFIED)).setOffset(next);
             }
-            freeReferencesLinkedList.put(next, prevFreeRef);
+            putToFreeReferencesList(next, prevFreeRef);
             prevFreeRef = xref[next];
         }
 
         if (prevFreeRef.getOffset() != 0) {
             ((PdfIndirectReference) prevFreeRef.setState(PdfObject.MODIFIED)).setOffset(0);
         }
-        freeReferencesLinkedList.put(0, prevFreeRef);
+        putToFreeReferencesList(0, prevFreeRef);
     }
 
     /**
@@ -502,6 +615,9 @@ public class PdfXrefTable {
             }
             xref[i] = null;
         }
+        if (compactEntries != null) {
+            compactEntries.clear(count);
+        }
         count = 1;
     }
 
@@ -510,13 +626,14 @@ public class PdfXrefTable {
         int first = 0;
         int len = 0;
         for (int i = 0; i < size(); i++) {
-            PdfIndirectReference reference = xref[i];
-            if (document.properties.appendMode && reference != null &&
-                    (!reference.checkState(PdfObject.MODIFIED) || (dropObjectsFromObjectStream && reference.getObjStreamNumber() != 0))) {
-                reference = null;
+            int entryType = getEntryType(i);
+            boolean skipEntry = entryType == CompactXrefIndex.ABSENT_ENTRY;
+            if (document.properties.appendMode && !skipEntry &&
+                    (!isEntryModified(i) || (dropObjectsFromObjectStream && entryType == CompactXrefIndex.COMPRESSED_ENTRY))) {
+                skipEntry = true;
             }
 
-            if (reference == null) {
+            if (skipEntry) {
                 if (len > 0) {
                     sections.add(first);
                     sections.add(len);
@@ -558,15 +675,15 @@ public class PdfXrefTable {
 
     private void appendNewRefToFreeList(PdfIndirectReference reference) {
         reference.setOffset(0);
-        if (freeReferencesLinkedList.<Integer, PdfIndirectReference>isEmpty()) {
+        if (freeReferencesCount == 0) {
             assert false;
             // free references list is not initialized yet
             return;
         }
-        PdfIndirectReference lastFreeRef = freeReferencesLinkedList.get(0);
+        PdfIndirectReference lastFreeRef = getFromFreeReferencesList(0);
         ((PdfIndirectReference) lastFreeRef.setState(PdfObject.MODIFIED)).setOffset(reference.getObjNumber());
-        freeReferencesLinkedList.put(reference.getObjNumber(), lastFreeRef);
-        freeReferencesLinkedList.put(0, reference);
+        putToFreeReferencesList(reference.getObjNumber(), lastFreeRef);
+        putToFreeReferencesList(0, reference);
     }
 
     /**
@@ -579,7 +696,7 @@ public class PdfXrefTable {
      * passed as parameter. {@code null} - if given object number doesn't correspond to free reference or equals to zero.
      */
     private PdfIndirectReference removeFreeRefFromList(int freeRefObjNr) {
-        if (freeReferencesLinkedList.<Integer, PdfIndirectReference>isEmpty()) {
+        if (freeReferencesCount == 0) {
             assert false;
             // free references list is not initialized yet
             return null;
@@ -588,34 +705,116 @@ public class PdfXrefTable {
             return null;
         }
         if (freeRefObjNr < 0) {
-            Integer leastFreeRefObjNum = null;
-            for (Map.Entry<Integer, PdfIndirectReference> entry : freeReferencesLinkedList.entrySet()) {
-                if (entry.getKey() <= 0 || xref[entry.getKey()].getGenNumber() >= MAX_GENERATION) {
+            int leastFreeRefObjNum = -1;
+            for (int i = 1; i < freeReferencesLinkedList.length; i++) {
+                if (freeReferencesLinkedList[i] == 0 || get(i).getGenNumber() >= MAX_GENERATION) {
                     continue;
                 }
-                leastFreeRefObjNum = entry.getKey();
+                leastFreeRefObjNum = i;
                 break;
             }
-            if (leastFreeRefObjNum == null) {
+            if (leastFreeRefObjNum == -1) {
                 return null;
             }
-            freeRefObjNr = (int)leastFreeRefObjNum;
+            freeRefObjNr = leastFreeRefObjNum;
         }
 
-        PdfIndirectReference freeRef = xref[freeRefObjNr];
+        PdfIndirectReference freeRef = get(freeRefObjNr);
         if (!freeRef.isFree()) {
             return null;
         }
 
-        PdfIndirectReference prevFreeRef = freeReferencesLinkedList.remove(freeRef.getObjNumber());
+        PdfIndirectReference prevFreeRef = removeFromFreeReferencesList(freeRef.getObjNumber());
         if (prevFreeRef != null) {
-            freeReferencesLinkedList.put((int) freeRef.getOffset(), prevFreeRef);
+            putToFreeReferencesList((int) freeRef.getOffset(), prevFreeRef);
             ((PdfIndirectReference) prevFreeRef.setState(PdfObject.MODIFIED)).setOffset(freeRef.getOffset());
         }
 
         return freeRef;
     }
 
+    private void putToFreeReferencesList(int freeRefObjNr, PdfIndirectReference prevFreeRef) {
+        if (freeRefObjNr >= freeReferencesLinkedList.length) {
+            int[] newList = new int[Math.max(freeRefObjNr + 1, freeReferencesLinkedList.length << 1)];
+            System.arraycopy(freeReferencesLinkedList, 0, newList, 0, freeReferencesLinkedList.length);
+            freeReferencesLinkedList = newList;
+        }
+        if (freeReferencesLinkedList[freeRefObjNr] == 0) {
+            ++freeReferencesCount;
+        }
+        freeReferencesLinkedList[freeRefObjNr] = prevFreeRef.getObjNumber() + 1;
+    }
+
+    private PdfIndirectReference getFromFreeReferencesList(int freeRefObjNr) {
+        if (freeRefObjNr >= freeReferencesLinkedList.length || freeReferencesLinkedList[freeRefObjNr] == 0) {
+            return null;
+        }
+        return get(freeReferencesLinkedList[freeRefObjNr] - 1);
+    }
+
+    private PdfIndirectReference removeFromFreeReferencesList(int freeRefObjNr) {
+        PdfIndirectReference prevFreeRef = getFromFreeReferencesList(freeRefObjNr);
+        if (prevFreeRef != null) {
+            freeReferencesLinkedList[freeRefObjNr] = 0;
+            --freeReferencesCount;
+        }
+        return prevFreeRef;
+    }
+
+    private void clearFreeReferencesList() {
+        Arrays.fill(freeReferencesLinkedList, 0);
+        freeReferencesCount = 0;
+    }
+
+    private void ensureCompactEntries(PdfDocument document) {
+        if (compactEntries == null) {
+            compactEntries = new CompactXrefIndex(document, xref.length);
+        }
+    }
+
+    /**
+     * Gets the type of the entry in terms of cross-reference streams without creating a reference for it.
+     *
+     * @param objNr object number of the entry
+     * @return 0 for free entries, 1 for in-use entries, 2 for compressed entries and -1 if there is no such entry
+     */
+    private int getEntryType(int objNr) {
+        PdfIndirectReference reference = xref[objNr];
+        if (reference == null) {
+            return compactEntries == null ? CompactXrefIndex.ABSENT_ENTRY : compactEntries.getType(objNr);
+        }
+        if (reference.isFree()) {
+            return CompactXrefIndex.FREE_ENTRY;
+        }
+        return reference.getObjStreamNumber() == 0 ? CompactXrefIndex.IN_USE_ENTRY : CompactXrefIndex.COMPRESSED_ENTRY;
+    }
+
+    private long getEntryField2(int objNr) {
+        PdfIndirectReference reference = xref[objNr];
+        if (reference == null) {
+            return compactEntries.getField2(objNr);
+        }
+        return reference.getObjStreamNumber() == 0 || reference.isFree()
+                ? reference.getOffset() : reference.getObjStreamNumber();
+    }
+
+    private int getEntryField3(int objNr) {
+        PdfIndirectReference reference = xref[objNr];
+        if (reference == null) {
+            return compactEntries.getField3(objNr);
+        }
+        return reference.getObjStreamNumber() == 0 || reference.isFree()
+                ? reference.getGenNumber() : reference.getIndex();
+    }
+
+    private boolean isEntryModified(int objNr) {
+        PdfIndirectReference reference = xref[objNr];
+        if (reference == null) {
+            return compactEntries.checkState(objNr, PdfObject.MODIFIED);
+        }
+        return reference.checkState(PdfObject.MODIFIED);
+    }
+
     private void ensureCount(int count) {
         if (count >= xref.length) {
             extendXref(count << 1);
@@ -629,5 +828,8 @@ public class PdfXrefTable {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(this.xref, 0, newXref, 0, this.xref.length);
         this.xref = newXref;
+        if (compactEntries != null) {
+            compactEntries.ensureCapacity(capacity);
+        }
     }
 }
@@ -26,23 +26,54 @@ import com.itextpdf.io.source.ByteBuffer;
 import com.itextpdf.kernel.exceptions.PdfException;
 
 import java.security.MessageDigest;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 class SmartModePdfObjectsSerializer {
+    private static final int CONTENT_HASH_LENGTH = 16;
+
     private MessageDigest sha512;
-    private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj = new HashMap<>();
+    private final boolean hashContent;
+    private final int maxIndexedObjects;
+    private final LinkedHashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj;
 
     SmartModePdfObjectsSerializer() {
+        this(false, 0);
+    }
+
+    /**
+     * Creates the serializer.
+     *
+     * @param hashContent if true, objects are indexed by the 128-bit hash of their serialized content
+     * @param maxIndexedObjects the maximum number of indexed objects, the least recently used objects
+     *                          are removed from the index when it is exceeded. Non-positive values mean
+     *                          that the index is not limited
+     */
+    SmartModePdfObjectsSerializer(boolean hashContent, int maxIndexedObjects) {
         try {
             sha512 = MessageDigest.getInstance("SHA-512");
         } catch (Exception e) {
             throw new PdfException(e);
         }
+        this.hashContent = hashContent;
+        this.maxIndexedObjects = maxIndexedObjects;
+        // access order is only needed to find the least recently used entries of the bounded index
+        this.serializedContentToObj = new LinkedHashMap<>(16, 0.75f, maxIndexedObjects > 0);
     }
 
     public void saveSerializedObject(SerializedObjectContent serializedContent, PdfIndirectReference objectReference) {
         serializedContentToObj.put(serializedContent, objectReference);
+        if (maxIndexedObjects > 0 && serializedContentToObj.size() > maxIndexedObjects) {
+            Iterator<SerializedObjectContent> iterator = serializedContentToObj.keySet().iterator();
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    int getIndexedObjectsCount() {
+        return serializedContentToObj.size();
     }
 
     public PdfIndirectReference getSavedSerializedObject(SerializedObjectContent serializedContent) {
@@ -71,6 +102,10 @@ class SmartModePdfObjectsSerializer {
             }
             content = bb.toByteArray();
         }
+        if (hashContent) {
+            // SHA-512 truncated to 128 bits still makes accidental collisions practically impossible
+            content = Arrays.copyOf(sha512.digest(content), CONTENT_HASH_LENGTH);
+        }
         return new SerializedObjectContent(content);
     }
 
@@ -55,6 +55,39 @@ public class WriterProperties {
      */
     protected PdfString modifiedDocumentId;
 
+    /**
+     * The number of worker threads used to compress streams content. Values less than 2 mean that
+     * streams are compressed on the thread which flushes them.
+     */
+    protected int streamCompressionParallelism;
+
+    /**
+     * Indicates if the cross-reference entries of flushed objects are kept in the compact form.
+     */
+    protected boolean compactXrefTable;
+
+    /**
+     * Indicates if flushed objects are written to the document on the separate writer thread.
+     */
+    protected boolean asynchronousFlushing;
+
+    /**
+     * Indicates if the raw content of the streams copied from other documents is read only on writing.
+     */
+    protected boolean rawStreamPassthrough;
+
+    /**
+     * Indicates if the smart mode indexes copied objects by the hash of their content
+     * instead of the content itself.
+     */
+    protected boolean hashedSmartModeIndex;
+
+    /**
+     * The maximum number of objects kept in the smart mode index. Non-positive values mean
+     * that the index is not limited.
+     */
+    protected int smartModeIndexLimit;
+
     public WriterProperties() {
         smartMode = false;
         addUAXmpMetadata = false;
@@ -90,6 +123,26 @@ public class WriterProperties {
         return this;
     }
 
+    /**
+     * Enables smart mode which indexes copied objects by the 128-bit hash of their serialized content.
+     * <br>
+     * In regular smart mode the whole serialized content of every copied dictionary and stream is kept
+     * in memory until the document is closed. In this mode only a fixed-size hash is kept for every object,
+     * and the index is additionally bounded: when it exceeds the given number of objects, the least
+     * recently used entries are removed from it. Objects removed from the index are not reused anymore,
+     * so a bounded index trades some of the file size reduction for the predictable memory consumption.
+     *
+     * @param maxIndexedObjects the maximum number of objects kept in the index, non-positive values
+     *                          mean that the index is not limited
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties useHashedSmartMode(int maxIndexedObjects) {
+        this.smartMode = true;
+        this.hashedSmartModeIndex = true;
+        this.smartModeIndexLimit = maxIndexedObjects;
+        return this;
+    }
+
     /**
      * If true, default XMPMetadata based on {@link PdfDocumentInfo} will be added.
      * For PDF 2.0 documents, metadata will be added in any case.
@@ -113,6 +166,90 @@ public class WriterProperties {
         return this;
     }
 
+    /**
+     * Defines the number of worker threads used to compress the content of flushed streams.
+     * <br>
+     * If the value is greater than 1, flushed objects are queued and written to the document in the
+     * same order as they are flushed, while the content of the streams is compressed in parallel
+     * by a bounded pool of worker threads. The resulting document doesn't depend on the speed of the workers.
+     * Flushed objects shall not be modified: their content is released only after it is actually written.
+     * Worker threads are stopped when the document is closed.
+     * <br>
+     * By default streams are compressed on the thread which flushes them.
+     *
+     * @param parallelism the number of worker threads, values less than 2 disable parallel compression
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setStreamCompressionParallelism(int parallelism) {
+        this.streamCompressionParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Enables compact storage of the cross-reference table.
+     * <br>
+     * By default the cross-reference table keeps a {@link PdfIndirectReference} instance for every object
+     * of the document until the document is closed. In compact mode, as soon as an object is flushed, its
+     * cross-reference entry is stored in parallel primitive arrays and the indirect reference is no longer
+     * kept by the document. This significantly decreases memory consumption of the documents with millions
+     * of objects. Note that {@link PdfDocument#getPdfObject(int)} and similar methods return new
+     * {@link PdfIndirectReference} instances for the flushed objects in this mode.
+     * <br>
+     * Compact storage is only used for the documents created from scratch, it is ignored in stamping mode.
+     *
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties useCompactXrefTable() {
+        this.compactXrefTable = true;
+        return this;
+    }
+
+    /**
+     * Enables asynchronous flushing of the objects.
+     * <br>
+     * In this mode flushed objects, e.g. the pages flushed with {@link PdfPage#flush()} together with their
+     * content streams and annotations, are passed through a bounded queue to a single writer thread which
+     * serializes, compresses and writes them, so that the calling thread can continue with the next page
+     * in the meantime. Objects are written in the same order as they are flushed, hence the resulting document
+     * is the same as in the synchronous mode. The calling thread is blocked only when the queue is full and
+     * when the document needs all the flushed objects to be written, e.g. on closing.
+     * <br>
+     * An object passed to the writer thread, as well as all its direct children, shall neither be modified
+     * nor read after it is flushed: its content is released by the writer thread as soon as it is written.
+     * Indirect objects it refers to remain owned by the calling thread.
+     * <br>
+     * Asynchronous flushing is only used for the unencrypted documents created from scratch, it is ignored
+     * in stamping mode and if parallel stream compression is enabled with {@link #setStreamCompressionParallelism(int)}.
+     *
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties useAsynchronousFlushing() {
+        this.asynchronousFlushing = true;
+        return this;
+    }
+
+    /**
+     * Enables raw passthrough of the streams copied from other documents, e.g. with
+     * {@link PdfDocument#copyPagesTo(int, int, PdfDocument)} or {@link com.itextpdf.kernel.utils.PdfMerger}.
+     * <br>
+     * By default the raw content of a stream is read into memory when the stream is copied. In this mode only
+     * the position of the content in the source document is remembered and the content is transferred from the
+     * source file to the output as is when the copied stream is written, provided that it doesn't have to be
+     * compressed or encrypted, i.e. already encoded streams are never loaded into memory at all. The content is
+     * loaded as usual if the copied stream is accessed or modified, and at the latest when the source document
+     * is closed. Hence the most effective is to flush the copied objects with
+     * {@link PdfDocument#flushCopiedObjects(PdfDocument)} before closing the source document.
+     * <br>
+     * The passthrough is not used for the streams of encrypted source documents, as their content
+     * needs to be decrypted anyway.
+     *
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties useRawStreamPassthrough() {
+        this.rawStreamPassthrough = true;
+        return this;
+    }
+
     /**
      * Defines if full compression mode is enabled. If enabled, not only the content of the pdf document will be
      * compressed, but also the pdf document inner structure.
@@ -0,0 +1,293 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cache of the parsed form XObject content streams and of the fonts which is shared between the
+ * {@link PdfCanvasProcessor} instances processing the pages of the same document.
+ * <br><br>
+ * The entries are keyed by the indirect references of the form XObjects and the font dictionaries, so a cache
+ * instance shall be used only for a single {@link com.itextpdf.kernel.pdf.PdfDocument}. The parsed commands of a
+ * form are replayed by every processor which encounters it, so the same form (e.g. a letterhead placed on every
+ * page) is decoded and tokenized only once. The least recently used forms are evicted once the estimated memory
+ * size of their parsed commands exceeds the limit, and the least recently used fonts are evicted once their number
+ * exceeds the limit.
+ * <br><br>
+ * The parsed operands and the fonts are shared between all the processors which use the cache, so the custom
+ * {@link IContentOperator}s shall not modify them. Neither the operands nor the fonts are safe to be used by several
+ * threads at once, so the processors which share a cache shall not run concurrently; use a separate cache for every
+ * thread instead.
+ */
+public class ContentParseCache {
+
+    /**
+     * The default maximum total estimated size, in bytes, of the parsed commands of the cached forms.
+     */
+    public static final long DEFAULT_MAX_CONTENT_SIZE = 32L * 1024 * 1024;
+
+    /**
+     * The default maximum number of the cached fonts.
+     */
+    public static final int DEFAULT_MAX_FONTS_COUNT = 256;
+
+    /**
+     * The estimated memory size of an object header together with its fields.
+     */
+    private static final int OBJECT_SIZE = 32;
+
+    /**
+     * The estimated memory size of a reference to an object, e.g. an element of an array.
+     */
+    private static final int REFERENCE_SIZE = 8;
+
+    private final long maxContentSize;
+
+    private final int maxFontsCount;
+
+    private final LinkedHashMap<PdfIndirectReference, ParsedContent> contents = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LinkedHashMap<PdfIndirectReference, PdfFont> fonts = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long contentSize;
+
+    /**
+     * Creates a cache with the default limits.
+     */
+    public ContentParseCache() {
+        this(DEFAULT_MAX_CONTENT_SIZE, DEFAULT_MAX_FONTS_COUNT);
+    }
+
+    /**
+     * Creates a cache with the specified limits.
+     *
+     * @param maxContentSize the maximum total estimated size, in bytes, of the parsed commands of the cached forms
+     * @param maxFontsCount  the maximum number of the cached fonts
+     */
+    public ContentParseCache(long maxContentSize, int maxFontsCount) {
+        this.maxContentSize = maxContentSize;
+        this.maxFontsCount = maxFontsCount;
+    }
+
+    /**
+     * Gets the font for the specified font dictionary, creating and caching it if necessary.
+     *
+     * @param fontDict the indirect font dictionary
+     * @return the font
+     */
+    public PdfFont getFont(PdfDictionary fontDict) {
+        PdfIndirectReference reference = fontDict.getIndirectReference();
+        if (reference == null) {
+            return PdfFontFactory.createFont(fontDict);
+        }
+        synchronized (this) {
+            PdfFont font = fonts.get(reference);
+            if (font != null) {
+                return font;
+            }
+        }
+        PdfFont font = PdfFontFactory.createFont(fontDict);
+        synchronized (this) {
+            PdfFont cachedFont = fonts.get(reference);
+            if (cachedFont != null) {
+                return cachedFont;
+            }
+            fonts.put(reference, font);
+            if (fonts.size() > maxFontsCount) {
+                Iterator<PdfFont> iterator = fonts.values().iterator();
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        return font;
+    }
+
+    /**
+     * Gets the number of the cached forms.
+     *
+     * @return the number of the cached forms
+     */
+    public synchronized int getCachedContentsCount() {
+        return contents.size();
+    }
+
+    /**
+     * Gets the number of the cached fonts.
+     *
+     * @return the number of the cached fonts
+     */
+    public synchronized int getCachedFontsCount() {
+        return fonts.size();
+    }
+
+    /**
+     * Removes all the entries from the cache.
+     */
+    public synchronized void clear() {
+        contents.clear();
+        fonts.clear();
+        contentSize = 0;
+    }
+
+    /**
+     * Gets the parsed commands of the form XObject, parsing and caching them if necessary.
+     *
+     * @param xObjectStream the indirect form XObject stream
+     * @param resources     the resources of the form
+     * @return the commands of the form, each one is an array of the operands followed by the operator
+     */
+    List<PdfObject[]> getCommands(PdfStream xObjectStream, PdfResources resources) {
+        PdfIndirectReference reference = xObjectStream.getIndirectReference();
+        synchronized (this) {
+            ParsedContent content = contents.get(reference);
+            if (content != null) {
+                return content.commands;
+            }
+        }
+        List<PdfObject[]> commands = parseCommands(xObjectStream.getBytes(), resources);
+        ParsedContent content = new ParsedContent(commands, estimateSize(commands));
+        synchronized (this) {
+            ParsedContent cachedContent = contents.get(reference);
+            if (cachedContent != null) {
+                return cachedContent.commands;
+            }
+            if (content.size <= maxContentSize) {
+                contents.put(reference, content);
+                contentSize += content.size;
+                Iterator<ParsedContent> iterator = contents.values().iterator();
+                while (contentSize > maxContentSize) {
+                    contentSize -= iterator.next().size;
+                    iterator.remove();
+                }
+            }
+        }
+        return content.commands;
+    }
+
+    /**
+     * Gets the total estimated size of the parsed commands of the cached forms.
+     *
+     * @return the estimated size in bytes
+     */
+    synchronized long getCachedContentSize() {
+        return contentSize;
+    }
+
+    /**
+     * Roughly estimates the memory taken by the parsed commands, which is several times bigger than the size of
+     * the content stream they are parsed from.
+     */
+    private static long estimateSize(List<PdfObject[]> commands) {
+        long size = OBJECT_SIZE + (long) REFERENCE_SIZE * commands.size();
+        for (PdfObject[] command : commands) {
+            size += OBJECT_SIZE;
+            for (PdfObject operand : command) {
+                size += REFERENCE_SIZE + estimateSize(operand);
+            }
+        }
+        return size;
+    }
+
+    private static long estimateSize(PdfObject object) {
+        switch (object.getType()) {
+            case PdfObject.LITERAL:
+                return 2 * OBJECT_SIZE + ((PdfLiteral) object).getBytesCount();
+            case PdfObject.NAME:
+                return 2 * OBJECT_SIZE + ((PdfName) object).getValue().length();
+            case PdfObject.STRING:
+                return 2 * OBJECT_SIZE + ((PdfString) object).getValueBytes().length;
+            case PdfObject.ARRAY: {
+                long size = 2 * OBJECT_SIZE;
+                for (PdfObject item : (PdfArray) object) {
+                    size += REFERENCE_SIZE + estimateSize(item);
+                }
+                return size;
+            }
+            case PdfObject.DICTIONARY:
+            case PdfObject.STREAM: {
+                long size = 2 * OBJECT_SIZE;
+                for (Map.Entry<PdfName, PdfObject> entry : ((PdfDictionary) object).entrySet()) {
+                    size += OBJECT_SIZE + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+                }
+                if (object.getType() == PdfObject.STREAM) {
+                    byte[] bytes = ((PdfStream) object).getBytes(false);
+                    size += bytes == null ? 0 : bytes.length;
+                }
+                return size;
+            }
+            default:
+                return OBJECT_SIZE;
+        }
+    }
+
+    private static List<PdfObject[]> parseCommands(byte[] contentBytes, PdfResources resources) {
+        PdfTokenizer tokeniser = new PdfTokenizer(
+                new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
+        PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
+        List<PdfObject[]> commands = new ArrayList<>();
+        List<PdfObject> operands = new ArrayList<>();
+        try {
+            while (ps.parse(operands).size() > 0) {
+                commands.add(operands.toArray(new PdfObject[operands.size()]));
+            }
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e);
+        }
+        return Collections.unmodifiableList(commands);
+    }
+
+    private static final class ParsedContent {
+        private final List<PdfObject[]> commands;
+        private final long size;
+
+        ParsedContent(List<PdfObject[]> commands, long size) {
+            this.commands = commands;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.commons.utils.DaemonThreadFactory;
+import com.itextpdf.io.source.GetBufferedRandomAccessSource;
+import com.itextpdf.io.source.IPositionalRandomAccessSource;
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.IndependentRandomAccessSource;
+import com.itextpdf.io.source.ThreadSafeRandomAccessSource;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Extracts text from all pages of a document using several threads.
+ * <p>
+ * {@link PdfDocument} is not safe for concurrent access, so every worker thread reads the document
+ * through its own {@link PdfReader} over the same {@link IRandomAccessSource}: each worker has its own
+ * tokenizer position and its own resolved objects, so page content parsing and text extraction
+ * run without any synchronization. Raw reads from the shared source are serialized with a lock, unless the source is an
+ * {@link IPositionalRandomAccessSource}, e.g. the one created by
+ * {@link com.itextpdf.io.source.RandomAccessSourceFactory#setUsePositionalReads(boolean)}.
+ * <p>
+ * The source is not closed by this class and shall stay open until the extraction is finished.
+ */
+public class ParallelTextExtractor {
+
+    private final IRandomAccessSource source;
+    private final ReaderProperties properties;
+    private final int parallelism;
+
+    /**
+     * Creates a new instance of {@link ParallelTextExtractor}.
+     *
+     * @param source      the source of the document bytes
+     * @param parallelism the number of threads which extract the text
+     */
+    public ParallelTextExtractor(IRandomAccessSource source, int parallelism) {
+        this(source, new ReaderProperties(), parallelism);
+    }
+
+    /**
+     * Creates a new instance of {@link ParallelTextExtractor}.
+     *
+     * @param source      the source of the document bytes
+     * @param properties  properties of the readers which are created for every thread
+     * @param parallelism the number of threads which extract the text
+     */
+    public ParallelTextExtractor(IRandomAccessSource source, ReaderProperties properties, int parallelism) {
+        this.source = source instanceof IPositionalRandomAccessSource ? source
+                : new ThreadSafeRandomAccessSource(source);
+        this.properties = properties;
+        this.parallelism = Math.max(parallelism, 1);
+    }
+
+    /**
+     * Extracts text from all pages of the document.
+     *
+     * @param strategySupplier the supplier of extraction strategies, it is called once for every page
+     *                         and shall return a new strategy instance each time
+     * @return the extracted text, one entry per page in the page order
+     */
+    public List<String> extractAll(Supplier<? extends ITextExtractionStrategy> strategySupplier) {
+        return extractAll(strategySupplier, new HashMap<String, IContentOperator>());
+    }
+
+    /**
+     * Extracts text from all pages of the document.
+     * Also allows registration of custom IContentOperators that can influence
+     * how (and whether or not) the PDF instructions will be parsed.
+     *
+     * @param strategySupplier           the supplier of extraction strategies, it is called once for every page
+     *                                   and shall return a new strategy instance each time
+     * @param additionalContentOperators an optional map of custom {@link IContentOperator}s for rendering
+     *                                   instructions, the operators are shared between the threads
+     * @return the extracted text, one entry per page in the page order
+     */
+    public List<String> extractAll(Supplier<? extends ITextExtractionStrategy> strategySupplier,
+            Map<String, IContentOperator> additionalContentOperators) {
+        PdfDocument document = openDocument();
+        ExecutorService executor = null;
+        List<Future<Void>> workers = new ArrayList<>();
+        try {
+            int numberOfPages = document.getNumberOfPages();
+            String[] pagesText = new String[numberOfPages];
+            AtomicInteger nextPage = new AtomicInteger(1);
+
+            int threadsCount = Math.min(parallelism, numberOfPages) - 1;
+            if (threadsCount > 0) {
+                executor = Executors.newFixedThreadPool(threadsCount, new DaemonThreadFactory("itext-text-extractor"));
+                for (int i = 0; i < threadsCount; i++) {
+                    workers.add(executor.submit(new ExtractionTask(null, pagesText, nextPage, strategySupplier,
+                            additionalContentOperators)));
+                }
+            }
+            // the calling thread takes part in the extraction with the document it has already opened
+            new ExtractionTask(document, pagesText, nextPage, strategySupplier, additionalContentOperators).call();
+            for (Future<Void> worker : workers) {
+                waitFor(worker);
+            }
+            return Arrays.asList(pagesText);
+        } finally {
+            if (executor != null) {
+                // the threads are not interrupted: interrupting a file channel read closes the channel
+                executor.shutdown();
+            }
+            document.close();
+        }
+    }
+
+    private PdfDocument openDocument() {
+        try {
+            // readers close their sources, the shared one shall stay open for the other threads
+            IRandomAccessSource threadSource = new GetBufferedRandomAccessSource(
+                    new IndependentRandomAccessSource(source));
+            return new PdfDocument(new PdfReader(threadSource, properties));
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_OPEN_DOCUMENT, e);
+        }
+    }
+
+    private static void waitFor(Future<Void> worker) {
+        try {
+            worker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(KernelExceptionMessageConstant.TEXT_EXTRACTION_FAILED, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(KernelExceptionMessageConstant.TEXT_EXTRACTION_FAILED, e.getCause());
+        }
+    }
+
+    /**
+     * Takes the pages one by one and extracts text from them until no pages are left.
+     */
+    private final class ExtractionTask implements Callable<Void> {
+        private final PdfDocument openedDocument;
+        private final String[] pagesText;
+        private final AtomicInteger nextPage;
+        private final Supplier<? extends ITextExtractionStrategy> strategySupplier;
+        private final Map<String, IContentOperator> additionalContentOperators;
+
+        ExtractionTask(PdfDocument openedDocument, String[] pagesText, AtomicInteger nextPage,
+                Supplier<? extends ITextExtractionStrategy> strategySupplier,
+                Map<String, IContentOperator> additionalContentOperators) {
+            this.openedDocument = openedDocument;
+            this.pagesText = pagesText;
+            this.nextPage = nextPage;
+            this.strategySupplier = strategySupplier;
+            this.additionalContentOperators = additionalContentOperators;
+        }
+
+        @Override
+        public Void call() {
+            PdfDocument document = openedDocument == null ? openDocument() : openedDocument;
+            // the forms and fonts repeated on many pages are parsed once per document of the thread
+            ContentParseCache parseCache = new ContentParseCache();
+            try {
+                for (int pageNum = nextPage.getAndIncrement(); pageNum <= pagesText.length;
+                        pageNum = nextPage.getAndIncrement()) {
+                    ITextExtractionStrategy strategy = strategySupplier.get();
+                    PdfCanvasProcessor processor = new PdfCanvasProcessor(strategy, additionalContentOperators);
+                    processor.setParseCache(parseCache);
+                    processor.processPageContent(document.getPage(pageNum));
+                    pagesText[pageNum - 1] = strategy.getResultantText();
+                }
+            } catch (RuntimeException e) {
+                // let the other threads stop as soon as possible
+                nextPage.set(pagesText.length + 1);
+                throw e;
+            } finally {
+                if (openedDocument == null) {
+                    document.close();
+                }
+            }
+            return null;
+        }
+    }
+}
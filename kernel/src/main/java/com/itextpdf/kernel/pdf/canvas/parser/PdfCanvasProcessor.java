@@ -47,7 +47,13 @@ import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.Matrix;
 import com.itextpdf.kernel.geom.NoninvertibleTransformException;
+import com.itextpdf.kernel.geom.IShape;
+import com.itextpdf.kernel.geom.LineSegment;
 import com.itextpdf.kernel.geom.Path;
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.geom.Subpath;
+import com.itextpdf.kernel.geom.Vector;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfIndirectReference;
@@ -69,6 +75,7 @@ import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.util.ContentOperandsPool;
 import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
 import com.itextpdf.kernel.pdf.colorspace.PdfCieBasedCs;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
@@ -118,6 +125,21 @@ public class PdfCanvasProcessor {
      */
     private Map<String, IContentOperator> operators;
 
+    /**
+     * Whether the parsed operand objects are reused between the commands.
+     */
+    private boolean reuseOperands;
+
+    /**
+     * The pools of operand objects, one per nesting level of the processed content streams.
+     */
+    private final List<ContentOperandsPool> operandsPools = new ArrayList<>();
+
+    /**
+     * The operators which are already resolved for the interned operator literals.
+     */
+    private final Map<PdfLiteral, IContentOperator> resolvedOperators = new HashMap<>();
+
     /**
      * Resources for the content stream.
      * Current resources are always at the top of the stack.
@@ -144,6 +166,16 @@ public class PdfCanvasProcessor {
      */
     private Map<Integer, WeakReference<PdfFont>> cachedFonts = new HashMap<>();
 
+    /**
+     * The cache of the parsed forms and fonts shared with the processors of the other pages of the document.
+     */
+    private ContentParseCache parseCache;
+
+    /**
+     * The region of the page, in user space, outside which the content is skipped.
+     */
+    private Rectangle regionOfInterest;
+
     /**
      * A stack containing marked content info.
      */
@@ -206,9 +238,86 @@ public class PdfCanvasProcessor {
      * @return the existing registered operator, if any
      */
     public IContentOperator registerContentOperator(String operatorString, IContentOperator operator) {
+        resolvedOperators.clear();
         return operators.put(operatorString, operator);
     }
 
+    /**
+     * Sets whether the operand objects of the parsed commands shall be reused instead of being created for every
+     * command. This significantly reduces the number of short-lived objects created for text-heavy content, but
+     * the {@link PdfNumber} operands passed to the {@link IContentOperator}s become valid only during the
+     * {@link IContentOperator#invoke} call: the operators which need to keep a number shall copy it.
+     * Operator literals are interned and shall not be modified. Numbers nested in arrays and dictionaries,
+     * as well as strings and names, are not reused. By default, operands are not reused.
+     *
+     * @param reuseOperands true if the operand objects shall be reused, false otherwise
+     */
+    public void setReuseOperands(boolean reuseOperands) {
+        this.reuseOperands = reuseOperands;
+    }
+
+    /**
+     * Checks whether the operand objects of the parsed commands are reused.
+     *
+     * @return true if the operand objects are reused, false otherwise
+     * @see #setReuseOperands(boolean)
+     */
+    public boolean isReuseOperands() {
+        return reuseOperands;
+    }
+
+    /**
+     * Sets the cache of the parsed form XObjects and of the fonts, which can be shared between the processors
+     * of the pages of the same document, so that the forms and fonts used on many pages are parsed only once.
+     * The cache shall not be shared between different documents.
+     *
+     * @param parseCache the cache to use, or {@code null} to parse the forms and create the fonts per processor
+     */
+    public void setParseCache(ContentParseCache parseCache) {
+        this.parseCache = parseCache;
+    }
+
+    /**
+     * Gets the cache of the parsed form XObjects and of the fonts used by this processor.
+     *
+     * @return the cache, or {@code null} if it is not set
+     * @see #setParseCache(ContentParseCache)
+     */
+    public ContentParseCache getParseCache() {
+        return parseCache;
+    }
+
+    /**
+     * Sets the region of the page the event listener is interested in. The content which lies entirely outside
+     * the region is skipped as early as possible instead of being passed to the listener to be filtered out:
+     * <ul>
+     * <li>no {@link EventType#RENDER_TEXT} events are produced for the text whose box between the ascent and
+     * the descent lines misses the region;
+     * <li>no {@link EventType#RENDER_IMAGE} and {@link EventType#RENDER_PATH} events are produced for the images
+     * and paths whose bounding boxes miss the region;
+     * <li>the form XObjects whose bounding boxes miss the region are not processed at all, so no events are
+     * produced for their content.
+     * </ul>
+     * The boxes are conservative, so the text accepted by a {@link com.itextpdf.kernel.pdf.canvas.parser.filter
+     * .TextRegionEventFilter} with the same region is never skipped. The graphics state is tracked as usual,
+     * in particular {@link EventType#CLIP_PATH_CHANGED} events are produced for the processed content.
+     *
+     * @param regionOfInterest the region in the user space of the page, or {@code null} to process the whole content
+     */
+    public void setRegionOfInterest(Rectangle regionOfInterest) {
+        this.regionOfInterest = regionOfInterest;
+    }
+
+    /**
+     * Gets the region of the page the event listener is interested in.
+     *
+     * @return the region of interest, or {@code null} if the whole content is processed
+     * @see #setRegionOfInterest(Rectangle)
+     */
+    public Rectangle getRegionOfInterest() {
+        return regionOfInterest;
+    }
+
     /**
      * Gets the {@link java.util.Collection} containing all the registered operators strings.
      *
@@ -253,7 +362,17 @@ public class PdfCanvasProcessor {
         }
         this.resourcesStack.push(resources);
         PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
-        PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
+        PdfCanvasParser ps;
+        if (reuseOperands) {
+            // nested content streams (e.g. form XObjects) are processed while the outer command is being invoked
+            int nestingLevel = resourcesStack.size() - 1;
+            while (operandsPools.size() <= nestingLevel) {
+                operandsPools.add(new ContentOperandsPool());
+            }
+            ps = new PdfCanvasParser(tokeniser, resources, operandsPools.get(nestingLevel));
+        } else {
+            ps = new PdfCanvasParser(tokeniser, resources);
+        }
         List<PdfObject> operands = new ArrayList<>();
         try {
             while (ps.parse(operands).size() > 0) {
@@ -268,6 +387,23 @@ public class PdfCanvasProcessor {
 
     }
 
+    /**
+     * Processes the commands which were parsed from a content stream in advance.
+     *
+     * @param commands  the commands, each one is an array of the operands followed by the operator
+     * @param resources the resources of the content stream
+     */
+    private void processCommands(List<PdfObject[]> commands, PdfResources resources) {
+        this.resourcesStack.push(resources);
+        List<PdfObject> operands = new ArrayList<>();
+        for (PdfObject[] command : commands) {
+            operands.clear();
+            Collections.addAll(operands, command);
+            invokeOperator((PdfLiteral) command[command.length - 1], operands);
+        }
+        this.resourcesStack.pop();
+    }
+
     /**
      * Processes PDF syntax.
      *
@@ -407,8 +543,10 @@ public class PdfCanvasProcessor {
      */
     protected void paintPath(int operation, int rule) {
         ParserGraphicsState gs = getGraphicsState();
-        PathRenderInfo renderInfo = new PathRenderInfo(this.markedContentStack, gs, currentPath, operation, rule, isClip, clippingRule);
-        eventOccurred(renderInfo, EventType.RENDER_PATH);
+        if (isEventSupported(EventType.RENDER_PATH) && !isPathOutsideRegionOfInterest(currentPath, gs.getCtm())) {
+            PathRenderInfo renderInfo = new PathRenderInfo(this.markedContentStack, gs, currentPath, operation, rule, isClip, clippingRule);
+            eventOccurred(renderInfo, EventType.RENDER_PATH);
+        }
 
         if (isClip) {
             isClip = false;
@@ -426,9 +564,14 @@ public class PdfCanvasProcessor {
      * @param operands a list with operands
      */
     protected void invokeOperator(PdfLiteral operator, List<PdfObject> operands) {
-        IContentOperator op = operators.get(operator.toString());
+        IContentOperator op = reuseOperands ? resolvedOperators.get(operator) : null;
         if (op == null) {
-            op = operators.get(DEFAULT_OPERATOR);
+            op = operators.get(operator.toString());
+            if (op == null) {
+                op = operators.get(DEFAULT_OPERATOR);
+            } else if (reuseOperands) {
+                resolvedOperators.put(operator, op);
+            }
         }
         op.invoke(this, operator, operands);
     }
@@ -460,6 +603,9 @@ public class PdfCanvasProcessor {
      * @return the created font
      */
     protected PdfFont getFont(PdfDictionary fontDict) {
+        if (parseCache != null) {
+            return parseCache.getFont(fontDict);
+        }
         if (fontDict.getIndirectReference() == null) {
             return PdfFontFactory.createFont(fontDict);
         } else {
@@ -528,6 +674,10 @@ public class PdfCanvasProcessor {
     private void displayPdfString(PdfString string) {
         TextRenderInfo renderInfo = new TextRenderInfo(string, getGraphicsState(), textMatrix, markedContentStack);
         textMatrix = new Matrix(renderInfo.getUnscaledWidth(), 0).multiply(textMatrix);
+        if (regionOfInterest != null && isEventSupported(EventType.RENDER_TEXT) && isTextOutsideRegionOfInterest(renderInfo)) {
+            renderInfo.releaseGraphicsState();
+            return;
+        }
         eventOccurred(renderInfo, EventType.RENDER_TEXT);
     }
 
@@ -549,6 +699,10 @@ public class PdfCanvasProcessor {
     }
 
     private void displayImage(Stack<CanvasTag> canvasTagHierarchy, PdfStream imageStream, PdfName resourceName, boolean isInline) {
+        // images are drawn into the unit square of the current user space
+        if (isOutsideRegionOfInterest(getGraphicsState().getCtm(), 0, 0, 1, 1)) {
+            return;
+        }
         PdfDictionary colorSpaceDic = getResources().getResource(PdfName.ColorSpace);
         ImageRenderInfo renderInfo = new ImageRenderInfo(canvasTagHierarchy, getGraphicsState(), getGraphicsState().getCtm(),
                 imageStream, resourceName, colorSpaceDic, isInline);
@@ -566,6 +720,69 @@ public class PdfCanvasProcessor {
         textMatrix = new Matrix(adjustBy, 0).multiply(textMatrix);
     }
 
+    private boolean isEventSupported(EventType type) {
+        return supportedEvents == null || supportedEvents.contains(type);
+    }
+
+    private boolean isTextOutsideRegionOfInterest(TextRenderInfo renderInfo) {
+        LineSegment ascentLine = renderInfo.getAscentLine();
+        LineSegment descentLine = renderInfo.getDescentLine();
+        float[] bounds = {Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        includeInBounds(bounds, ascentLine.getStartPoint().get(Vector.I1), ascentLine.getStartPoint().get(Vector.I2));
+        includeInBounds(bounds, ascentLine.getEndPoint().get(Vector.I1), ascentLine.getEndPoint().get(Vector.I2));
+        includeInBounds(bounds, descentLine.getStartPoint().get(Vector.I1), descentLine.getStartPoint().get(Vector.I2));
+        includeInBounds(bounds, descentLine.getEndPoint().get(Vector.I1), descentLine.getEndPoint().get(Vector.I2));
+        return isOutsideRegionOfInterest(bounds);
+    }
+
+    private boolean isPathOutsideRegionOfInterest(Path path, Matrix ctm) {
+        if (regionOfInterest == null) {
+            return false;
+        }
+        // the control points of the curves are included, so the bounds contain the whole path
+        float[] bounds = {Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        for (Subpath subpath : path.getSubpaths()) {
+            if (subpath.getStartPoint() != null) {
+                includeTransformedInBounds(bounds, ctm, subpath.getStartPoint());
+            }
+            for (IShape segment : subpath.getSegments()) {
+                for (Point point : segment.getBasePoints()) {
+                    includeTransformedInBounds(bounds, ctm, point);
+                }
+            }
+        }
+        return bounds[0] <= bounds[2] && isOutsideRegionOfInterest(bounds);
+    }
+
+    private boolean isOutsideRegionOfInterest(Matrix transform, float llx, float lly, float urx, float ury) {
+        if (regionOfInterest == null) {
+            return false;
+        }
+        float[] bounds = {Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        includeTransformedInBounds(bounds, transform, new Point(llx, lly));
+        includeTransformedInBounds(bounds, transform, new Point(llx, ury));
+        includeTransformedInBounds(bounds, transform, new Point(urx, lly));
+        includeTransformedInBounds(bounds, transform, new Point(urx, ury));
+        return isOutsideRegionOfInterest(bounds);
+    }
+
+    private boolean isOutsideRegionOfInterest(float[] bounds) {
+        return bounds[2] < regionOfInterest.getLeft() || bounds[0] > regionOfInterest.getRight()
+                || bounds[3] < regionOfInterest.getBottom() || bounds[1] > regionOfInterest.getTop();
+    }
+
+    private static void includeTransformedInBounds(float[] bounds, Matrix transform, Point point) {
+        Vector transformed = new Vector((float) point.getX(), (float) point.getY(), 1).cross(transform);
+        includeInBounds(bounds, transformed.get(Vector.I1), transformed.get(Vector.I2));
+    }
+
+    private static void includeInBounds(float[] bounds, float x, float y) {
+        bounds[0] = Math.min(bounds[0], x);
+        bounds[1] = Math.min(bounds[1], y);
+        bounds[2] = Math.max(bounds[2], x);
+        bounds[3] = Math.max(bounds[3], y);
+    }
+
     private void initClippingPath(PdfPage page) {
         Path clippingPath = new Path();
         clippingPath.rectangle(page.getCropBox());
@@ -1382,7 +1599,12 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            processor.getGraphicsState().setDashPattern(new PdfArray(Arrays.asList(operands.get(0), operands.get(1))));
+            PdfObject phase = operands.get(1);
+            if (processor.isReuseOperands() && phase instanceof PdfNumber) {
+                // the phase is kept in the graphics state, while the operand is reused for the next commands
+                phase = new PdfNumber(((PdfNumber) phase).doubleValue());
+            }
+            processor.getGraphicsState().setDashPattern(new PdfArray(Arrays.asList(operands.get(0), phase)));
         }
     }
 
@@ -1393,6 +1615,38 @@ public class PdfCanvasProcessor {
 
         public void handleXObject(PdfCanvasProcessor processor, Stack<CanvasTag> canvasTagHierarchy, PdfStream xObjectStream, PdfName xObjectName) {
 
+            final PdfArray matrix = xObjectStream.getAsArray(PdfName.Matrix);
+            Matrix formMatrix = null;
+            if (matrix != null) {
+                float a = matrix.getAsNumber(0).floatValue();
+                float b = matrix.getAsNumber(1).floatValue();
+                float c = matrix.getAsNumber(2).floatValue();
+                float d = matrix.getAsNumber(3).floatValue();
+                float e = matrix.getAsNumber(4).floatValue();
+                float f = matrix.getAsNumber(5).floatValue();
+                formMatrix = new Matrix(a, b, c, d, e, f);
+            }
+
+            // the content of the form is clipped by its bounding box, so it can be skipped as a whole
+            Rectangle bBox = null;
+            if (processor.getRegionOfInterest() != null) {
+                try {
+                    bBox = xObjectStream.getAsRectangle(PdfName.BBox);
+                } catch (PdfException e) {
+                    // the form with a broken bounding box is processed as usual
+                }
+            }
+            if (bBox != null) {
+                Matrix formCtm = processor.getGraphicsState().getCtm();
+                if (formMatrix != null) {
+                    formCtm = formMatrix.multiply(formCtm);
+                }
+                if (processor.isOutsideRegionOfInterest(formCtm, bBox.getLeft(), bBox.getBottom(), bBox.getRight(),
+                        bBox.getTop())) {
+                    return;
+                }
+            }
+
             PdfDictionary resourcesDic = xObjectStream.getAsDictionary(PdfName.Resources);
             PdfResources resources;
             if (resourcesDic == null) {
@@ -1404,24 +1658,27 @@ public class PdfCanvasProcessor {
             // we read the content bytes up here so if it fails we don't leave the graphics state stack corrupted
             // this is probably not necessary (if we fail on this, probably the entire content stream processing
             // operation should be rejected
-            byte[] contentBytes;
-            contentBytes = xObjectStream.getBytes();
-            final PdfArray matrix = xObjectStream.getAsArray(PdfName.Matrix);
+            byte[] contentBytes = null;
+            List<PdfObject[]> commands = null;
+            ContentParseCache parseCache = processor.getParseCache();
+            // the forms without own resources are parsed anew, as their content depends on the resources of the caller
+            if (parseCache != null && resourcesDic != null && xObjectStream.getIndirectReference() != null) {
+                commands = parseCache.getCommands(xObjectStream, resources);
+            } else {
+                contentBytes = xObjectStream.getBytes();
+            }
 
             new PushGraphicsStateOperator().invoke(processor, null, null);
 
-            if (matrix != null) {
-                float a = matrix.getAsNumber(0).floatValue();
-                float b = matrix.getAsNumber(1).floatValue();
-                float c = matrix.getAsNumber(2).floatValue();
-                float d = matrix.getAsNumber(3).floatValue();
-                float e = matrix.getAsNumber(4).floatValue();
-                float f = matrix.getAsNumber(5).floatValue();
-                Matrix formMatrix = new Matrix(a, b, c, d, e, f);
+            if (formMatrix != null) {
                 processor.getGraphicsState().updateCtm(formMatrix);
             }
 
-            processor.processContent(contentBytes, resources);
+            if (commands != null) {
+                processor.processCommands(commands, resources);
+            } else {
+                processor.processContent(contentBytes, resources);
+            }
 
             new PopGraphicsStateOperator().invoke(processor, null, null);
         }
@@ -0,0 +1,293 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.data;
+
+import com.itextpdf.kernel.geom.LineSegment;
+import com.itextpdf.kernel.geom.Matrix;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.geom.Vector;
+import com.itextpdf.kernel.pdf.PdfString;
+
+/**
+ * Describes all the glyphs of a single text render operation at once.
+ * <br><br>
+ * The glyph codes, the unicode text and the advances are kept in primitive arrays, and the positions of the glyphs
+ * are calculated from a single text-to-user-space transformation on demand, so no objects are created per glyph
+ * unless the object accessors are used. The calculated geometry is exactly the same as the one of the
+ * {@link TextRenderInfo} instances returned by {@link TextRenderInfo#getCharacterRenderInfos()}.
+ * <br><br>
+ * An instance is obtained via {@link TextRenderInfo#getGlyphRun()}. The {@link #getCharacterRenderInfo(int)}
+ * accessor shall be used while the graphics state of the parent {@link TextRenderInfo} is available,
+ * all the other data stays available after the event is processed.
+ */
+public class GlyphRunInfo {
+
+    private final TextRenderInfo parent;
+    private final PdfString[] glyphStrings;
+    private final int[] codes;
+    private final String unicode;
+    private final int[] unicodeOffsets;
+    private final float[] startOffsets;
+    private final float[] advances;
+    private final float[] widths;
+
+    /**
+     * The text-to-user-space transformation of the whole text render operation.
+     */
+    private final Matrix transform;
+
+    private final float rise;
+    private final float ascent;
+    private final float descent;
+    private final float unscaledSpaceWidth;
+
+    GlyphRunInfo(TextRenderInfo parent, PdfString[] glyphStrings, int[] codes, String unicode, int[] unicodeOffsets,
+            float[] startOffsets, float[] advances, float[] widths, Matrix transform, float rise, float ascent,
+            float descent, float unscaledSpaceWidth) {
+        this.parent = parent;
+        this.glyphStrings = glyphStrings;
+        this.codes = codes;
+        this.unicode = unicode;
+        this.unicodeOffsets = unicodeOffsets;
+        this.startOffsets = startOffsets;
+        this.advances = advances;
+        this.widths = widths;
+        this.transform = transform;
+        this.rise = rise;
+        this.ascent = ascent;
+        this.descent = descent;
+        this.unscaledSpaceWidth = unscaledSpaceWidth;
+    }
+
+    /**
+     * Gets the number of glyphs in the run.
+     *
+     * @return the number of glyphs
+     */
+    public int getLength() {
+        return codes.length;
+    }
+
+    /**
+     * Gets the character code of the glyph as it is written in the content stream.
+     *
+     * @param index the index of the glyph
+     * @return the character code
+     */
+    public int getCode(int index) {
+        return codes[index];
+    }
+
+    /**
+     * Gets the unicode text of the glyph.
+     *
+     * @param index the index of the glyph
+     * @return the text of the glyph, which may be empty if the glyph can't be mapped to unicode
+     */
+    public String getText(int index) {
+        return unicode.substring(unicodeOffsets[index], unicodeOffsets[index + 1]);
+    }
+
+    /**
+     * Gets the unicode text of all the glyphs of the run, in the order of the glyphs.
+     *
+     * @return the text of the run
+     */
+    public String getText() {
+        return unicode;
+    }
+
+    /**
+     * Gets the offset of the glyph from the start of the run, in unscaled text space units.
+     *
+     * @param index the index of the glyph
+     * @return the horizontal offset of the glyph
+     */
+    public float getStartOffset(int index) {
+        return startOffsets[index];
+    }
+
+    /**
+     * Gets the advance of the glyph, including character and word spacing, in unscaled text space units.
+     *
+     * @param index the index of the glyph
+     * @return the horizontal advance of the glyph
+     */
+    public float getAdvance(int index) {
+        return advances[index];
+    }
+
+    /**
+     * Gets the width of the glyph baseline, i.e. the advance without the trailing character and word spacing,
+     * in unscaled text space units.
+     *
+     * @param index the index of the glyph
+     * @return the width of the glyph
+     */
+    public float getWidth(int index) {
+        return widths[index];
+    }
+
+    /**
+     * Gets the transformation from the text space of the run to the user space.
+     *
+     * @return the text-to-user-space transformation matrix, which shall not be modified
+     */
+    public Matrix getTextToUserSpaceTransform() {
+        return transform;
+    }
+
+    /**
+     * Calculates the user space coordinates of the glyph baselines.
+     *
+     * @return an array with four values per glyph: the x and y coordinates of the baseline start,
+     * followed by the x and y coordinates of the baseline end
+     */
+    public float[] getBaselineCoordinates() {
+        float[] coordinates = new float[codes.length * 4];
+        float[] point = new float[3];
+        for (int i = 0; i < codes.length; i++) {
+            transform(i, 0, rise, point);
+            coordinates[4 * i] = point[0];
+            coordinates[4 * i + 1] = point[1];
+            transform(i, widths[i], rise, point);
+            coordinates[4 * i + 2] = point[0];
+            coordinates[4 * i + 3] = point[1];
+        }
+        return coordinates;
+    }
+
+    /**
+     * Gets the baseline of the glyph in the user space, like {@link TextRenderInfo#getBaseline()} does
+     * for the glyph's character render info.
+     *
+     * @param index the index of the glyph
+     * @return the baseline line segment
+     */
+    public LineSegment getBaseline(int index) {
+        return getLine(index, rise);
+    }
+
+    /**
+     * Gets the ascent line of the glyph in the user space, like {@link TextRenderInfo#getAscentLine()} does
+     * for the glyph's character render info.
+     *
+     * @param index the index of the glyph
+     * @return the ascent line segment
+     */
+    public LineSegment getAscentLine(int index) {
+        return getLine(index, ascent + rise);
+    }
+
+    /**
+     * Gets the descent line of the glyph in the user space, like {@link TextRenderInfo#getDescentLine()} does
+     * for the glyph's character render info.
+     *
+     * @param index the index of the glyph
+     * @return the descent line segment
+     */
+    public LineSegment getDescentLine(int index) {
+        return getLine(index, descent + rise);
+    }
+
+    /**
+     * Calculates the bounding box of the glyph in the user space, i.e. the box of its ascent and descent lines.
+     *
+     * @param index the index of the glyph
+     * @return the bounding box of the glyph
+     */
+    public Rectangle getBoundingBox(int index) {
+        float[] point = new float[3];
+        double left = Double.MAX_VALUE;
+        double bottom = Double.MAX_VALUE;
+        double right = -Double.MAX_VALUE;
+        double top = -Double.MAX_VALUE;
+        float[] xs = {0, widths[index]};
+        float[] ys = {descent + rise, ascent + rise};
+        for (float y : ys) {
+            for (float x : xs) {
+                transform(index, x, y, point);
+                left = Math.min(left, point[0]);
+                bottom = Math.min(bottom, point[1]);
+                right = Math.max(right, point[0]);
+                top = Math.max(top, point[1]);
+            }
+        }
+        return new Rectangle((float) left, (float) bottom, (float) (right - left), (float) (top - bottom));
+    }
+
+    /**
+     * Gets the width of a single space character in the user space, like {@link TextRenderInfo#getSingleSpaceWidth()}
+     * does for the glyph's character render info.
+     *
+     * @param index the index of the glyph
+     * @return the width of a single space character
+     */
+    public float getSingleSpaceWidth(int index) {
+        float[] start = new float[3];
+        float[] end = new float[3];
+        transform(index, 0, 0, start);
+        transform(index, unscaledSpaceWidth, 0, end);
+        float x = end[0] - start[0];
+        float y = end[1] - start[1];
+        float z = end[2] - start[2];
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+
+    /**
+     * Creates the render info of the glyph, which is the same as the corresponding element of
+     * {@link TextRenderInfo#getCharacterRenderInfos()}.
+     *
+     * @param index the index of the glyph
+     * @return a new {@link TextRenderInfo} for the glyph
+     */
+    public TextRenderInfo getCharacterRenderInfo(int index) {
+        return parent.createCharacterRenderInfo(glyphStrings[index], startOffsets[index]);
+    }
+
+    private LineSegment getLine(int index, float y) {
+        float[] start = new float[3];
+        float[] end = new float[3];
+        transform(index, 0, y, start);
+        transform(index, widths[index], y, end);
+        return new LineSegment(new Vector(start[0], start[1], start[2]), new Vector(end[0], end[1], end[2]));
+    }
+
+    /**
+     * Transforms a point from the text space of the glyph to the user space. Multiplying the glyph offset matrix
+     * {@code [1 0 0, 0 1 0, offset 0 1]} by the transformation of the run only changes the third row, so only that
+     * row is calculated. The remaining operations are the same as in {@link Matrix#multiply(Matrix)} and
+     * {@link Vector#cross(Matrix)} without the terms multiplied by zero, so the coordinates are the same as the ones
+     * calculated by the character render infos.
+     */
+    private void transform(int index, float x, float y, float[] point) {
+        Matrix m = transform;
+        float offset = startOffsets[index];
+        float m31 = offset * m.get(Matrix.I11) + m.get(Matrix.I31);
+        float m32 = offset * m.get(Matrix.I12) + m.get(Matrix.I32);
+        float m33 = offset * m.get(Matrix.I13) + m.get(Matrix.I33);
+        point[0] = x * m.get(Matrix.I11) + y * m.get(Matrix.I21) + m31;
+        point[1] = x * m.get(Matrix.I12) + y * m.get(Matrix.I22) + m32;
+        point[2] = x * m.get(Matrix.I13) + y * m.get(Matrix.I23) + m33;
+    }
+}
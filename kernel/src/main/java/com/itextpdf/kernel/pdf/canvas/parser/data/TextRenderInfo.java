@@ -104,16 +104,7 @@ public class TextRenderInfo extends AbstractRenderInfo {
     public String getText() {
         checkGraphicsState();
         if (text == null) {
-            GlyphLine gl = gs.getFont().decodeIntoGlyphLine(string);
-            if (!isReversedChars()) {
-                text = gl.toUnicodeString(gl.start, gl.end);
-            } else {
-                StringBuilder sb = new StringBuilder(gl.end - gl.start);
-                for (int i = gl.end - 1; i >= gl.start; i--) {
-                    sb.append(gl.get(i).getUnicodeChars());
-                }
-                text = sb.toString();
-            }
+            text = decodeText(string);
         }
         return text;
     }
@@ -266,6 +257,42 @@ public class TextRenderInfo extends AbstractRenderInfo {
         return rslt;
     }
 
+    /**
+     * Provides the positions of the individual glyphs of the text render operation at once. Unlike
+     * {@link #getCharacterRenderInfos()}, no {@link TextRenderInfo}, {@link Matrix} or {@link LineSegment}
+     * objects are created per glyph: the glyph data is kept in primitive arrays and the positions are
+     * calculated from a single transformation.
+     *
+     * @return the {@link GlyphRunInfo} describing the glyphs used in the draw operation
+     */
+    public GlyphRunInfo getGlyphRun() {
+        checkGraphicsState();
+        PdfString[] strings = splitString(string);
+        int[] codes = new int[strings.length];
+        int[] unicodeOffsets = new int[strings.length + 1];
+        float[] startOffsets = new float[strings.length];
+        float[] advances = new float[strings.length];
+        float[] widths = new float[strings.length];
+        StringBuilder unicode = new StringBuilder(strings.length);
+        float totalWidth = 0;
+        for (int i = 0; i < strings.length; i++) {
+            PdfString str = strings[i];
+            codes[i] = getCharCode(str.getValueBytes());
+            unicode.append(decodeText(str));
+            unicodeOffsets[i + 1] = unicode.length();
+            float[] widthAndWordSpacing = getWidthAndWordSpacing(str);
+            startOffsets[i] = totalWidth;
+            advances[i] = (widthAndWordSpacing[0] * gs.getFontSize() + gs.getCharSpacing() + widthAndWordSpacing[1])
+                    * (gs.getHorizontalScaling() / 100f);
+            totalWidth += advances[i];
+            widths[i] = getCorrectedUnscaledWidth(str, getPdfStringWidth(str, false));
+        }
+        float[] ascentDescent = getAscentDescent();
+        return new GlyphRunInfo(this, strings, codes, unicode.toString(), unicodeOffsets, startOffsets, advances,
+                widths, textToUserSpaceTransformMatrix, gs.getTextRise(), ascentDescent[0], ascentDescent[1],
+                getUnscaledFontSpaceWidth());
+    }
+
     /**
      * @return The width, in user space units, of a single space character in the current font
      */
@@ -400,16 +427,34 @@ public class TextRenderInfo extends AbstractRenderInfo {
         return unscaledWidth;
     }
 
+    /**
+     * Creates the render info of a single glyph of this text render operation.
+     *
+     * @param str              the content of the glyph
+     * @param horizontalOffset the unscaled horizontal offset of the glyph
+     * @return the render info of the glyph
+     */
+    TextRenderInfo createCharacterRenderInfo(PdfString str, float horizontalOffset) {
+        checkGraphicsState();
+        TextRenderInfo subInfo = new TextRenderInfo(this, str, horizontalOffset);
+        subInfo.getUnscaledWidth();
+        return subInfo;
+    }
+
     private LineSegment getUnscaledBaselineWithOffset(float yOffset) {
         checkGraphicsState();
+        float correctedUnscaledWidth = getCorrectedUnscaledWidth(string, getUnscaledWidth());
+
+        return new LineSegment(new Vector(0, yOffset, 1), new Vector(correctedUnscaledWidth, yOffset, 1));
+    }
+
+    private float getCorrectedUnscaledWidth(PdfString string, float unscaledWidth) {
         // we need to correct the width so we don't have an extra character and word spaces at the end.  The extra character and word spaces
         // are important for tracking relative text coordinate systems, but should not be part of the baseline
         String unicodeStr = string.toUnicodeString();
 
-        float correctedUnscaledWidth = getUnscaledWidth() - (gs.getCharSpacing() +
+        return unscaledWidth - (gs.getCharSpacing() +
                 (unicodeStr.length() > 0 && unicodeStr.charAt(unicodeStr.length() - 1) == ' ' ? gs.getWordSpacing() : 0)) * (gs.getHorizontalScaling() / 100f);
-
-        return new LineSegment(new Vector(0, yOffset, 1), new Vector(correctedUnscaledWidth, yOffset, 1));
     }
 
     /**
@@ -485,6 +530,33 @@ public class TextRenderInfo extends AbstractRenderInfo {
         };
     }
 
+    private String decodeText(PdfString string) {
+        GlyphLine gl = gs.getFont().decodeIntoGlyphLine(string);
+        if (!isReversedChars()) {
+            return gl.toUnicodeString(gl.start, gl.end);
+        } else {
+            StringBuilder sb = new StringBuilder(gl.end - gl.start);
+            for (int i = gl.end - 1; i >= gl.start; i--) {
+                sb.append(gl.get(i).getUnicodeChars());
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Converts the bytes of a single character string to char code.
+     *
+     * @param bytes the bytes of the character in the content stream
+     * @return char code.
+     */
+    private static int getCharCode(byte[] bytes) {
+        int value = 0;
+        for (byte b : bytes) {
+            value = (value << 8) | (b & 0xff);
+        }
+        return value;
+    }
+
     /**
      * Converts a single character string to char code.
      *
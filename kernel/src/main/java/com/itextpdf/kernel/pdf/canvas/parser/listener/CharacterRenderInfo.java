@@ -25,6 +25,7 @@ package com.itextpdf.kernel.pdf.canvas.parser.listener;
 import com.itextpdf.kernel.geom.LineSegment;
 import com.itextpdf.kernel.geom.Point;
 import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.canvas.parser.data.GlyphRunInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 
 import java.util.ArrayList;
@@ -99,6 +100,18 @@ public class CharacterRenderInfo extends TextChunk {
         this.boundingBox = Rectangle.calculateBBox(points);
     }
 
+    /**
+     * Creates the character render info of a single glyph of a glyph run, which is the same as the one
+     * created for the corresponding character render info of the parent {@link TextRenderInfo}.
+     *
+     * @param glyphRun the glyph run
+     * @param index    the index of the glyph in the run
+     */
+    CharacterRenderInfo(GlyphRunInfo glyphRun, int index) {
+        super(glyphRun.getText(index), getLocation(glyphRun, index));
+        this.boundingBox = glyphRun.getBoundingBox(index);
+    }
+
     public Rectangle getBoundingBox() {
         return boundingBox;
     }
@@ -110,6 +123,13 @@ public class CharacterRenderInfo extends TextChunk {
                 tri.getSingleSpaceWidth());
     }
 
+    private static ITextChunkLocation getLocation(GlyphRunInfo glyphRun, int index) {
+        LineSegment baseline = glyphRun.getBaseline(index);
+        return new TextChunkLocationDefaultImp(baseline.getStartPoint(),
+                baseline.getEndPoint(),
+                glyphRun.getSingleSpaceWidth(index));
+    }
+
     static class StringConversionInfo {
         Map<Integer, Integer> indexMap;
         String text;
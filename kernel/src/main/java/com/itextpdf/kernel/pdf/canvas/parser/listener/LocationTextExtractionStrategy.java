@@ -115,12 +115,7 @@ public class LocationTextExtractionStrategy implements ITextExtractionStrategy {
     public void eventOccurred(IEventData data, EventType type) {
         if (type.equals(EventType.RENDER_TEXT)) {
             TextRenderInfo renderInfo = (TextRenderInfo) data;
-            LineSegment segment = renderInfo.getBaseline();
-            if (renderInfo.getRise() != 0) {
-                // remove the rise from the baseline - we do this because the text from a super/subscript render operations should probably be considered as part of the baseline of the text the super/sub is relative to
-                Matrix riseOffsetTransform = new Matrix(0, -renderInfo.getRise());
-                segment = segment.transformBy(riseOffsetTransform);
-            }
+            LineSegment segment = getBaselineWithoutRise(renderInfo);
 
             if (useActualText) {
                 CanvasTag lastTagWithActualText = lastTextRenderInfo != null
@@ -315,6 +310,22 @@ public class LocationTextExtractionStrategy implements ITextExtractionStrategy {
         }
     }
 
+    /**
+     * Gets the baseline of the text render operation without the rise.
+     *
+     * @param renderInfo the text render info
+     * @return the baseline which the text is considered to be placed on
+     */
+    static LineSegment getBaselineWithoutRise(TextRenderInfo renderInfo) {
+        LineSegment segment = renderInfo.getBaseline();
+        if (renderInfo.getRise() != 0) {
+            // remove the rise from the baseline - we do this because the text from a super/subscript render operations should probably be considered as part of the baseline of the text the super/sub is relative to
+            Matrix riseOffsetTransform = new Matrix(0, -renderInfo.getRise());
+            segment = segment.transformBy(riseOffsetTransform);
+        }
+        return segment;
+    }
+
     public interface ITextChunkLocationStrategy {
         ITextChunkLocation createLocation(TextRenderInfo renderInfo, LineSegment baseline);
     }
@@ -324,7 +335,7 @@ public class LocationTextExtractionStrategy implements ITextExtractionStrategy {
         List<TextChunk> succeeding = new ArrayList<>();
     }
 
-    private static final class ITextChunkLocationStrategyImpl 
+    static final class ITextChunkLocationStrategyImpl 
             implements LocationTextExtractionStrategy.ITextChunkLocationStrategy {
 
         @Override
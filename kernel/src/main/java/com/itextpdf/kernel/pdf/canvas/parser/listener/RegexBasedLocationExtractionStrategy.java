@@ -25,6 +25,7 @@ package com.itextpdf.kernel.pdf.canvas.parser.listener;
 import com.itextpdf.kernel.colors.Color;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.data.GlyphRunInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 
@@ -125,9 +126,11 @@ public class RegexBasedLocationExtractionStrategy implements ILocationExtraction
      * @return a list of {@link CharacterRenderInfo}s which represents the passed {@link TextRenderInfo} ?
      */
     protected List<CharacterRenderInfo> toCRI(TextRenderInfo tri) {
-        List<CharacterRenderInfo> cris = new ArrayList<>();
-        for (TextRenderInfo subTri : tri.getCharacterRenderInfos()) {
-            cris.add(new CharacterRenderInfo(subTri));
+        // the glyph run gives the same geometry as the character render infos without creating them
+        GlyphRunInfo glyphRun = tri.getGlyphRun();
+        List<CharacterRenderInfo> cris = new ArrayList<>(glyphRun.getLength());
+        for (int i = 0; i < glyphRun.getLength(); i++) {
+            cris.add(new CharacterRenderInfo(glyphRun, i));
         }
         return cris;
     }
@@ -0,0 +1,298 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.geom.LineSegment;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A text extraction strategy which reconstructs the text layout like {@link LocationTextExtractionStrategy},
+ * but is designed for pages with a huge amount of text chunks.
+ * <p>
+ * The chunks are put into baseline bands as the events arrive: the bands are indexed by the orientation and
+ * the perpendicular distance of the baseline, so only the chunks of a single line are ever sorted, and the bands
+ * which are already in order are not sorted at all. The text can be written to a {@link Writer} instead of
+ * being accumulated in memory.
+ * <p>
+ * By default, the order of the text is the same as the one produced by {@link LocationTextExtractionStrategy},
+ * except that diacritical marks are not attached to their base characters but are ordered by their own position.
+ * If the number of buffered chunks is limited with {@link #setMaxBufferedChunks(int)}, the leading lines are
+ * written out as soon as the limit is exceeded. This caps the memory consumption, but the text which arrives
+ * later for the lines which are already written out is written after them, so the order becomes approximate.
+ */
+public class StreamingLocationTextExtractionStrategy implements ITextExtractionStrategy {
+
+    private final LocationTextExtractionStrategy.ITextChunkLocationStrategy tclStrat;
+
+    private final Writer writer;
+
+    private final StringBuilder result;
+
+    /**
+     * The bands of the buffered chunks, keyed by the orientation and the perpendicular distance of the baseline.
+     */
+    private final TreeMap<Long, TextBand> bands = new TreeMap<>();
+
+    private int bufferedChunks;
+
+    private int maxBufferedChunks = Integer.MAX_VALUE;
+
+    private boolean rightToLeftRunDirection = false;
+
+    private TextChunk lastChunk;
+
+    private final Comparator<TextChunk> parallelPositionComparator = new Comparator<TextChunk>() {
+        @Override
+        public int compare(TextChunk first, TextChunk second) {
+            return Float.compare(getParallelPosition(first.getLocation()), getParallelPosition(second.getLocation()));
+        }
+    };
+
+    /**
+     * Creates a new text extraction strategy which accumulates the text in memory.
+     */
+    public StreamingLocationTextExtractionStrategy() {
+        this((Writer) null);
+    }
+
+    /**
+     * Creates a new text extraction strategy which writes the text to the specified writer.
+     *
+     * @param writer the writer to write the text to, or {@code null} to accumulate the text in memory
+     */
+    public StreamingLocationTextExtractionStrategy(Writer writer) {
+        this(writer, new LocationTextExtractionStrategy.ITextChunkLocationStrategyImpl());
+    }
+
+    /**
+     * Creates a new text extraction strategy which writes the text to the specified writer, with a custom
+     * strategy for creating new TextChunkLocation objects based on the input of the TextRenderInfo.
+     *
+     * @param writer the writer to write the text to, or {@code null} to accumulate the text in memory
+     * @param strat  the custom strategy
+     */
+    public StreamingLocationTextExtractionStrategy(Writer writer,
+            LocationTextExtractionStrategy.ITextChunkLocationStrategy strat) {
+        this.writer = writer;
+        this.result = writer == null ? new StringBuilder() : null;
+        this.tclStrat = strat;
+    }
+
+    /**
+     * Sets if text flows from left to right or from right to left.
+     * Call this method with <code>true</code> argument for extracting Arabic, Hebrew or other
+     * text with right-to-left writing direction.
+     *
+     * @param rightToLeftRunDirection value specifying whether the direction should be right to left
+     * @return this object
+     */
+    public StreamingLocationTextExtractionStrategy setRightToLeftRunDirection(boolean rightToLeftRunDirection) {
+        this.rightToLeftRunDirection = rightToLeftRunDirection;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of the text chunks which are kept in memory. When the limit is exceeded, the
+     * leading lines are written out until at most a half of the limit is buffered, which makes the order of
+     * the text approximate: the chunks which arrive later for the lines which are already written out are
+     * written in the next portion of lines. By default, the number of buffered chunks is not limited.
+     *
+     * @param maxBufferedChunks the maximum number of buffered chunks, must be positive
+     * @return this object
+     */
+    public StreamingLocationTextExtractionStrategy setMaxBufferedChunks(int maxBufferedChunks) {
+        if (maxBufferedChunks <= 0) {
+            throw new IllegalArgumentException("maxBufferedChunks");
+        }
+        this.maxBufferedChunks = maxBufferedChunks;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of the text chunks which are kept in memory.
+     *
+     * @return the maximum number of buffered chunks
+     * @see #setMaxBufferedChunks(int)
+     */
+    public int getMaxBufferedChunks() {
+        return maxBufferedChunks;
+    }
+
+    @Override
+    public void eventOccurred(IEventData data, EventType type) {
+        if (type.equals(EventType.RENDER_TEXT)) {
+            TextRenderInfo renderInfo = (TextRenderInfo) data;
+            LineSegment segment = LocationTextExtractionStrategy.getBaselineWithoutRise(renderInfo);
+            addChunk(new TextChunk(renderInfo.getText(), tclStrat.createLocation(renderInfo, segment)));
+        }
+    }
+
+    @Override
+    public Set<EventType> getSupportedEvents() {
+        return Collections.singleton(EventType.RENDER_TEXT);
+    }
+
+    /**
+     * Writes out all the buffered text. If the strategy accumulates the text in memory, the whole text extracted
+     * so far is returned, otherwise the text is written to the writer, the writer is flushed and an empty string
+     * is returned.
+     *
+     * @return the text extracted so far, or an empty string if the text is written to a writer
+     */
+    @Override
+    public String getResultantText() {
+        writeBands(0);
+        if (writer == null) {
+            return result.toString();
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, e);
+        }
+        return "";
+    }
+
+    /**
+     * Determines if a space character should be inserted between a previous chunk and the current chunk.
+     *
+     * @param chunk         the new chunk being evaluated
+     * @param previousChunk the chunk that appeared immediately before the current chunk
+     * @return true if the two chunks represent different words (i.e. should have a space between them).  False otherwise.
+     * @see LocationTextExtractionStrategy#isChunkAtWordBoundary(TextChunk, TextChunk)
+     */
+    protected boolean isChunkAtWordBoundary(TextChunk chunk, TextChunk previousChunk) {
+        return chunk.getLocation().isAtWordBoundary(previousChunk.getLocation());
+    }
+
+    private void addChunk(TextChunk chunk) {
+        ITextChunkLocation location = chunk.getLocation();
+        Long key = ((long) location.orientationMagnitude() << 32) + location.distPerpendicular();
+        TextBand band = bands.get(key);
+        if (band == null) {
+            band = new TextBand();
+            bands.put(key, band);
+        }
+        band.add(chunk, getParallelPosition(location));
+        if (++bufferedChunks > maxBufferedChunks) {
+            writeBands(maxBufferedChunks / 2);
+        }
+    }
+
+    /**
+     * Writes out the leading bands until at most the specified number of chunks is buffered.
+     */
+    private void writeBands(int chunksToKeep) {
+        try {
+            Iterator<Map.Entry<Long, TextBand>> iterator = bands.entrySet().iterator();
+            while (bufferedChunks > chunksToKeep && iterator.hasNext()) {
+                TextBand band = iterator.next().getValue();
+                iterator.remove();
+                bufferedChunks -= band.chunks.size();
+                for (TextChunk chunk : band.getSortedChunks(parallelPositionComparator)) {
+                    writeChunk(chunk);
+                }
+            }
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, e);
+        }
+    }
+
+    private void writeChunk(TextChunk chunk) throws IOException {
+        if (lastChunk != null) {
+            if (chunk.sameLine(lastChunk)) {
+                // we only insert a blank space if the trailing character of the previous string wasn't a space,
+                // and the leading character of the current string isn't a space
+                if (isChunkAtWordBoundary(chunk, lastChunk) && !startsWithSpace(chunk.text)
+                        && !endsWithSpace(lastChunk.text)) {
+                    append(" ");
+                }
+            } else {
+                append("\n");
+            }
+        }
+        append(chunk.text);
+        lastChunk = chunk;
+    }
+
+    private void append(String text) throws IOException {
+        if (writer == null) {
+            result.append(text);
+        } else {
+            writer.write(text);
+        }
+    }
+
+    private float getParallelPosition(ITextChunkLocation location) {
+        return rightToLeftRunDirection ? -location.distParallelEnd() : location.distParallelStart();
+    }
+
+    private static boolean startsWithSpace(String str) {
+        return str.length() != 0 && str.charAt(0) == ' ';
+    }
+
+    private static boolean endsWithSpace(String str) {
+        return str.length() != 0 && str.charAt(str.length() - 1) == ' ';
+    }
+
+    /**
+     * The chunks which share the same baseline, in the order of their arrival.
+     */
+    private static final class TextBand {
+        private final List<TextChunk> chunks = new ArrayList<>();
+        private float lastPosition;
+        private boolean sorted = true;
+
+        void add(TextChunk chunk, float position) {
+            if (!chunks.isEmpty() && Float.compare(lastPosition, position) > 0) {
+                sorted = false;
+            }
+            chunks.add(chunk);
+            lastPosition = position;
+        }
+
+        List<TextChunk> getSortedChunks(Comparator<TextChunk> comparator) {
+            if (!sorted) {
+                // the sort is stable, so the chunks with the same position keep the order of their arrival
+                Collections.sort(chunks, comparator);
+                sorted = true;
+            }
+            return chunks;
+        }
+    }
+}
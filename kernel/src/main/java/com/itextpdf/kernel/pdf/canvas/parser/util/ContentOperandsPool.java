@@ -0,0 +1,134 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.util;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfNumber;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the operand objects which {@link PdfCanvasParser} reuses instead of creating new ones for every parsed
+ * command.
+ * <p>
+ * Numbers are taken from a pool of {@link PdfNumber} instances, which are handed out again after the next
+ * {@link PdfCanvasParser#parse(List)} call, so the parsed numbers shall be copied if they need to be kept after
+ * the command is processed. Operators are interned: the same {@link PdfLiteral} instance is returned for all
+ * the occurrences of an operator, and it shall not be modified.
+ * <p>
+ * A pool shall not be shared between the parsers which are used at the same time.
+ */
+public class ContentOperandsPool {
+
+    /**
+     * The maximum number of interned operators, which prevents unbounded growth on broken content streams.
+     */
+    private static final int MAX_INTERNED_OPERATORS = 256;
+
+    private final List<PdfNumber> numbers = new ArrayList<>();
+    private int usedNumbers;
+
+    private byte[][] operatorKeys = new byte[128][];
+    private int[] operatorHashes = new int[128];
+    private PdfLiteral[] operators = new PdfLiteral[128];
+    private int operatorsCount;
+
+    /**
+     * Gets a number with the specified value.
+     *
+     * @param value the value of the number
+     * @return a pooled {@link PdfNumber} instance which is valid until the pool is reset
+     */
+    public PdfNumber getNumber(double value) {
+        PdfNumber number;
+        if (usedNumbers < numbers.size()) {
+            number = numbers.get(usedNumbers);
+            number.setValue(value);
+        } else {
+            number = new PdfNumber(value);
+            numbers.add(number);
+        }
+        ++usedNumbers;
+        return number;
+    }
+
+    /**
+     * Gets the interned operator which is equal to the current token of the tokenizer.
+     *
+     * @param tokeniser the tokenizer positioned at the operator token
+     * @return the interned {@link PdfLiteral} for the operator
+     */
+    public PdfLiteral getOperator(PdfTokenizer tokeniser) {
+        int hash = tokeniser.getByteContentHashCode();
+        int mask = operators.length - 1;
+        int index = hash & mask;
+        while (operators[index] != null) {
+            if (operatorHashes[index] == hash && tokeniser.tokenValueEqualsTo(operatorKeys[index])) {
+                return operators[index];
+            }
+            index = (index + 1) & mask;
+        }
+        byte[] key = tokeniser.getByteContent();
+        PdfLiteral operator = new PdfLiteral(key);
+        if (operatorsCount < MAX_INTERNED_OPERATORS) {
+            operatorKeys[index] = key;
+            operatorHashes[index] = hash;
+            operators[index] = operator;
+            if (++operatorsCount * 2 > operators.length) {
+                growOperators();
+            }
+        }
+        return operator;
+    }
+
+    /**
+     * Makes all the pooled numbers available again. Called by {@link PdfCanvasParser} before parsing
+     * the next command.
+     */
+    public void reset() {
+        usedNumbers = 0;
+    }
+
+    private void growOperators() {
+        byte[][] oldKeys = operatorKeys;
+        int[] oldHashes = operatorHashes;
+        PdfLiteral[] oldOperators = operators;
+        operatorKeys = new byte[oldOperators.length * 2][];
+        operatorHashes = new int[oldOperators.length * 2];
+        operators = new PdfLiteral[oldOperators.length * 2];
+        int mask = operators.length - 1;
+        for (int i = 0; i < oldOperators.length; i++) {
+            if (oldOperators[i] != null) {
+                int index = oldHashes[i] & mask;
+                while (operators[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                operatorKeys[index] = oldKeys[i];
+                operatorHashes[index] = oldHashes[i];
+                operators[index] = oldOperators[i];
+            }
+        }
+    }
+}
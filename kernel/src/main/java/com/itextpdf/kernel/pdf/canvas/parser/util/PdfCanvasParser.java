@@ -24,6 +24,7 @@ package com.itextpdf.kernel.pdf.canvas.parser.util;
 
 import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.pdf.PdfArray;
@@ -46,6 +47,8 @@ import java.util.List;
  */
 public class PdfCanvasParser {
 
+    private static final byte[] BEGIN_INLINE_IMAGE = ByteUtils.getIsoBytes("BI");
+
     /**
      * Holds value of property tokeniser.
      */
@@ -53,6 +56,8 @@ public class PdfCanvasParser {
 
     private PdfResources currentResources;
 
+    private ContentOperandsPool operandsPool;
+
     /**
      * Creates a new instance of PdfContentParser
      * @param tokeniser the tokeniser with the content
@@ -73,6 +78,23 @@ public class PdfCanvasParser {
         this.currentResources = currentResources;
     }
 
+    /**
+     * Creates a new instance of PdfContentParser which reuses the operand objects.
+     * <p>
+     * The numbers of the parsed commands are taken from the pool and are valid only until the next
+     * {@link #parse(List)} call, the operators are interned. Numbers and operators nested in arrays and
+     * dictionaries, as well as the other operands, are created anew.
+     * @param tokeniser the tokeniser with the content
+     * @param currentResources current resources of the content stream.
+     *                         It is optional parameter, which is used for performance improvements of specific cases of
+     *                         inline images parsing.
+     * @param operandsPool the pool of the operand objects to reuse
+     */
+    public PdfCanvasParser(PdfTokenizer tokeniser, PdfResources currentResources, ContentOperandsPool operandsPool) {
+        this(tokeniser, currentResources);
+        this.operandsPool = operandsPool;
+    }
+
     /**
      * Parses a single command from the content. Each command is output as an array of arguments
      * having the command itself as the last element. The returned array will be empty if the
@@ -92,11 +114,13 @@ public class PdfCanvasParser {
             ls = new ArrayList<>();
         else
             ls.clear();
+        if (operandsPool != null)
+            operandsPool.reset();
         PdfObject ob = null;
-        while ((ob = readObject()) != null) {
+        while ((ob = readOperand()) != null) {
             ls.add(ob);
             if (tokeniser.getTokenType() == PdfTokenizer.TokenType.Other) {
-                if ("BI".equals(ob.toString())) {
+                if (tokeniser.tokenValueEqualsTo(BEGIN_INLINE_IMAGE)) {
                     PdfStream inlineImageAsStream = InlineImageParsingUtils.parse(this, currentResources.getResource(PdfName.ColorSpace));
                     ls.clear();
                     ls.add(inlineImageAsStream);
@@ -174,6 +198,35 @@ public class PdfCanvasParser {
     public PdfObject readObject() throws IOException {
         if (!nextValidToken())
             return null;
+        return readCurrentObject();
+    }
+
+    /**
+     * Reads the next operand or operator of a command, taking numbers and operators from the pool if it's set.
+     * @return the pdf object
+     * @throws IOException on error
+     */
+    private PdfObject readOperand() throws IOException {
+        if (operandsPool == null)
+            return readObject();
+        if (!nextValidToken())
+            return null;
+        switch (tokeniser.getTokenType()) {
+            case Number:
+                double value = tokeniser.getDoubleValue();
+                if (Double.isNaN(value)) {
+                    // keep the content of the invalid number as is
+                    return new PdfNumber(tokeniser.getByteContent());
+                }
+                return operandsPool.getNumber(value);
+            case Other:
+                return operandsPool.getOperator(tokeniser);
+            default:
+                return readCurrentObject();
+        }
+    }
+
+    private PdfObject readCurrentObject() throws IOException {
         final PdfTokenizer.TokenType type = tokeniser.getTokenType();
         switch (type) {
             case StartDic: {
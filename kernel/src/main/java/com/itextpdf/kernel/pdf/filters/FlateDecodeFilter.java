@@ -22,10 +22,12 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.io.util.ZlibPool;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.exceptions.MemoryLimitsAwareException;
 import com.itextpdf.kernel.pdf.MemoryLimitsAwareFilter;
+import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfNumber;
@@ -35,6 +37,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
 
 /**
@@ -42,6 +46,22 @@ import java.util.zip.InflaterInputStream;
  */
 public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
 
+    /**
+     * Deflate can not compress data better than approximately 1032:1, so the bigger decoded length hints are
+     * not trusted.
+     */
+    private static final int MAX_COMPRESSION_RATIO = 1032;
+
+    /**
+     * The output buffer is never presized beyond this length, as the hint may be wrong and the memory limits aware
+     * handler does not track every stream. If the decoded data is longer, the buffer grows as needed.
+     */
+    private static final int MAX_PRESIZED_LENGTH = 1 << 20;
+
+    private static final int MAX_INFLATE_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MIN_INFLATE_BUFFER_SIZE = 512;
+
     /**
      * A helper to flateDecode.
      *
@@ -177,7 +197,7 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
      */
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
-        ByteArrayOutputStream outputStream = enableMemoryLimitsAwareHandler(streamDictionary);
+        ByteArrayOutputStream outputStream = createDecodedDataOutputStream(b, streamDictionary);
         byte[] res = flateDecodeInternal(b, true, outputStream);
         if (res == null) {
             outputStream.reset();
@@ -196,6 +216,9 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
      * @return the decoded data
      */
     protected static byte[] flateDecodeInternal(byte[] in, boolean strict, ByteArrayOutputStream out) {
+        if (strict) {
+            return inflate(in, out);
+        }
         ByteArrayInputStream stream = new ByteArrayInputStream(in);
         InflaterInputStream zip = new InflaterInputStream(stream);
         byte[] b = new byte[strict ? 4092 : 1];
@@ -217,6 +240,90 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
         }
     }
 
+    /**
+     * Gets the expected length of the decoded data from the /DL entry of the stream dictionary. /DL is the length
+     * of the data decoded by the whole filter chain, so it is used only if FlateDecode is the only filter of
+     * the stream or the last one. The hint is ignored if the encoded data can not be decompressed to that length.
+     *
+     * @param in               the encoded data
+     * @param streamDictionary the dictionary of the decoded stream
+     * @return the expected length of the decoded data, limited by {@link #MAX_PRESIZED_LENGTH}, or -1 if it is
+     * not known
+     */
+    static int getDecodedLengthHint(byte[] in, PdfDictionary streamDictionary) {
+        PdfObject decodedLength = streamDictionary.get(PdfName.DL);
+        if (decodedLength == null || decodedLength.getType() != PdfObject.NUMBER
+                || ((PdfNumber) decodedLength).longValue() <= 0 || !isOnlyOrLastFlateFilter(streamDictionary)) {
+            return -1;
+        }
+        long length = ((PdfNumber) decodedLength).longValue();
+        if (length > (long) in.length * MAX_COMPRESSION_RATIO) {
+            return -1;
+        }
+        return (int) Math.min(length, MAX_PRESIZED_LENGTH);
+    }
+
+    /**
+     * Creates the output stream for the decoded data, which is pre-sized if the length of the decoded data is known.
+     *
+     * @param in               the encoded data
+     * @param streamDictionary the dictionary of the decoded stream
+     * @return the output stream for the decoded data
+     */
+    ByteArrayOutputStream createDecodedDataOutputStream(byte[] in, PdfDictionary streamDictionary) {
+        int decodedLengthHint = getDecodedLengthHint(in, streamDictionary);
+        return decodedLengthHint > 0 ? enableMemoryLimitsAwareHandler(streamDictionary, decodedLengthHint)
+                : enableMemoryLimitsAwareHandler(streamDictionary);
+    }
+
+    private static boolean isOnlyOrLastFlateFilter(PdfDictionary streamDictionary) {
+        PdfObject filter = streamDictionary.get(PdfName.Filter);
+        if (filter == null || filter.getType() != PdfObject.ARRAY) {
+            return true;
+        }
+        PdfArray filters = (PdfArray) filter;
+        for (int i = 0; i < filters.size(); i++) {
+            boolean isFlateFilter = PdfName.FlateDecode.equals(filters.get(i)) || PdfName.Fl.equals(filters.get(i));
+            // the data decoded by one of several FlateDecode filters is not necessarily the final one
+            if (isFlateFilter != (i == filters.size() - 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Inflates the correct stream. The data is inflated straight from the input array, without intermediate
+     * input streams, by the inflater from {@link ZlibPool#getDefault()}, which is returned to the pool as soon
+     * as the data is inflated.
+     *
+     * @param in  the input data
+     * @param out the out stream which will be used to write the bytes
+     * @return the decoded data or {@code null} if the stream is corrupted
+     */
+    private static byte[] inflate(byte[] in, ByteArrayOutputStream out) {
+        Inflater inflater = ZlibPool.getDefault().acquireInflater();
+        try {
+            inflater.setInput(in);
+            long bufferSize = Math.max((long) in.length * 4, MIN_INFLATE_BUFFER_SIZE);
+            byte[] buffer = new byte[(int) Math.min(bufferSize, MAX_INFLATE_BUFFER_SIZE)];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n > 0) {
+                    out.write(buffer, 0, n);
+                } else if (inflater.needsInput() || inflater.needsDictionary()) {
+                    // unexpected end of the data or a preset dictionary, which InflaterInputStream doesn't support
+                    return null;
+                }
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            return null;
+        } finally {
+            ZlibPool.getDefault().releaseInflater(inflater);
+        }
+    }
+
     private static int getNumberOrDefault(PdfDictionary dict, PdfName key, int defaultInt) {
         int result = defaultInt;
         final PdfObject obj = dict.get(key);
@@ -38,7 +38,7 @@ public class FlateDecodeStrictFilter extends FlateDecodeFilter {
      */
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
-        ByteArrayOutputStream outputStream = enableMemoryLimitsAwareHandler(streamDictionary);
+        ByteArrayOutputStream outputStream = createDecodedDataOutputStream(b, streamDictionary);
         byte[] res = flateDecode(b, outputStream);
         b = decodePredictor(res, decodeParams);
         return b;
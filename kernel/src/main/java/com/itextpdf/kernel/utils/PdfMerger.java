@@ -22,14 +22,35 @@
  */
 package com.itextpdf.kernel.utils;
 
+import com.itextpdf.commons.utils.DaemonThreadFactory;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 
 public class PdfMerger {
 
+    private static final int MAX_READ_AHEAD_DOCUMENTS_PER_THREAD = 2;
+
     private PdfDocument pdfDocument;
     private boolean closeSrcDocuments;
     private boolean mergeTags;
@@ -109,20 +130,72 @@ public class PdfMerger {
      * @return this {@code PdfMerger} instance
      */
     public PdfMerger merge(PdfDocument from, List<Integer> pages) {
-        if (mergeTags && from.isTagged()) {
-            pdfDocument.setTagged();
-        }
-        if (mergeOutlines && from.hasOutlines()) {
-            pdfDocument.initializeOutlines();
-        }
-
-        from.copyPagesTo(pages, pdfDocument);
+        copyPages(from, pages);
         if (closeSrcDocuments) {
             from.close();
         }
         return this;
     }
 
+    /**
+     * This method merges all pages of the source documents to the current one, in the order of the list.
+     * <p>
+     * Source documents are opened and read by a bounded pool of worker threads while the pages of the previous
+     * documents are being merged: the objects of their pages, as well as their structure tree and outlines if
+     * they are going to be merged, are parsed in advance. Pages are copied to the current document on the calling
+     * thread only and strictly in order, hence the result is the same as if the documents were merged one by one.
+     * At most two documents per worker thread are read ahead.
+     * <p>
+     * Source documents are created by the passed tasks and closed as soon as their pages are merged,
+     * regardless of the <i>closeSourceDocuments</i> flag. Tasks shall not share any objects with each other
+     * or with the current document, as they are executed concurrently.
+     *
+     * @param sources - tasks which open the source documents, e.g. by creating {@code PdfDocument} for a file
+     * @param parallelism - the number of worker threads which read the source documents
+     * @return this {@code PdfMerger} instance
+     */
+    public PdfMerger merge(List<? extends Callable<PdfDocument>> sources, int parallelism) {
+        int threadsCount = Math.max(parallelism, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(threadsCount, new DaemonThreadFactory("itext-merger-reader"));
+        Deque<Future<PdfDocument>> pendingDocuments = new ArrayDeque<>();
+        Iterator<? extends Callable<PdfDocument>> iterator = sources.iterator();
+        try {
+            while (pendingDocuments.size() < threadsCount * MAX_READ_AHEAD_DOCUMENTS_PER_THREAD
+                    && iterator.hasNext()) {
+                pendingDocuments.addLast(executor.submit(new SourceReadingTask(iterator.next(), mergeTags,
+                        mergeOutlines)));
+            }
+            while (!pendingDocuments.isEmpty()) {
+                PdfDocument from = getReadDocument(pendingDocuments.removeFirst());
+                if (iterator.hasNext()) {
+                    pendingDocuments.addLast(executor.submit(new SourceReadingTask(iterator.next(), mergeTags,
+                            mergeOutlines)));
+                }
+                try {
+                    List<Integer> pages = new ArrayList<>(from.getNumberOfPages());
+                    for (int pageNum = 1; pageNum <= from.getNumberOfPages(); pageNum++) {
+                        pages.add(pageNum);
+                    }
+                    copyPages(from, pages);
+                } finally {
+                    from.close();
+                }
+            }
+        } finally {
+            if (pendingDocuments.isEmpty()) {
+                executor.shutdown();
+            } else {
+                // the merge has failed, the documents which are not read yet are not needed anymore
+                for (Future<PdfDocument> pendingDocument : pendingDocuments) {
+                    pendingDocument.cancel(true);
+                }
+                executor.shutdownNow();
+                closeReadDocuments(pendingDocuments);
+            }
+        }
+        return this;
+    }
+
     /**
      * Closes the current document.
      * <p>
@@ -134,4 +207,131 @@ public class PdfMerger {
     public void close() {
         pdfDocument.close();
     }
+
+    private void copyPages(PdfDocument from, List<Integer> pages) {
+        if (mergeTags && from.isTagged()) {
+            pdfDocument.setTagged();
+        }
+        if (mergeOutlines && from.hasOutlines()) {
+            pdfDocument.initializeOutlines();
+        }
+
+        from.copyPagesTo(pages, pdfDocument);
+    }
+
+    private static void closeReadDocuments(Collection<Future<PdfDocument>> readDocuments) {
+        for (Future<PdfDocument> readDocument : readDocuments) {
+            if (readDocument.isDone() && !readDocument.isCancelled()) {
+                try {
+                    readDocument.get().close();
+                } catch (Exception ignored) {
+                    // the original error is already being thrown
+                }
+            }
+        }
+    }
+
+    private static PdfDocument getReadDocument(Future<PdfDocument> readDocument) {
+        try {
+            return readDocument.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_OPEN_DOCUMENT, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PdfException) {
+                throw (PdfException) e.getCause();
+            }
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_OPEN_DOCUMENT, e.getCause());
+        }
+    }
+
+    /**
+     * Opens the source document and parses the objects which are needed for merging.
+     */
+    private static final class SourceReadingTask implements Callable<PdfDocument> {
+        private final Callable<PdfDocument> source;
+        private final boolean readTags;
+        private final boolean readOutlines;
+
+        SourceReadingTask(Callable<PdfDocument> source, boolean readTags, boolean readOutlines) {
+            this.source = source;
+            this.readTags = readTags;
+            this.readOutlines = readOutlines;
+        }
+
+        @Override
+        public PdfDocument call() throws Exception {
+            PdfDocument document = source.call();
+            boolean isRead = false;
+            try {
+                Set<PdfIndirectReference> readReferences = new HashSet<>();
+                for (int pageNum = 1; pageNum <= document.getNumberOfPages(); pageNum++) {
+                    checkNotCancelled();
+                    readObjects(document.getPage(pageNum).getPdfObject(), readReferences);
+                }
+                PdfDictionary catalog = document.getCatalog().getPdfObject();
+                if (readTags && document.isTagged()) {
+                    readObjects(catalog.get(PdfName.StructTreeRoot, false), readReferences);
+                }
+                if (readOutlines && document.hasOutlines()) {
+                    readObjects(catalog.get(PdfName.Outlines, false), readReferences);
+                }
+                // the result of a cancelled task is dropped, so nobody would close the document
+                checkNotCancelled();
+                isRead = true;
+            } finally {
+                if (!isRead) {
+                    document.close();
+                }
+            }
+            return document;
+        }
+
+        private static void checkNotCancelled() throws InterruptedException {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+        }
+
+        private static void readObjects(PdfObject root, Set<PdfIndirectReference> readReferences) {
+            Deque<PdfObject> objects = new ArrayDeque<>();
+            if (root != null) {
+                objects.push(root);
+            }
+            while (!objects.isEmpty()) {
+                PdfObject object = objects.pop();
+                PdfIndirectReference reference = object.isIndirectReference()
+                        ? (PdfIndirectReference) object : object.getIndirectReference();
+                if (reference != null && !readReferences.add(reference)) {
+                    continue;
+                }
+                if (object.isIndirectReference()) {
+                    object = reference.getRefersTo();
+                    if (object == null) {
+                        continue;
+                    }
+                }
+                if (object.isDictionary() || object.isStream()) {
+                    PdfDictionary dictionary = (PdfDictionary) object;
+                    for (PdfName key : dictionary.keySet()) {
+                        // parents are reached from the top anyway, skipping them prevents reading whole trees
+                        if (!PdfName.Parent.equals(key) && !PdfName.P.equals(key)) {
+                            pushIfNotNull(objects, dictionary.get(key, false));
+                        }
+                    }
+                } else if (object.isArray()) {
+                    PdfArray array = (PdfArray) object;
+                    for (int i = 0; i < array.size(); i++) {
+                        pushIfNotNull(objects, array.get(i, false));
+                    }
+                }
+            }
+        }
+
+        private static void pushIfNotNull(Deque<PdfObject> objects, PdfObject object) {
+            if (object != null) {
+                objects.push(object);
+            }
+        }
+    }
 }
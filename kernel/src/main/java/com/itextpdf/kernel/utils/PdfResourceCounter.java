@@ -129,12 +129,23 @@ public class PdfResourceCounter {
                 continue;
             }
 
-            PdfOutputStream os = new PdfOutputStream(new IdleOutputStream());
-
-            os.write(resources.get(ref).clone());
-            length += os.getCurrentPos();
+            length += getObjectLength(resources.get(ref));
         }
 
         return length;
     }
+
+    /**
+     * Returns the number of bytes needed to write a single object, not counting
+     * the objects it refers to.
+     *
+     * @param obj the object to measure
+     * @return the number of bytes needed for the object
+     */
+    static long getObjectLength(PdfObject obj) {
+        PdfOutputStream os = new PdfOutputStream(new IdleOutputStream());
+
+        os.write(obj.clone());
+        return os.getCurrentPos();
+    }
 }
@@ -27,6 +27,7 @@ import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.commons.actions.contexts.IMetaInfo;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.pdf.DocumentProperties;
+import com.itextpdf.kernel.pdf.PageFlushingHelper;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
@@ -36,11 +37,20 @@ import com.itextpdf.kernel.pdf.PdfWriter;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class PdfSplitter {
 
+    /**
+     * The maximum number of resource lengths which are remembered between the parts
+     * while splitting by size.
+     */
+    private static final int MAX_CACHED_RESOURCE_LENGTHS = 4096;
+
     private PdfDocument pdfDocument;
     private boolean preserveTagged;
     private boolean preserveOutlines;
@@ -100,18 +110,58 @@ public class PdfSplitter {
      * Be warned that these documents are not closed.
      */
     public List<PdfDocument> splitBySize(long size) {
-        List<PageRange> splitRanges = new ArrayList<>();
-        int currentPage = 1;
+        final List<PdfDocument> splitDocuments = new ArrayList<>();
+
+        splitBySize(size, new SplitReadyListener(splitDocuments), false);
+
+        return splitDocuments;
+    }
+
+    /**
+     * Splits the document basing on the given size specified in bytes.
+     * <p>
+     * The pages of the document are walked only once and each resultant document is passed to the listener
+     * as soon as it is complete. The sizes of resources shared between the parts are measured only once.
+     * If the document is opened in reading mode, source pages are released from memory after they are copied
+     * (see {@link PageFlushingHelper#releaseDeep(int)}), so that the memory usage doesn't depend on the number
+     * of pages in the document being split. {@link com.itextpdf.kernel.pdf.PdfPage} instances of the source
+     * document obtained before the call shall not be used afterwards, request them from the document again.
+     *
+     * @param size          <strong>Preferred</strong> size specified in bytes for splitting.
+     * @param documentReady the event listener which is called when another document is ready.
+     *                      You can close this document in this listener, for instance.
+     */
+    public void splitBySize(long size, IDocumentReadyListener documentReady) {
+        // the pages of a document in stamping mode can't be re-read once released
+        splitBySize(size, documentReady, pdfDocument.getWriter() == null);
+    }
+
+    private void splitBySize(long size, IDocumentReadyListener documentReady, boolean releaseCopiedPages) {
+        PdfResourceCounter trailerCounter = new PdfResourceCounter(pdfDocument.getTrailer());
+        SplitPartSize partSize = new SplitPartSize(trailerCounter.getResources().keySet(),
+                trailerCounter.getLength(null));
+        int partStartPage = 1;
         int numOfPages = pdfDocument.getNumberOfPages();
 
-        while (currentPage <= numOfPages) {
-            PageRange nextRange = getNextRange(currentPage, numOfPages, size);
-            splitRanges.add(nextRange);
-            List<Integer> allPages = nextRange.getQualifyingPageNums(numOfPages);
-            currentPage = (int) allPages.get(allPages.size() - 1) + 1;
+        for (int currentPage = 1; currentPage <= numOfPages; currentPage++) {
+            Map<Integer, PdfObject> pageResources =
+                    new PdfResourceCounter(pdfDocument.getPage(currentPage).getPdfObject()).getResources();
+            // the page which causes the oversize starts the next part, unless it is the first page of the part
+            if (currentPage != partStartPage && partSize.getLengthWith(pageResources) > size) {
+                completePart(partStartPage, currentPage - 1, documentReady, releaseCopiedPages);
+                partStartPage = currentPage;
+                partSize.reset();
+            }
+            partSize.add(pageResources);
+            if (partSize.getLength() > size) {
+                completePart(partStartPage, currentPage, documentReady, releaseCopiedPages);
+                partStartPage = currentPage + 1;
+                partSize.reset();
+            }
+        }
+        if (partStartPage <= numOfPages) {
+            completePart(partStartPage, numOfPages, documentReady, releaseCopiedPages);
         }
-
-        return extractPageRanges(splitRanges);
     }
 
     /**
@@ -130,10 +180,7 @@ public class PdfSplitter {
             if (ind == 0 && nextPageNumber == 1)
                 continue;
 
-            PageRange currentPageRange = new PageRange().addPageSequence(currentPageNumber, nextPageNumber - 1);
-            PdfDocument currentDocument = createPdfDocument(currentPageRange);
-            pdfDocument.copyPagesTo(currentPageNumber, nextPageNumber - 1, currentDocument);
-            documentReady.documentReady(currentDocument, currentPageRange);
+            completePart(currentPageNumber, nextPageNumber - 1, documentReady, false);
 
             currentPageNumber = nextPageNumber;
         }
@@ -165,10 +212,7 @@ public class PdfSplitter {
         for (int startPage = 1; startPage <= pdfDocument.getNumberOfPages(); startPage += pageCount) {
             int endPage = Math.min(startPage + pageCount - 1, pdfDocument.getNumberOfPages());
 
-            PageRange currentPageRange = new PageRange().addPageSequence(startPage, endPage);
-            PdfDocument currentDocument = createPdfDocument(currentPageRange);
-            pdfDocument.copyPagesTo(startPage, endPage, currentDocument);
-            documentReady.documentReady(currentDocument, currentPageRange);
+            completePart(startPage, endPage, documentReady, false);
         }
     }
 
@@ -236,6 +280,22 @@ public class PdfSplitter {
         return new PdfWriter(new ByteArrayOutputStream());
     }
 
+    private void completePart(int startPage, int endPage, IDocumentReadyListener documentReady,
+            boolean releaseCopiedPages) {
+        PageRange currentPageRange = new PageRange().addPageSequence(startPage, endPage);
+        PdfDocument currentDocument = createPdfDocument(currentPageRange);
+        pdfDocument.copyPagesTo(startPage, endPage, currentDocument);
+        documentReady.documentReady(currentDocument, currentPageRange);
+
+        if (releaseCopiedPages) {
+            // the pages are not needed anymore, they will be re-read if requested again
+            PageFlushingHelper flushingHelper = new PageFlushingHelper(pdfDocument);
+            for (int pageNum = startPage; pageNum <= endPage; pageNum++) {
+                flushingHelper.releaseDeep(pageNum);
+            }
+        }
+    }
+
     private PdfDocument createPdfDocument(PageRange currentPageRange) {
         PdfDocument newDocument = new PdfDocument(getNextPdfWriter(currentPageRange), new DocumentProperties().setEventCountingMetaInfo(metaInfo));
         if (pdfDocument.isTagged() && preserveTagged)
@@ -352,37 +412,71 @@ public class PdfSplitter {
         return nextPdfOutline;
     }
 
-    private PageRange getNextRange(int startPage, int endPage, long size) {
-        PdfResourceCounter counter = new PdfResourceCounter(pdfDocument.getTrailer());
-        Map<Integer, PdfObject> resources = counter.getResources();
-        // initialize with trailer length
-        long lengthWithoutXref = counter.getLength(null);
-        int currentPage = startPage;
-        boolean oversized = false;
-
-        do {
-            PdfPage page = pdfDocument.getPage(currentPage++);
-            counter = new PdfResourceCounter(page.getPdfObject());
-            lengthWithoutXref += counter.getLength(resources);
-            resources.putAll(counter.getResources());
-
-            if (lengthWithoutXref + xrefLength(resources.size()) > size) {
-                oversized = true;
-            }
-        } while (currentPage <= endPage && !oversized);
+    private static long xrefLength(int size) {
+        return 20L * (size + 1);
+    }
 
-        // true if at least the first page to be copied didn't cause the oversize
-        if (oversized && (currentPage - 1) != startPage) {
-            // we shouldn't copy previous page because it caused
-            // the oversize and it isn't the first page to be copied
-            --currentPage;
+    /**
+     * Tracks the estimated size of the document part being collected while splitting by size.
+     */
+    private static final class SplitPartSize {
+
+        private final Set<Integer> trailerResources;
+        private final long trailerLength;
+        private final Map<Integer, Long> resourceLengths;
+
+        private Set<Integer> resources;
+        private long lengthWithoutXref;
+
+        SplitPartSize(Set<Integer> trailerResources, long trailerLength) {
+            this.trailerResources = new HashSet<>(trailerResources);
+            this.trailerLength = trailerLength;
+            this.resourceLengths = new LinkedHashMap<Integer, Long>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Long> eldest) {
+                    return size() > MAX_CACHED_RESOURCE_LENGTHS;
+                }
+            };
+            reset();
         }
 
-        return new PageRange().addPageSequence(startPage, currentPage - 1);
-    }
+        void reset() {
+            resources = new HashSet<>(trailerResources);
+            lengthWithoutXref = trailerLength;
+        }
 
-    private long xrefLength(int size) {
-        return 20L * (size + 1);
+        long getLength() {
+            return lengthWithoutXref + xrefLength(resources.size());
+        }
+
+        long getLengthWith(Map<Integer, PdfObject> pageResources) {
+            long length = lengthWithoutXref;
+            int resourcesCount = resources.size();
+            for (Map.Entry<Integer, PdfObject> resource : pageResources.entrySet()) {
+                if (!resources.contains(resource.getKey())) {
+                    length += getResourceLength(resource.getKey(), resource.getValue());
+                    ++resourcesCount;
+                }
+            }
+            return length + xrefLength(resourcesCount);
+        }
+
+        void add(Map<Integer, PdfObject> pageResources) {
+            for (Map.Entry<Integer, PdfObject> resource : pageResources.entrySet()) {
+                if (resources.add(resource.getKey())) {
+                    lengthWithoutXref += getResourceLength(resource.getKey(), resource.getValue());
+                }
+            }
+        }
+
+        private long getResourceLength(Integer objNumber, PdfObject resource) {
+            Long length = resourceLengths.get(objNumber);
+            if (length == null) {
+                length = PdfResourceCounter.getObjectLength(resource);
+                resourceLengths.put(objNumber, length);
+            }
+            return (long) length;
+        }
     }
 
     private static final class SplitReadyListener implements IDocumentReadyListener {
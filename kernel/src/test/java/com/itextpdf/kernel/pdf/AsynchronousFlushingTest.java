@@ -0,0 +1,150 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class AsynchronousFlushingTest extends ExtendedITextTest {
+
+    public static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/AsynchronousFlushingTest/";
+
+    private static final int PAGE_COUNT = 300;
+
+    private static final int RECTANGLES_COUNT = 100;
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void asynchronousFlushingTest() throws IOException {
+        String outFile = destinationFolder + "asynchronousFlushing.pdf";
+        createDocument(outFile, new WriterProperties().useAsynchronousFlushing());
+        checkDocument(outFile);
+    }
+
+    @Test
+    public void asynchronousFlushingWithFullCompressionTest() throws IOException {
+        String outFile = destinationFolder + "asynchronousFlushingWithFullCompression.pdf";
+        createDocument(outFile, new WriterProperties().useAsynchronousFlushing().setFullCompressionMode(true));
+        checkDocument(outFile);
+    }
+
+    @Test
+    public void asynchronousFlushingWithCompactXrefTableTest() throws IOException {
+        String outFile = destinationFolder + "asynchronousFlushingWithCompactXrefTable.pdf";
+        createDocument(outFile, new WriterProperties().useAsynchronousFlushing().useCompactXrefTable());
+        checkDocument(outFile);
+    }
+
+    @Test
+    public void asynchronousFlushingSameOffsetsAsSynchronousTest() throws IOException {
+        String synchronousFile = destinationFolder + "synchronousFlushing.pdf";
+        String asynchronousFile = destinationFolder + "asynchronousFlushingOffsets.pdf";
+        createDocument(synchronousFile, new WriterProperties());
+        createDocument(asynchronousFile, new WriterProperties().useAsynchronousFlushing());
+
+        PdfDocument synchronousDoc = new PdfDocument(new PdfReader(synchronousFile));
+        PdfDocument asynchronousDoc = new PdfDocument(new PdfReader(asynchronousFile));
+        Assert.assertEquals(synchronousDoc.getNumberOfPdfObjects(), asynchronousDoc.getNumberOfPdfObjects());
+        for (int i = 1; i < synchronousDoc.getNumberOfPdfObjects(); i++) {
+            Assert.assertEquals(synchronousDoc.getXref().get(i).getOffset(),
+                    asynchronousDoc.getXref().get(i).getOffset());
+        }
+        synchronousDoc.close();
+        asynchronousDoc.close();
+    }
+
+    @Test
+    public void asynchronousFlushingWithInputStreamContentTest() throws IOException {
+        String outFile = destinationFolder + "asynchronousFlushingWithInputStreamContent.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFile,
+                new WriterProperties().useAsynchronousFlushing()));
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            PdfPage page = pdfDocument.addNewPage();
+            new PdfCanvas(page).getContentStream().getOutputStream().writeBytes(createContent(i));
+            PdfStream attachment = new PdfStream(pdfDocument, new ByteArrayInputStream(createContent(i)));
+            page.getPdfObject().put(new PdfName("Attachment"), attachment);
+            page.flush();
+        }
+        pdfDocument.close();
+
+        checkDocument(outFile);
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(outFile));
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            PdfStream attachment = resultDoc.getPage(i).getPdfObject().getAsStream(new PdfName("Attachment"));
+            Assert.assertArrayEquals(createContent(i), attachment.getBytes());
+        }
+        resultDoc.close();
+    }
+
+    @Test
+    public void asynchronousFlushingWithDirectStreamTest() throws IOException {
+        String outFile = destinationFolder + "asynchronousFlushingWithDirectStream.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFile,
+                new WriterProperties().useAsynchronousFlushing()));
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            PdfPage page = pdfDocument.addNewPage();
+            new PdfCanvas(page).getContentStream().getOutputStream().writeBytes(createContent(i));
+            PdfDictionary wrapper = new PdfDictionary();
+            wrapper.put(new PdfName("Data"), new PdfStream(createContent(i)));
+            page.getPdfObject().put(new PdfName("Wrapper"), wrapper);
+            page.flush();
+        }
+        pdfDocument.close();
+
+        checkDocument(outFile);
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(outFile));
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            PdfStream data = resultDoc.getPage(i).getPdfObject().getAsDictionary(new PdfName("Wrapper"))
+                    .getAsStream(new PdfName("Data"));
+            Assert.assertArrayEquals(createContent(i), data.getBytes());
+        }
+        resultDoc.close();
+    }
+
+    private static void createDocument(String outFile, WriterProperties properties) throws IOException {
+        GeneratedDocumentTestUtil.createDocument(outFile, properties
+                .setModifiedDocumentId(new PdfString("modifiedDocumentId"))
+                .setInitialDocumentId(new PdfString("initialDocumentId")), PAGE_COUNT, RECTANGLES_COUNT);
+    }
+
+    private static void checkDocument(String file) throws IOException {
+        GeneratedDocumentTestUtil.checkDocument(file, PAGE_COUNT, RECTANGLES_COUNT);
+    }
+
+    private static byte[] createContent(int pageNumber) {
+        return GeneratedDocumentTestUtil.createContent(pageNumber, RECTANGLES_COUNT);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class CompactXrefTableTest extends ExtendedITextTest {
+
+    public static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/CompactXrefTableTest/";
+
+    private static final int PAGE_COUNT = 150;
+
+    private static final int RECTANGLES_COUNT = 50;
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void compactXrefTableTest() throws IOException {
+        String regularFile = destinationFolder + "regularXrefTable.pdf";
+        String compactFile = destinationFolder + "compactXrefTable.pdf";
+        createDocument(regularFile, new WriterProperties());
+        createDocument(compactFile, new WriterProperties().useCompactXrefTable());
+        compareXrefEntries(regularFile, compactFile);
+        checkDocument(compactFile);
+    }
+
+    @Test
+    public void compactXrefStreamTest() throws IOException {
+        String regularFile = destinationFolder + "regularXrefStream.pdf";
+        String compactFile = destinationFolder + "compactXrefStream.pdf";
+        createDocument(regularFile, new WriterProperties().setFullCompressionMode(true));
+        createDocument(compactFile, new WriterProperties().setFullCompressionMode(true).useCompactXrefTable());
+        compareXrefEntries(regularFile, compactFile);
+        checkDocument(compactFile);
+    }
+
+    @Test
+    public void compactXrefTableWithParallelCompressionTest() throws IOException {
+        String regularFile = destinationFolder + "regularParallelCompression.pdf";
+        String compactFile = destinationFolder + "compactParallelCompression.pdf";
+        createDocument(regularFile, new WriterProperties().setStreamCompressionParallelism(4));
+        createDocument(compactFile, new WriterProperties().setStreamCompressionParallelism(4).useCompactXrefTable());
+        compareXrefEntries(regularFile, compactFile);
+        checkDocument(compactFile);
+    }
+
+    @Test
+    public void flushedReferencesAreNotKeptTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(destinationFolder + "flushedReferences.pdf",
+                new WriterProperties().useCompactXrefTable()));
+        PdfPage page = pdfDocument.addNewPage();
+        PdfStream contentStream = page.getFirstContentStream();
+        contentStream.getOutputStream().writeBytes(createContent(1));
+        PdfIndirectReference contentReference = contentStream.getIndirectReference();
+        long notFlushedCount = pdfDocument.getXref().getCountOfIndirectObjects();
+        page.flush();
+
+        PdfIndirectReference storedReference = pdfDocument.getXref().get(contentReference.getObjNumber());
+        Assert.assertNotSame(contentReference, storedReference);
+        Assert.assertEquals(contentReference, storedReference);
+        Assert.assertEquals(contentReference.getOffset(), storedReference.getOffset());
+        Assert.assertTrue(storedReference.checkState(PdfObject.FLUSHED));
+        Assert.assertNull(pdfDocument.getXref().getUnflushed(contentReference.getObjNumber()));
+        Assert.assertEquals(notFlushedCount, pdfDocument.getXref().getCountOfIndirectObjects());
+        pdfDocument.close();
+    }
+
+    @Test
+    public void compactXrefTableIgnoredInStampingModeTest() throws IOException {
+        String srcFile = destinationFolder + "stampingSource.pdf";
+        String outFile = destinationFolder + "stamping.pdf";
+        createDocument(srcFile, new WriterProperties());
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(srcFile),
+                new PdfWriter(outFile, new WriterProperties().useCompactXrefTable()));
+        pdfDocument.getPage(2).getFirstContentStream().setData(createContent(200));
+        pdfDocument.getPdfObject(pdfDocument.getPage(3).getFirstContentStream().getIndirectReference()
+                .getObjNumber()).getIndirectReference().setFree();
+        pdfDocument.getPage(3).getPdfObject().remove(PdfName.Contents);
+        pdfDocument.close();
+
+        PdfReader reader = new PdfReader(outFile);
+        pdfDocument = new PdfDocument(reader);
+        Assert.assertFalse(reader.hasRebuiltXref());
+        Assert.assertEquals(PAGE_COUNT, pdfDocument.getNumberOfPages());
+        Assert.assertArrayEquals(createContent(200), pdfDocument.getPage(2).getFirstContentStream().getBytes());
+        Assert.assertNull(pdfDocument.getPage(3).getFirstContentStream());
+        Assert.assertArrayEquals(createContent(4), pdfDocument.getPage(4).getFirstContentStream().getBytes());
+        pdfDocument.close();
+    }
+
+    @Test
+    public void compactXrefTableIgnoredInAppendModeTest() throws IOException {
+        String srcFile = destinationFolder + "appendModeSource.pdf";
+        String outFile = destinationFolder + "appendMode.pdf";
+        createDocument(srcFile, new WriterProperties().setFullCompressionMode(true));
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(srcFile),
+                new PdfWriter(outFile, new WriterProperties().useCompactXrefTable()),
+                new StampingProperties().useAppendMode());
+        PdfStream contentStream = pdfDocument.getPage(5).getFirstContentStream();
+        contentStream.setData(createContent(500));
+        contentStream.setModified();
+        for (int i = 0; i < 10; i++) {
+            PdfPage page = pdfDocument.addNewPage();
+            page.getFirstContentStream().getOutputStream().writeBytes(createContent(PAGE_COUNT + i + 1));
+            page.flush();
+        }
+        pdfDocument.close();
+
+        PdfReader reader = new PdfReader(outFile);
+        pdfDocument = new PdfDocument(reader);
+        Assert.assertFalse(reader.hasRebuiltXref());
+        Assert.assertEquals(PAGE_COUNT + 10, pdfDocument.getNumberOfPages());
+        Assert.assertArrayEquals(createContent(500), pdfDocument.getPage(5).getFirstContentStream().getBytes());
+        for (int i = PAGE_COUNT + 1; i <= PAGE_COUNT + 10; i++) {
+            Assert.assertArrayEquals(createContent(i), pdfDocument.getPage(i).getFirstContentStream().getBytes());
+        }
+        pdfDocument.close();
+    }
+
+    private static void compareXrefEntries(String regularFile, String compactFile) throws IOException {
+        PdfDocument regularDocument = new PdfDocument(new PdfReader(regularFile));
+        PdfDocument compactDocument = new PdfDocument(new PdfReader(compactFile));
+        Assert.assertEquals(regularDocument.getNumberOfPdfObjects(), compactDocument.getNumberOfPdfObjects());
+        for (int i = 1; i < regularDocument.getNumberOfPdfObjects(); i++) {
+            PdfIndirectReference regularReference = regularDocument.getXref().get(i);
+            PdfIndirectReference compactReference = compactDocument.getXref().get(i);
+            Assert.assertEquals(regularReference.isFree(), compactReference.isFree());
+            Assert.assertEquals(regularReference.getGenNumber(), compactReference.getGenNumber());
+            Assert.assertEquals(regularReference.getOffset(), compactReference.getOffset());
+            Assert.assertEquals(regularReference.getObjStreamNumber(), compactReference.getObjStreamNumber());
+        }
+        regularDocument.close();
+        compactDocument.close();
+    }
+
+    private static void checkDocument(String file) throws IOException {
+        GeneratedDocumentTestUtil.checkDocument(file, PAGE_COUNT, RECTANGLES_COUNT);
+    }
+
+    private static void createDocument(String outFile, WriterProperties properties) throws IOException {
+        GeneratedDocumentTestUtil.createDocument(outFile, properties, PAGE_COUNT, RECTANGLES_COUNT);
+    }
+
+    private static byte[] createContent(int pageNumber) {
+        return GeneratedDocumentTestUtil.createContent(pageNumber, RECTANGLES_COUNT);
+    }
+}
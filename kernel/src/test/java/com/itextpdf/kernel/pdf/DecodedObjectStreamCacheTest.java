@@ -0,0 +1,80 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.kernel.pdf.DecodedObjectStreamCache.DecodedObjectStream;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class DecodedObjectStreamCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void leastRecentlyUsedStreamIsEvictedTest() {
+        DecodedObjectStreamCache cache = new DecodedObjectStreamCache(250);
+        cache.put(1, createStream(100));
+        cache.put(2, createStream(100));
+        Assert.assertNotNull(cache.get(1));
+        cache.put(3, createStream(100));
+
+        Assert.assertEquals(2, cache.getCount());
+        Assert.assertEquals(200, cache.getSize());
+        Assert.assertNotNull(cache.get(1));
+        Assert.assertNull(cache.get(2));
+        Assert.assertNotNull(cache.get(3));
+    }
+
+    @Test
+    public void streamExceedingLimitIsNotCachedTest() {
+        DecodedObjectStreamCache cache = new DecodedObjectStreamCache(250);
+        cache.put(1, createStream(100));
+        cache.put(2, createStream(100));
+        cache.put(3, createStream(300));
+
+        Assert.assertEquals(2, cache.getCount());
+        Assert.assertEquals(200, cache.getSize());
+        Assert.assertNotNull(cache.get(1));
+        Assert.assertNotNull(cache.get(2));
+        Assert.assertNull(cache.get(3));
+    }
+
+    @Test
+    public void replacingStreamWithExceedingOneRemovesItTest() {
+        DecodedObjectStreamCache cache = new DecodedObjectStreamCache(250);
+        cache.put(1, createStream(100));
+        cache.put(2, createStream(100));
+        cache.put(2, createStream(300));
+
+        Assert.assertEquals(1, cache.getCount());
+        Assert.assertEquals(100, cache.getSize());
+        Assert.assertNull(cache.get(2));
+    }
+
+    private static DecodedObjectStream createStream(int size) {
+        return new DecodedObjectStream(new byte[size], new int[0], new int[0]);
+    }
+}
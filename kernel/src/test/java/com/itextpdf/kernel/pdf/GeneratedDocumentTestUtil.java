@@ -0,0 +1,86 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+
+import java.io.IOException;
+import org.junit.Assert;
+
+/**
+ * Creates and verifies the multi-page documents shared by the writer and reader tests. Page {@code i} gets
+ * a content stream of {@code rectanglesCount + i % 7} filled rectangles, so every page has distinct data.
+ */
+final class GeneratedDocumentTestUtil {
+
+    private GeneratedDocumentTestUtil() {
+        // Empty constructor
+    }
+
+    static void createDocument(String outFile, WriterProperties properties, int pageCount, int rectanglesCount)
+            throws IOException {
+        createDocument(new PdfWriter(outFile, properties), pageCount, rectanglesCount, null);
+    }
+
+    static void createDocument(PdfWriter writer, int pageCount, int rectanglesCount, PageDecorator decorator) {
+        PdfDocument pdfDocument = new PdfDocument(writer);
+        for (int i = 1; i <= pageCount; i++) {
+            PdfPage page = pdfDocument.addNewPage();
+            new PdfCanvas(page).getContentStream().getOutputStream().writeBytes(createContent(i, rectanglesCount));
+            if (decorator != null) {
+                decorator.decorate(page, i);
+            }
+            page.flush();
+        }
+        pdfDocument.close();
+    }
+
+    static void checkDocument(String file, int pageCount, int rectanglesCount) throws IOException {
+        PdfReader reader = new PdfReader(file);
+        PdfDocument pdfDocument = new PdfDocument(reader);
+        Assert.assertFalse(reader.hasRebuiltXref());
+        Assert.assertEquals(pageCount, pdfDocument.getNumberOfPages());
+        for (int i = 1; i <= pageCount; i++) {
+            PdfStream contentStream = pdfDocument.getPage(i).getFirstContentStream();
+            Assert.assertEquals(PdfName.FlateDecode, contentStream.getAsName(PdfName.Filter));
+            Assert.assertArrayEquals(createContent(i, rectanglesCount), contentStream.getBytes());
+        }
+        pdfDocument.close();
+    }
+
+    static byte[] createContent(int pageNumber, int rectanglesCount) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < rectanglesCount + pageNumber % 7; i++) {
+            content.append(pageNumber).append(' ').append(i).append(" 10 10 re f\n");
+        }
+        return ByteUtils.getIsoBytes(content.toString());
+    }
+
+    interface PageDecorator {
+        /**
+         * Called after the page content is written and before the page is flushed.
+         */
+        void decorate(PdfPage page, int pageNumber);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class LazyObjectStreamReadingTest extends ExtendedITextTest {
+
+    public static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/LazyObjectStreamReadingTest/";
+
+    private static final int PAGE_COUNT = 200;
+
+    private static final int RECTANGLES_COUNT = 20;
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void lazyReadingTest() throws IOException {
+        String file = destinationFolder + "lazyReading.pdf";
+        createDocument(file);
+        compareWithEagerReading(file, new PdfReader(file).setLazyObjectStreamReading(true));
+    }
+
+    @Test
+    public void lazyReadingWithLazyXrefLoadingTest() throws IOException {
+        String file = destinationFolder + "lazyReadingWithLazyXrefLoading.pdf";
+        createDocument(file);
+        compareWithEagerReading(file,
+                new PdfReader(file).setLazyObjectStreamReading(true).setLazyXrefLoading(true));
+    }
+
+    @Test
+    public void notRequestedObjectsAreNotReadTest() throws IOException {
+        String file = destinationFolder + "notRequestedObjects.pdf";
+        createDocument(file);
+
+        PdfDocument eagerDocument = new PdfDocument(new PdfReader(file));
+        PdfIndirectReference firstResources = eagerDocument.getPage(1).getPdfObject()
+                .getAsDictionary(PdfName.Resources).getIndirectReference();
+        PdfIndirectReference secondResources = eagerDocument.getXref()
+                .get(getResourcesNumber(eagerDocument, 2));
+        Assert.assertEquals(firstResources.getObjStreamNumber(), secondResources.getObjStreamNumber());
+        Assert.assertNotNull(secondResources.refersTo);
+        eagerDocument.close();
+
+        PdfReader reader = new PdfReader(file).setLazyObjectStreamReading(true);
+        PdfDocument lazyDocument = new PdfDocument(reader);
+        int secondResourcesNumber = getResourcesNumber(lazyDocument, 2);
+        Assert.assertNull(lazyDocument.getXref().get(secondResourcesNumber).refersTo);
+        Assert.assertNotNull(lazyDocument.getPage(1).getPdfObject().getAsDictionary(PdfName.Resources));
+        Assert.assertNull(lazyDocument.getXref().get(secondResourcesNumber).refersTo);
+        Assert.assertTrue(reader.getDecodedObjectStreamsCount() > 0);
+
+        Assert.assertNotNull(lazyDocument.getPage(2).getPdfObject().getAsDictionary(PdfName.Resources));
+        Assert.assertNotNull(lazyDocument.getXref().get(secondResourcesNumber).refersTo);
+        lazyDocument.close();
+        Assert.assertEquals(0, reader.getDecodedObjectStreamsCount());
+    }
+
+    @Test
+    public void releasedObjectIsReadAgainTest() throws IOException {
+        String file = destinationFolder + "releasedObject.pdf";
+        createDocument(file);
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(file).setLazyObjectStreamReading(true));
+        PdfDictionary pageDictionary = pdfDocument.getPage(20).getPdfObject();
+        PdfDictionary resources = pageDictionary.getAsDictionary(PdfName.Resources);
+        resources.release();
+        PdfDictionary rereadResources = pageDictionary.getAsDictionary(PdfName.Resources);
+        Assert.assertNotSame(resources, rereadResources);
+        Assert.assertEquals(new PdfName("P20"), rereadResources.getAsDictionary(PdfName.ExtGState)
+                .keySet().iterator().next());
+        pdfDocument.close();
+    }
+
+    @Test
+    public void disabledObjectStreamCacheTest() throws IOException {
+        String file = destinationFolder + "disabledObjectStreamCache.pdf";
+        createDocument(file);
+        PdfReader reader = new PdfReader(file).setLazyObjectStreamReading(true).setObjectStreamCacheSize(0);
+        PdfDocument pdfDocument = new PdfDocument(reader);
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            Assert.assertNotNull(pdfDocument.getPage(i).getResources().getPdfExtGState(
+                    new PdfName("P" + i)));
+        }
+        Assert.assertEquals(0, reader.getDecodedObjectStreamsCount());
+        pdfDocument.close();
+    }
+
+    @Test
+    public void negativeObjectStreamCacheSizeTest() throws IOException {
+        String file = destinationFolder + "negativeObjectStreamCacheSize.pdf";
+        createDocument(file);
+        PdfReader reader = new PdfReader(file);
+        Assert.assertThrows(IllegalArgumentException.class, () -> reader.setObjectStreamCacheSize(-1));
+        reader.close();
+    }
+
+    private static int getResourcesNumber(PdfDocument pdfDocument, int pageNumber) {
+        PdfIndirectReference reference = (PdfIndirectReference) pdfDocument.getPage(pageNumber).getPdfObject()
+                .get(PdfName.Resources, false);
+        return reference.getObjNumber();
+    }
+
+    private static void compareWithEagerReading(String file, PdfReader lazyReader) throws IOException {
+        PdfDocument eagerDocument = new PdfDocument(new PdfReader(file));
+        PdfDocument lazyDocument = new PdfDocument(lazyReader);
+        Assert.assertEquals(eagerDocument.getNumberOfPages(), lazyDocument.getNumberOfPages());
+        for (int i = PAGE_COUNT; i >= 1; i--) {
+            PdfPage eagerPage = eagerDocument.getPage(i);
+            PdfPage lazyPage = lazyDocument.getPage(i);
+            Assert.assertArrayEquals(eagerPage.getContentBytes(), lazyPage.getContentBytes());
+            Assert.assertEquals(eagerPage.getPdfObject().getAsDictionary(PdfName.Resources).toString(),
+                    lazyPage.getPdfObject().getAsDictionary(PdfName.Resources).toString());
+        }
+        eagerDocument.close();
+        lazyDocument.close();
+    }
+
+    private static void createDocument(String outFile) throws IOException {
+        GeneratedDocumentTestUtil.createDocument(new PdfWriter(outFile,
+                new WriterProperties().setFullCompressionMode(true)), PAGE_COUNT, RECTANGLES_COUNT,
+                (page, pageNumber) -> {
+                    PdfDictionary extGState = new PdfDictionary();
+                    extGState.put(PdfName.CA, new PdfNumber(pageNumber / (double) PAGE_COUNT));
+                    PdfDictionary extGStates = new PdfDictionary();
+                    extGStates.put(new PdfName("P" + pageNumber), extGState);
+                    page.getResources().getPdfObject().put(PdfName.ExtGState, extGStates);
+                    page.getResources().getPdfObject().makeIndirect(page.getDocument());
+                });
+    }
+}
@@ -0,0 +1,226 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.IOException;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class LazyXrefLoadingTest extends ExtendedITextTest {
+
+    public static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/LazyXrefLoadingTest/";
+
+    private static final int PAGE_COUNT = 200;
+
+    private static final int RECTANGLES_COUNT = 50;
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void lazyLoadingXrefTableTest() throws IOException {
+        String file = destinationFolder + "xrefTable.pdf";
+        createDocument(file, new WriterProperties());
+        compareWithEagerLoading(file);
+    }
+
+    @Test
+    public void lazyLoadingXrefStreamTest() throws IOException {
+        String file = destinationFolder + "xrefStream.pdf";
+        createDocument(file, new WriterProperties().setFullCompressionMode(true));
+        compareWithEagerLoading(file);
+    }
+
+    @Test
+    public void lazyLoadingIncrementalUpdatesTest() throws IOException {
+        String file = destinationFolder + "incrementalUpdatesSource.pdf";
+        String updatedFile = destinationFolder + "incrementalUpdates.pdf";
+        createDocument(file, new WriterProperties().setFullCompressionMode(true));
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(file), new PdfWriter(updatedFile),
+                new StampingProperties().useAppendMode());
+        PdfStream contentStream = pdfDocument.getPage(5).getFirstContentStream();
+        contentStream.setData(createContent(500));
+        contentStream.setModified();
+        pdfDocument.close();
+
+        compareWithEagerLoading(updatedFile);
+
+        pdfDocument = new PdfDocument(new PdfReader(updatedFile).setLazyXrefLoading(true));
+        Assert.assertArrayEquals(createContent(500), pdfDocument.getPage(5).getFirstContentStream().getBytes());
+        pdfDocument.close();
+    }
+
+    @Test
+    public void notRequestedEntriesAreNotLoadedTest() throws IOException {
+        String file = destinationFolder + "notRequestedEntries.pdf";
+        createDocument(file, new WriterProperties());
+
+        PdfDocument eagerDocument = new PdfDocument(new PdfReader(file));
+        int firstContentNumber = eagerDocument.getPage(10).getFirstContentStream().getIndirectReference()
+                .getObjNumber();
+        int secondContentNumber = eagerDocument.getPage(150).getFirstContentStream().getIndirectReference()
+                .getObjNumber();
+        eagerDocument.close();
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(file).setLazyXrefLoading(true));
+        PdfXrefTable xref = pdfDocument.getXref();
+        Assert.assertTrue(xref.containsLazyEntry(firstContentNumber));
+        Assert.assertTrue(xref.containsLazyEntry(secondContentNumber));
+
+        Assert.assertArrayEquals(createContent(10), pdfDocument.getPage(10).getFirstContentStream().getBytes());
+        Assert.assertFalse(xref.containsLazyEntry(firstContentNumber));
+        Assert.assertTrue(xref.containsLazyEntry(secondContentNumber));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void releasedReferenceIsUnloadedTest() throws IOException {
+        String file = destinationFolder + "releasedReference.pdf";
+        createDocument(file, new WriterProperties());
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(file).setLazyXrefLoading(true));
+        PdfXrefTable xref = pdfDocument.getXref();
+        PdfDictionary pageDictionary = pdfDocument.getPage(20).getPdfObject();
+        PdfStream contentStream = pageDictionary.getAsStream(PdfName.Contents);
+        int contentNumber = contentStream.getIndirectReference().getObjNumber();
+        Assert.assertFalse(xref.containsLazyEntry(contentNumber));
+
+        contentStream.release();
+        Assert.assertTrue(xref.containsLazyEntry(contentNumber));
+
+        // The reference kept by the page dictionary is registered in the table again.
+        PdfIndirectReference contentReference = pageDictionary.getAsStream(PdfName.Contents).getIndirectReference();
+        Assert.assertSame(contentReference, xref.get(contentNumber));
+        Assert.assertArrayEquals(createContent(20), pageDictionary.getAsStream(PdfName.Contents).getBytes());
+        pdfDocument.close();
+    }
+
+    @Test
+    public void releasedReferenceRequestedByNumberTest() throws IOException {
+        String file = destinationFolder + "releasedReferenceRequestedByNumber.pdf";
+        createDocument(file, new WriterProperties().setFullCompressionMode(true));
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(file).setLazyXrefLoading(true));
+        PdfDictionary pageDictionary = pdfDocument.getPage(30).getPdfObject();
+        PdfDictionary resources = pageDictionary.getAsDictionary(PdfName.Resources);
+        int resourcesNumber = resources.getIndirectReference().getObjNumber();
+        resources.release();
+
+        // Another instance of the reference is created before the page dictionary requests it again.
+        PdfDictionary resourcesByNumber = (PdfDictionary) pdfDocument.getPdfObject(resourcesNumber);
+        PdfDictionary resourcesFromPage = pageDictionary.getAsDictionary(PdfName.Resources);
+        Assert.assertSame(resourcesByNumber, resourcesFromPage);
+        Assert.assertEquals(resourcesNumber, resourcesFromPage.getIndirectReference().getObjNumber());
+        pdfDocument.close();
+    }
+
+    @Test
+    public void stampingWithLazyLoadingTest() throws IOException {
+        String file = destinationFolder + "stampingSource.pdf";
+        String outFile = destinationFolder + "stamping.pdf";
+        createDocument(file, new WriterProperties().setFullCompressionMode(true));
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(file).setLazyXrefLoading(true),
+                new PdfWriter(outFile));
+        pdfDocument.getPage(3).getFirstContentStream().setData(createContent(300));
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(outFile));
+        Assert.assertEquals(PAGE_COUNT, pdfDocument.getNumberOfPages());
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            byte[] expected = createContent(i == 3 ? 300 : i);
+            Assert.assertArrayEquals(expected, pdfDocument.getPage(i).getFirstContentStream().getBytes());
+        }
+        pdfDocument.close();
+    }
+
+    @Test
+    public void appendModeWithLazyLoadingTest() throws IOException {
+        String file = destinationFolder + "appendModeSource.pdf";
+        String outFile = destinationFolder + "appendMode.pdf";
+        createDocument(file, new WriterProperties());
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(file).setLazyXrefLoading(true),
+                new PdfWriter(outFile), new StampingProperties().useAppendMode());
+        PdfStream contentStream = pdfDocument.getPage(7).getFirstContentStream();
+        contentStream.setData(createContent(700));
+        contentStream.setModified();
+        pdfDocument.addNewPage();
+        pdfDocument.close();
+
+        PdfReader reader = new PdfReader(outFile);
+        pdfDocument = new PdfDocument(reader);
+        Assert.assertFalse(reader.hasRebuiltXref());
+        Assert.assertEquals(PAGE_COUNT + 1, pdfDocument.getNumberOfPages());
+        Assert.assertArrayEquals(createContent(700), pdfDocument.getPage(7).getFirstContentStream().getBytes());
+        Assert.assertArrayEquals(createContent(8), pdfDocument.getPage(8).getFirstContentStream().getBytes());
+        pdfDocument.close();
+    }
+
+    private static void compareWithEagerLoading(String file) throws IOException {
+        PdfDocument eagerDocument = new PdfDocument(new PdfReader(file));
+        PdfDocument lazyDocument = new PdfDocument(new PdfReader(file).setLazyXrefLoading(true));
+        Assert.assertEquals(eagerDocument.getNumberOfPdfObjects(), lazyDocument.getNumberOfPdfObjects());
+        Assert.assertEquals(eagerDocument.getXref().getCountOfIndirectObjects(),
+                lazyDocument.getXref().getCountOfIndirectObjects());
+
+        List<PdfIndirectReference> eagerReferences = eagerDocument.listIndirectReferences();
+        List<PdfIndirectReference> lazyReferences = lazyDocument.listIndirectReferences();
+        Assert.assertEquals(eagerReferences.size(), lazyReferences.size());
+        for (int i = 0; i < eagerReferences.size(); i++) {
+            PdfIndirectReference eagerReference = eagerReferences.get(i);
+            PdfIndirectReference lazyReference = lazyReferences.get(i);
+            Assert.assertEquals(eagerReference.getObjNumber(), lazyReference.getObjNumber());
+            Assert.assertEquals(eagerReference.getGenNumber(), lazyReference.getGenNumber());
+            Assert.assertEquals(eagerReference.getOffset(), lazyReference.getOffset());
+            Assert.assertEquals(eagerReference.getObjStreamNumber(), lazyReference.getObjStreamNumber());
+            Assert.assertEquals(eagerReference.isFree(), lazyReference.isFree());
+        }
+
+        Assert.assertEquals(eagerDocument.getNumberOfPages(), lazyDocument.getNumberOfPages());
+        for (int i = 1; i <= eagerDocument.getNumberOfPages(); i++) {
+            Assert.assertArrayEquals(eagerDocument.getPage(i).getContentBytes(),
+                    lazyDocument.getPage(i).getContentBytes());
+        }
+        eagerDocument.close();
+        lazyDocument.close();
+    }
+
+    private static void createDocument(String outFile, WriterProperties properties) throws IOException {
+        GeneratedDocumentTestUtil.createDocument(new PdfWriter(outFile, properties), PAGE_COUNT, RECTANGLES_COUNT,
+                (page, pageNumber) -> page.getResources().getPdfObject().makeIndirect(page.getDocument()));
+    }
+
+    private static byte[] createContent(int pageNumber) {
+        return GeneratedDocumentTestUtil.createContent(pageNumber, RECTANGLES_COUNT);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class ParallelStreamCompressionTest extends ExtendedITextTest {
+
+    public static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/ParallelStreamCompressionTest/";
+
+    private static final int PAGE_COUNT = 300;
+
+    private static final int RECTANGLES_COUNT = 100;
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void parallelCompressionTest() throws IOException {
+        String outFile = destinationFolder + "parallelCompression.pdf";
+        createDocument(outFile, new WriterProperties().setStreamCompressionParallelism(4));
+        checkDocument(outFile);
+    }
+
+    @Test
+    public void parallelCompressionWithFullCompressionTest() throws IOException {
+        String outFile = destinationFolder + "parallelCompressionWithFullCompression.pdf";
+        createDocument(outFile, new WriterProperties().setStreamCompressionParallelism(4)
+                .setFullCompressionMode(true));
+        checkDocument(outFile);
+    }
+
+    @Test
+    public void parallelCompressionSameOffsetsAsSequentialTest() throws IOException {
+        String sequentialFile = destinationFolder + "sequentialCompression.pdf";
+        String parallelFile = destinationFolder + "parallelCompressionOffsets.pdf";
+        createDocument(sequentialFile, new WriterProperties());
+        createDocument(parallelFile, new WriterProperties().setStreamCompressionParallelism(8));
+
+        PdfDocument sequentialDoc = new PdfDocument(new PdfReader(sequentialFile));
+        PdfDocument parallelDoc = new PdfDocument(new PdfReader(parallelFile));
+        Assert.assertEquals(sequentialDoc.getNumberOfPdfObjects(), parallelDoc.getNumberOfPdfObjects());
+        for (int i = 1; i < sequentialDoc.getNumberOfPdfObjects(); i++) {
+            PdfIndirectReference sequentialRef = sequentialDoc.getXref().get(i);
+            PdfIndirectReference parallelRef = parallelDoc.getXref().get(i);
+            if (sequentialDoc.getPdfObject(i) instanceof PdfStream) {
+                Assert.assertEquals(sequentialRef.getOffset(), parallelRef.getOffset());
+            }
+        }
+        sequentialDoc.close();
+        parallelDoc.close();
+    }
+
+    private static void createDocument(String outFile, WriterProperties properties) throws IOException {
+        GeneratedDocumentTestUtil.createDocument(outFile, properties, PAGE_COUNT, RECTANGLES_COUNT);
+    }
+
+    private static void checkDocument(String file) throws IOException {
+        GeneratedDocumentTestUtil.checkDocument(file, PAGE_COUNT, RECTANGLES_COUNT);
+    }
+}
@@ -34,9 +34,14 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.TreeMap;
 
@@ -73,6 +78,72 @@ public class PdfWriterTest extends ExtendedITextTest {
 
     }
 
+    @Test
+    public void createDocumentWithFileChannel() throws IOException {
+        String filename = destinationFolder + "documentWithFileChannel.pdf";
+        try (RandomAccessFile file = new RandomAccessFile(filename, "rw")) {
+            // the writer starts at the current position of the channel and closes it on closing the document
+            file.setLength(0);
+            PdfDocument pdfDoc = new PdfDocument(new PdfWriter(file.getChannel(), new WriterProperties()));
+            for (int i = 0; i < 10; i++) {
+                PdfPage page = pdfDoc.addNewPage();
+                page.getFirstContentStream().getOutputStream().writeBytes(new byte[100000]);
+                page.flush();
+            }
+            pdfDoc.close();
+        }
+
+        PdfReader reader = new PdfReader(filename);
+        PdfDocument pdfDocument = new PdfDocument(reader);
+        Assert.assertFalse(reader.hasRebuiltXref());
+        Assert.assertEquals(10, pdfDocument.getNumberOfPages());
+        Assert.assertEquals(100000, pdfDocument.getPage(10).getFirstContentStream().getBytes().length);
+        pdfDocument.close();
+    }
+
+    @Test
+    public void stampDocumentWithFileChannel() throws IOException {
+        String source = destinationFolder + "stampingSourceWithFileChannel.pdf";
+        String filename = destinationFolder + "stampedWithFileChannel.pdf";
+        createDocumentWithHeaderOffset(source);
+
+        PdfReader reader = new PdfReader(source);
+        try (RandomAccessFile file = new RandomAccessFile(filename, "rw")) {
+            file.setLength(0);
+            PdfDocument pdfDoc = new PdfDocument(reader, new PdfWriter(file.getChannel(), new WriterProperties()));
+            // the unchanged content streams are transferred from the source file
+            Assert.assertTrue(pdfDoc.getWriter().isSourceTransferSupported(reader));
+            pdfDoc.getDocumentInfo().setTitle("Stamped");
+            pdfDoc.close();
+        }
+
+        GeneratedDocumentTestUtil.checkDocument(filename, 10, 50);
+    }
+
+    @Test
+    public void appendToDocumentWithFileChannel() throws IOException {
+        String source = destinationFolder + "appendingSourceWithFileChannel.pdf";
+        String filename = destinationFolder + "appendedWithFileChannel.pdf";
+        int headerOffset = createDocumentWithHeaderOffset(source);
+
+        PdfReader reader = new PdfReader(source);
+        try (RandomAccessFile file = new RandomAccessFile(filename, "rw")) {
+            file.setLength(0);
+            PdfDocument pdfDoc = new PdfDocument(reader, new PdfWriter(file.getChannel(), new WriterProperties()),
+                    new StampingProperties().useAppendMode());
+            Assert.assertTrue(pdfDoc.getWriter().isSourceTransferSupported(reader));
+            pdfDoc.getDocumentInfo().setTitle("Appended");
+            pdfDoc.close();
+        }
+
+        // the original revision is transferred as is, without the bytes before the header
+        byte[] sourceBytes = Files.readAllBytes(Paths.get(source));
+        byte[] resultBytes = Files.readAllBytes(Paths.get(filename));
+        Assert.assertArrayEquals(Arrays.copyOfRange(sourceBytes, headerOffset, sourceBytes.length),
+                Arrays.copyOf(resultBytes, sourceBytes.length - headerOffset));
+        GeneratedDocumentTestUtil.checkDocument(filename, 10, 50);
+    }
+
     @Test
     public void useObjectForMultipleTimes1() throws IOException {
         PdfDocument pdfDoc = new PdfDocument(new PdfWriter(destinationFolder + "useObjectForMultipleTimes1.pdf"));
@@ -609,4 +680,15 @@ public class PdfWriterTest extends ExtendedITextTest {
         Assert.assertArrayEquals("Stream by InputStream", streamContent.getBytes(), pdfStream.getBytes());
         document.close();
     }
+
+    private static int createDocumentWithHeaderOffset(String filename) throws IOException {
+        byte[] prefix = ByteUtils.getIsoBytes("garbage before the header\n");
+        ByteArrayOutputStream document = new ByteArrayOutputStream();
+        GeneratedDocumentTestUtil.createDocument(new PdfWriter(document), 10, 50, null);
+        try (FileOutputStream out = new FileOutputStream(filename)) {
+            out.write(prefix);
+            document.writeTo(out);
+        }
+        return prefix.length;
+    }
 }
@@ -0,0 +1,169 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class RawStreamPassthroughTest extends ExtendedITextTest {
+
+    public static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/RawStreamPassthroughTest/";
+
+    private static final int PAGE_COUNT = 20;
+
+    private static final int RECTANGLES_COUNT = 100;
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void copiedStreamsAreWrittenFromSourceTest() throws IOException {
+        String outFile = destinationFolder + "copiedStreamsAreWrittenFromSource.pdf";
+        byte[] source = createSourceDocument(CompressionConstants.DEFAULT_COMPRESSION);
+
+        PdfDocument outDoc = new PdfDocument(new PdfWriter(outFile, new WriterProperties().useRawStreamPassthrough()));
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)));
+        srcDoc.copyPagesTo(1, PAGE_COUNT, outDoc);
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            Assert.assertTrue(outDoc.getPage(i).getFirstContentStream().isRawContentNotLoaded());
+        }
+        outDoc.flushCopiedObjects(srcDoc);
+        srcDoc.close();
+        outDoc.close();
+
+        checkCopiedDocument(outFile, source);
+    }
+
+    @Test
+    public void sourceClosedBeforeWritingTest() throws IOException {
+        String outFile = destinationFolder + "sourceClosedBeforeWriting.pdf";
+        byte[] source = createSourceDocument(CompressionConstants.DEFAULT_COMPRESSION);
+
+        PdfDocument outDoc = new PdfDocument(new PdfWriter(outFile, new WriterProperties().useRawStreamPassthrough()));
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)));
+        srcDoc.copyPagesTo(1, PAGE_COUNT, outDoc);
+        srcDoc.close();
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            Assert.assertFalse(outDoc.getPage(i).getFirstContentStream().isRawContentNotLoaded());
+        }
+        outDoc.close();
+
+        checkCopiedDocument(outFile, source);
+    }
+
+    @Test
+    public void copiedStreamModificationTest() throws IOException {
+        String outFile = destinationFolder + "copiedStreamModification.pdf";
+        byte[] source = createSourceDocument(CompressionConstants.DEFAULT_COMPRESSION);
+
+        PdfDocument outDoc = new PdfDocument(new PdfWriter(outFile, new WriterProperties().useRawStreamPassthrough()));
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)));
+        srcDoc.copyPagesTo(1, 1, outDoc);
+        PdfStream contentStream = outDoc.getPage(1).getFirstContentStream();
+        contentStream.setData(ByteUtils.getIsoBytes("0 0 5 5 re f\n"), true);
+        Assert.assertFalse(contentStream.isRawContentNotLoaded());
+        outDoc.close();
+        srcDoc.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(outFile));
+        String expected = new String(createContent(1), "ISO-8859-1") + "0 0 5 5 re f\n";
+        Assert.assertEquals(expected, new String(resultDoc.getPage(1).getFirstContentStream().getBytes(), "ISO-8859-1"));
+        resultDoc.close();
+    }
+
+    @Test
+    public void notCompressedStreamsAreCompressedOnWritingTest() throws IOException {
+        String outFile = destinationFolder + "notCompressedStreamsAreCompressedOnWriting.pdf";
+        byte[] source = createSourceDocument(CompressionConstants.NO_COMPRESSION);
+
+        PdfDocument outDoc = new PdfDocument(new PdfWriter(outFile, new WriterProperties().useRawStreamPassthrough()));
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)));
+        srcDoc.copyPagesTo(1, PAGE_COUNT, outDoc);
+        outDoc.flushCopiedObjects(srcDoc);
+        srcDoc.close();
+        outDoc.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(outFile));
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            PdfStream contentStream = resultDoc.getPage(i).getFirstContentStream();
+            Assert.assertEquals(PdfName.FlateDecode, contentStream.getAsName(PdfName.Filter));
+            Assert.assertArrayEquals(createContent(i), contentStream.getBytes());
+        }
+        resultDoc.close();
+    }
+
+    @Test
+    public void passthroughWithAsynchronousFlushingTest() throws IOException {
+        String outFile = destinationFolder + "passthroughWithAsynchronousFlushing.pdf";
+        byte[] source = createSourceDocument(CompressionConstants.DEFAULT_COMPRESSION);
+
+        PdfDocument outDoc = new PdfDocument(new PdfWriter(outFile,
+                new WriterProperties().useRawStreamPassthrough().useAsynchronousFlushing()));
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)));
+        srcDoc.copyPagesTo(1, PAGE_COUNT, outDoc);
+        outDoc.flushCopiedObjects(srcDoc);
+        srcDoc.close();
+        outDoc.close();
+
+        checkCopiedDocument(outFile, source);
+    }
+
+    private static byte[] createSourceDocument(int compressionLevel) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        GeneratedDocumentTestUtil.createDocument(new PdfWriter(baos,
+                new WriterProperties().setCompressionLevel(compressionLevel)), PAGE_COUNT, RECTANGLES_COUNT, null);
+        return baos.toByteArray();
+    }
+
+    private static void checkCopiedDocument(String file, byte[] source) throws IOException {
+        PdfReader reader = new PdfReader(file);
+        PdfDocument resultDoc = new PdfDocument(reader);
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)));
+        Assert.assertFalse(reader.hasRebuiltXref());
+        Assert.assertEquals(PAGE_COUNT, resultDoc.getNumberOfPages());
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            PdfStream contentStream = resultDoc.getPage(i).getFirstContentStream();
+            Assert.assertArrayEquals(srcDoc.getPage(i).getFirstContentStream().getBytes(false),
+                    contentStream.getBytes(false));
+            Assert.assertArrayEquals(createContent(i), contentStream.getBytes());
+        }
+        srcDoc.close();
+        resultDoc.close();
+    }
+
+    private static byte[] createContent(int pageNumber) {
+        return GeneratedDocumentTestUtil.createContent(pageNumber, RECTANGLES_COUNT);
+    }
+}
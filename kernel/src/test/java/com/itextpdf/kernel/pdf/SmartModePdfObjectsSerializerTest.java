@@ -68,4 +68,54 @@ public class SmartModePdfObjectsSerializerTest extends ExtendedITextTest {
 
         Assert.assertEquals(expected, serializedObject);
     }
+
+    @Test
+    public void hashedContentTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+
+        PdfDictionary dict1 = createIndirectDictionary(document, new PdfString(new byte[10000]));
+        PdfDictionary dict2 = createIndirectDictionary(document, new PdfString(new byte[10000]));
+        PdfDictionary dict3 = createIndirectDictionary(document, new PdfNumber(1));
+
+        SmartModePdfObjectsSerializer serializer = new SmartModePdfObjectsSerializer(true, 0);
+        SerializedObjectContent serializedObject1 = serializer.serializeObject(dict1);
+        SerializedObjectContent serializedObject2 = serializer.serializeObject(dict2);
+        SerializedObjectContent serializedObject3 = serializer.serializeObject(dict3);
+
+        Assert.assertEquals(serializedObject1, serializedObject2);
+        Assert.assertNotEquals(serializedObject1, serializedObject3);
+        Assert.assertNotEquals(new SmartModePdfObjectsSerializer().serializeObject(dict1), serializedObject1);
+    }
+
+    @Test
+    public void boundedIndexEvictsLeastRecentlyUsedTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+
+        PdfDictionary dict1 = createIndirectDictionary(document, new PdfNumber(1));
+        PdfDictionary dict2 = createIndirectDictionary(document, new PdfNumber(2));
+        PdfDictionary dict3 = createIndirectDictionary(document, new PdfNumber(3));
+
+        SmartModePdfObjectsSerializer serializer = new SmartModePdfObjectsSerializer(true, 2);
+        SerializedObjectContent serializedObject1 = serializer.serializeObject(dict1);
+        SerializedObjectContent serializedObject2 = serializer.serializeObject(dict2);
+        SerializedObjectContent serializedObject3 = serializer.serializeObject(dict3);
+
+        serializer.saveSerializedObject(serializedObject1, dict1.getIndirectReference());
+        serializer.saveSerializedObject(serializedObject2, dict2.getIndirectReference());
+        // touching the first object makes the second one the least recently used
+        Assert.assertEquals(dict1.getIndirectReference(), serializer.getSavedSerializedObject(serializedObject1));
+        serializer.saveSerializedObject(serializedObject3, dict3.getIndirectReference());
+
+        Assert.assertEquals(2, serializer.getIndexedObjectsCount());
+        Assert.assertEquals(dict1.getIndirectReference(), serializer.getSavedSerializedObject(serializedObject1));
+        Assert.assertNull(serializer.getSavedSerializedObject(serializedObject2));
+        Assert.assertEquals(dict3.getIndirectReference(), serializer.getSavedSerializedObject(serializedObject3));
+    }
+
+    private static PdfDictionary createIndirectDictionary(PdfDocument document, PdfObject value) {
+        PdfDictionary dict = new PdfDictionary();
+        dict.put(new PdfName("Value"), value);
+        dict.makeIndirect(document);
+        return dict;
+    }
 }
@@ -571,4 +571,38 @@ public class SmartModeTest extends ExtendedITextTest {
             }
         }
     }
+
+    @Test
+    public void hashedSmartModeSameResourcesCopyingAndFlushing() throws IOException, InterruptedException {
+        String outFile = destinationFolder + "hashedSmartModeSameResourcesCopyingAndFlushing.pdf";
+        String cmpFile = sourceFolder + "cmp_smartModeSameResourcesCopyingAndFlushing.pdf";
+        String[] srcFiles = new String[]{
+                sourceFolder + "indirectResourcesStructure.pdf",
+                sourceFolder + "indirectResourcesStructure2.pdf"
+        };
+
+        PdfDocument outputDoc = new PdfDocument(new PdfWriter(outFile,
+                new WriterProperties().useHashedSmartMode(100)));
+
+        for (String srcFile : srcFiles) {
+            PdfDocument sourceDoc = new PdfDocument(new PdfReader(srcFile));
+            sourceDoc.copyPagesTo(1, sourceDoc.getNumberOfPages(), outputDoc);
+            sourceDoc.close();
+
+            outputDoc.flushCopiedObjects(sourceDoc);
+        }
+
+        outputDoc.close();
+
+        PdfDocument assertDoc = new PdfDocument(new PdfReader(outFile));
+        PdfIndirectReference page1ResFontObj = assertDoc.getPage(1).getPdfObject().getAsDictionary(PdfName.Resources)
+                .getAsDictionary(PdfName.Font).getIndirectReference();
+        PdfIndirectReference page3ResFontObj = assertDoc.getPage(3).getPdfObject().getAsDictionary(PdfName.Resources)
+                .getAsDictionary(PdfName.Font).getIndirectReference();
+
+        Assert.assertTrue(page1ResFontObj.equals(page3ResFontObj));
+        assertDoc.close();
+
+        Assert.assertNull(new CompareTool().compareByContent(outFile, cmpFile, destinationFolder));
+    }
 }
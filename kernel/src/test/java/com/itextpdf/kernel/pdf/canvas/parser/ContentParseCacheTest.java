@@ -0,0 +1,176 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class ContentParseCacheTest extends ExtendedITextTest {
+
+    private static final int PAGES_COUNT = 10;
+
+    @Test
+    public void sharedLetterheadIsParsedOnceTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            ContentParseCache parseCache = new ContentParseCache();
+            for (int i = 1; i <= PAGES_COUNT; i++) {
+                PdfPage page = pdfDocument.getPage(i);
+                String expected = PdfTextExtractor.getTextFromPage(page, new LocationTextExtractionStrategy());
+
+                LocationTextExtractionStrategy strategy = new LocationTextExtractionStrategy();
+                PdfCanvasProcessor processor = new PdfCanvasProcessor(strategy);
+                processor.setParseCache(parseCache);
+                Assert.assertSame(parseCache, processor.getParseCache());
+                processor.processPageContent(page);
+
+                Assert.assertEquals(expected, strategy.getResultantText());
+                Assert.assertTrue(expected.startsWith("Letterhead Inc."));
+                Assert.assertTrue(expected.endsWith("Page " + i));
+            }
+            Assert.assertEquals(1, parseCache.getCachedContentsCount());
+            Assert.assertEquals(2, parseCache.getCachedFontsCount());
+        }
+    }
+
+    @Test
+    public void cachedCommandsAreReusedTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            PdfStream letterhead = getLetterhead(pdfDocument.getPage(1));
+            PdfResources resources = new PdfResources(letterhead.getAsDictionary(PdfName.Resources));
+
+            ContentParseCache parseCache = new ContentParseCache();
+            List<PdfObject[]> commands = parseCache.getCommands(letterhead, resources);
+            Assert.assertSame(commands, parseCache.getCommands(getLetterhead(pdfDocument.getPage(2)), resources));
+
+            parseCache.clear();
+            Assert.assertEquals(0, parseCache.getCachedContentsCount());
+            Assert.assertNotSame(commands, parseCache.getCommands(letterhead, resources));
+        }
+    }
+
+    @Test
+    public void contentSizeLimitTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            PdfStream letterhead = getLetterhead(pdfDocument.getPage(1));
+            PdfResources resources = new PdfResources(letterhead.getAsDictionary(PdfName.Resources));
+
+            ContentParseCache parseCache = new ContentParseCache(letterhead.getBytes().length - 1,
+                    ContentParseCache.DEFAULT_MAX_FONTS_COUNT);
+            List<PdfObject[]> commands = parseCache.getCommands(letterhead, resources);
+            Assert.assertFalse(commands.isEmpty());
+            Assert.assertEquals(0, parseCache.getCachedContentsCount());
+        }
+    }
+
+    @Test
+    public void parsedContentSizeIsEstimatedTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            PdfStream letterhead = getLetterhead(pdfDocument.getPage(1));
+            PdfResources resources = new PdfResources(letterhead.getAsDictionary(PdfName.Resources));
+
+            ContentParseCache parseCache = new ContentParseCache();
+            parseCache.getCommands(letterhead, resources);
+            Assert.assertEquals(1, parseCache.getCachedContentsCount());
+            // the parsed objects take several times more memory than the content bytes
+            Assert.assertTrue(parseCache.getCachedContentSize() > 2L * letterhead.getBytes().length);
+
+            ContentParseCache smallCache = new ContentParseCache(2L * letterhead.getBytes().length,
+                    ContentParseCache.DEFAULT_MAX_FONTS_COUNT);
+            smallCache.getCommands(letterhead, resources);
+            Assert.assertEquals(0, smallCache.getCachedContentsCount());
+        }
+    }
+
+    @Test
+    public void fontsCountLimitTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            PdfResources resources = new PdfResources(
+                    getLetterhead(pdfDocument.getPage(1)).getAsDictionary(PdfName.Resources));
+            PdfDictionary firstFont = resources.getResource(PdfName.Font).getAsDictionary(new PdfName("F1"));
+            PdfDictionary secondFont = pdfDocument.getPage(1).getResources().getResource(PdfName.Font)
+                    .getAsDictionary(new PdfName("F1"));
+            Assert.assertNotSame(firstFont, secondFont);
+
+            ContentParseCache parseCache = new ContentParseCache(ContentParseCache.DEFAULT_MAX_CONTENT_SIZE, 1);
+            PdfFont font = parseCache.getFont(firstFont);
+            Assert.assertSame(font, parseCache.getFont(firstFont));
+            parseCache.getFont(secondFont);
+            Assert.assertEquals(1, parseCache.getCachedFontsCount());
+            Assert.assertNotSame(font, parseCache.getFont(firstFont));
+        }
+    }
+
+    private static PdfStream getLetterhead(PdfPage page) {
+        return page.getResources().getResource(PdfName.XObject).getAsStream(new PdfName("Fm1"));
+    }
+
+    private static byte[] createDocument() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont letterheadFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+            PdfFormXObject letterhead = new PdfFormXObject(new Rectangle(0, 0, 500, 60));
+            new PdfCanvas(letterhead, pdfDocument).beginText()
+                    .setFontAndSize(letterheadFont, 16)
+                    .moveText(10, 30)
+                    .showText("Letterhead Inc.")
+                    .endText();
+
+            PdfFont textFont = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            for (int i = 1; i <= PAGES_COUNT; i++) {
+                PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+                canvas.addXObjectAt(letterhead, 40, 760);
+                canvas.beginText()
+                        .setFontAndSize(textFont, 12)
+                        .moveText(50, 700)
+                        .showText("Page " + i)
+                        .endText();
+            }
+        }
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Category(IntegrationTest.class)
+public class ParallelTextExtractorTest extends ExtendedITextTest {
+
+    private static final String DESTINATION_FOLDER =
+            "./target/test/com/itextpdf/kernel/pdf/canvas/parser/ParallelTextExtractorTest/";
+
+    private static final int PAGES_COUNT = 50;
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(DESTINATION_FOLDER);
+    }
+
+    @Test
+    public void extractAllPagesTest() throws IOException {
+        byte[] document = createDocument();
+        IRandomAccessSource source = new RandomAccessSourceFactory().createSource(document);
+
+        List<String> pagesText = new ParallelTextExtractor(source, 4).extractAll(LocationTextExtractionStrategy::new);
+
+        Assert.assertEquals(PAGES_COUNT, pagesText.size());
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(document)))) {
+            for (int i = 1; i <= PAGES_COUNT; i++) {
+                String expected = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i));
+                Assert.assertEquals(expected, pagesText.get(i - 1));
+                Assert.assertTrue(pagesText.get(i - 1).startsWith("Page " + i + "\n"));
+            }
+        }
+    }
+
+    @Test
+    public void extractAllPagesFromPositionalFileSourceTest() throws IOException {
+        String fileName = DESTINATION_FOLDER + "positionalFileSource.pdf";
+        byte[] document = createDocument();
+        try (FileOutputStream fos = new FileOutputStream(fileName)) {
+            fos.write(document);
+        }
+
+        IRandomAccessSource source = new RandomAccessSourceFactory().setUsePositionalReads(true)
+                .createBestSource(fileName);
+        List<String> pagesText;
+        try {
+            pagesText = new ParallelTextExtractor(source, 4).extractAll(LocationTextExtractionStrategy::new);
+        } finally {
+            source.close();
+        }
+
+        List<String> expectedText = new ParallelTextExtractor(new RandomAccessSourceFactory().createSource(document), 1)
+                .extractAll(LocationTextExtractionStrategy::new);
+        Assert.assertEquals(expectedText, pagesText);
+    }
+
+    @Test
+    public void moreThreadsThanPagesTest() throws IOException {
+        IRandomAccessSource source = new RandomAccessSourceFactory().createSource(createDocument());
+
+        List<String> pagesText = new ParallelTextExtractor(source, PAGES_COUNT * 2)
+                .extractAll(SimpleTextExtractionStrategy::new);
+
+        Assert.assertEquals(PAGES_COUNT, pagesText.size());
+        Assert.assertTrue(pagesText.get(PAGES_COUNT - 1).startsWith("Page " + PAGES_COUNT + "\n"));
+    }
+
+    @Test
+    public void failedExtractionTest() throws IOException {
+        IRandomAccessSource source = new RandomAccessSourceFactory().createSource(createDocument());
+        final AtomicInteger createdStrategies = new AtomicInteger();
+        ParallelTextExtractor extractor = new ParallelTextExtractor(source, 4);
+
+        Exception e = Assert.assertThrows(PdfException.class, () -> extractor.extractAll(() -> {
+            if (createdStrategies.incrementAndGet() == 10) {
+                throw new PdfException("strategy cannot be created");
+            }
+            return (ITextExtractionStrategy) new SimpleTextExtractionStrategy();
+        }));
+        Assert.assertEquals("strategy cannot be created", e.getMessage());
+        Assert.assertTrue(createdStrategies.get() < PAGES_COUNT);
+    }
+
+    @Test
+    public void errorInWorkerThreadTest() throws IOException {
+        IRandomAccessSource source = new RandomAccessSourceFactory().createSource(createDocument());
+        final Thread callingThread = Thread.currentThread();
+        final CountDownLatch errorThrown = new CountDownLatch(1);
+        ParallelTextExtractor extractor = new ParallelTextExtractor(source, 2);
+
+        Exception e = Assert.assertThrows(PdfException.class, () -> extractor.extractAll(() -> {
+            if (Thread.currentThread() != callingThread) {
+                errorThrown.countDown();
+                throw new AssertionError("strategy cannot be created");
+            }
+            try {
+                // let the worker thread take a page
+                errorThrown.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return (ITextExtractionStrategy) new SimpleTextExtractionStrategy();
+        }));
+        Assert.assertEquals(KernelExceptionMessageConstant.TEXT_EXTRACTION_FAILED, e.getMessage());
+        Assert.assertEquals("strategy cannot be created", e.getCause().getMessage());
+    }
+
+    private static byte[] createDocument() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            for (int i = 1; i <= PAGES_COUNT; i++) {
+                PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+                canvas.beginText()
+                        .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                        .moveText(36, 750)
+                        .showText("Page " + i);
+                for (int line = 1; line <= 20; line++) {
+                    canvas.moveText(0, -20).showText("Line " + line + " of page " + i);
+                }
+                canvas.endText();
+            }
+        }
+        return baos.toByteArray();
+    }
+}
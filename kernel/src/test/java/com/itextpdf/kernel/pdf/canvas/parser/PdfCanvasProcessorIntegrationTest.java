@@ -22,9 +22,14 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.Matrix;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.logs.KernelLogMessageConstant;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.colors.Color;
@@ -32,21 +37,26 @@ import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.filter.TextRegionEventFilter;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ClippingPathInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.FilteredEventListener;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
 import com.itextpdf.kernel.pdf.colorspace.PdfSpecialCs;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.test.AssertUtil;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -94,6 +104,24 @@ public class PdfCanvasProcessorIntegrationTest extends ExtendedITextTest {
         Assert.assertEquals(expectedPageEventsLog, pageEventsLog.toString());
     }
 
+    @Test
+    public void contentStreamProcessorWithReusedOperandsTest() throws IOException {
+        PdfDocument document = new PdfDocument(new PdfReader(SOURCE_FOLDER + "tableWithImageAndText.pdf"));
+
+        StringBuilder pageEventsLog = new StringBuilder();
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new RecordEveryHighLevelEventListener(pageEventsLog));
+        processor.setReuseOperands(true);
+        for (int i = 1; i <= document.getNumberOfPages(); ++i) {
+            processor.processPageContent(document.getPage(i));
+            processor.reset();
+        }
+
+        byte[] logBytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "contentStreamProcessorTest_events_log.dat"));
+        String expectedPageEventsLog = new String(logBytes, StandardCharsets.UTF_8);
+
+        Assert.assertEquals(expectedPageEventsLog, pageEventsLog.toString());
+    }
+
     @Test
     public void processGraphicsStateResourceOperatorFillOpacityTest() throws IOException {
         PdfDocument document = new PdfDocument(new PdfReader(SOURCE_FOLDER + "transparentText.pdf"));
@@ -231,6 +259,88 @@ public class PdfCanvasProcessorIntegrationTest extends ExtendedITextTest {
         Assert.assertEquals(5, imageRenderInfo.getMcid());
     }
 
+    @Test
+    public void regionOfInterestTest() throws IOException {
+        Rectangle header = new Rectangle(0, 780, 595, 62);
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(createRegionsDocument())))) {
+            PdfPage page = document.getPage(1);
+
+            String expectedText = extractRegionText(page, header, false);
+            String actualText = extractRegionText(page, header, true);
+            Assert.assertEquals("Header text", expectedText);
+            Assert.assertEquals(expectedText, actualText);
+
+            EventCountingListener allEvents = new EventCountingListener();
+            new PdfCanvasProcessor(allEvents).processPageContent(page);
+            Assert.assertEquals(3, allEvents.getCount(EventType.RENDER_TEXT));
+            Assert.assertEquals(1, allEvents.getCount(EventType.RENDER_IMAGE));
+            Assert.assertEquals(2, allEvents.getCount(EventType.RENDER_PATH));
+
+            EventCountingListener regionEvents = new EventCountingListener();
+            PdfCanvasProcessor processor = new PdfCanvasProcessor(regionEvents);
+            processor.setRegionOfInterest(header);
+            Assert.assertSame(header, processor.getRegionOfInterest());
+            processor.processPageContent(page);
+            // the body text, the image, the footer form and the footer line are skipped
+            Assert.assertEquals(1, regionEvents.getCount(EventType.RENDER_TEXT));
+            Assert.assertEquals(0, regionEvents.getCount(EventType.RENDER_IMAGE));
+            Assert.assertEquals(1, regionEvents.getCount(EventType.RENDER_PATH));
+            Assert.assertEquals(2, regionEvents.getCount(EventType.BEGIN_TEXT));
+        }
+    }
+
+    private static String extractRegionText(PdfPage page, Rectangle region, boolean useRegionOfInterest) {
+        FilteredEventListener listener = new FilteredEventListener();
+        LocationTextExtractionStrategy strategy = listener.attachEventListener(new LocationTextExtractionStrategy(),
+                new TextRegionEventFilter(region));
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(listener);
+        if (useRegionOfInterest) {
+            processor.setRegionOfInterest(region);
+        }
+        processor.processPageContent(page);
+        return strategy.getResultantText();
+    }
+
+    private static byte[] createRegionsDocument() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            PdfFormXObject footer = new PdfFormXObject(new Rectangle(0, 0, 500, 30));
+            new PdfCanvas(footer, document).beginText().setFontAndSize(font, 10).moveText(5, 10)
+                    .showText("Footer text").endText();
+
+            PdfCanvas canvas = new PdfCanvas(document.addNewPage());
+            canvas.beginText().setFontAndSize(font, 14).moveText(50, 800).showText("Header text").endText();
+            canvas.moveTo(50, 790).lineTo(545, 790).stroke();
+            canvas.beginText().setFontAndSize(font, 12).moveText(50, 600).showText("Body text").endText();
+            canvas.addImageFittedIntoRectangle(ImageDataFactory.create(1, 1, 3, 8, new byte[] {0, 0, 0}, null),
+                    new Rectangle(50, 400, 100, 100), false);
+            canvas.moveTo(50, 80).lineTo(545, 80).stroke();
+            canvas.addXObjectAt(footer, 50, 40);
+        }
+        return baos.toByteArray();
+    }
+
+    private static class EventCountingListener implements IEventListener {
+        private final Map<EventType, Integer> counts = new HashMap<>();
+
+        @Override
+        public void eventOccurred(IEventData data, EventType type) {
+            Integer count = counts.get(type);
+            counts.put(type, count == null ? 1 : count + 1);
+        }
+
+        @Override
+        public Set<EventType> getSupportedEvents() {
+            return null;
+        }
+
+        int getCount(EventType type) {
+            Integer count = counts.get(type);
+            return count == null ? 0 : count;
+        }
+    }
+
     private static class ColorParsingEventListener implements IEventListener {
         private List<IEventData> content = new ArrayList<>();
         private static final String pathDataExpected = "Path data expected.";
@@ -22,18 +22,27 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.LineSegment;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.geom.Vector;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.data.GlyphRunInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.CharacterRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -126,6 +135,96 @@ public class TextRenderInfoTest extends ExtendedITextTest {
         Assert.assertEquals(expectedResult, result);
     }
 
+    @Test
+    public void glyphRunMatchesCharacterRenderInfosTest() throws IOException {
+        String[] inFiles = {"simple_text.pdf", "japanese_text.pdf", "type3font_text.pdf", "double_cmap_mapping.pdf",
+                "embedded_identity_to_unicode.pdf"};
+        for (String inFile : inFiles) {
+            try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(SOURCE_FOLDER + inFile))) {
+                GlyphRunEventListener listener = new GlyphRunEventListener();
+                new PdfCanvasProcessor(listener).processPageContent(pdfDocument.getPage(FIRST_PAGE));
+                Assert.assertTrue(inFile, listener.glyphsCount > 0);
+            }
+        }
+    }
+
+    @Test
+    public void glyphRunWithTextStateParametersTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+            canvas.beginText()
+                    .setFontAndSize(PdfFontFactory.createFont(StandardFonts.TIMES_ROMAN), 13)
+                    .setCharacterSpacing(1.5f)
+                    .setWordSpacing(3)
+                    .setHorizontalScaling(80)
+                    .setTextRise(4)
+                    .setTextMatrix(0.8f, 0.6f, -0.6f, 0.8f, 100, 500)
+                    .showText("Glyph run with spaces ")
+                    .endText();
+        }
+
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            GlyphRunEventListener listener = new GlyphRunEventListener();
+            new PdfCanvasProcessor(listener).processPageContent(pdfDocument.getPage(FIRST_PAGE));
+            Assert.assertEquals("Glyph run with spaces ".length(), listener.glyphsCount);
+        }
+    }
+
+    private static class GlyphRunEventListener implements IEventListener {
+        int glyphsCount;
+
+        @Override
+        public void eventOccurred(IEventData data, EventType type) {
+            if (type.equals(EventType.RENDER_TEXT)) {
+                TextRenderInfo renderInfo = (TextRenderInfo) data;
+                GlyphRunInfo glyphRun = renderInfo.getGlyphRun();
+                List<TextRenderInfo> subs = renderInfo.getCharacterRenderInfos();
+                Assert.assertEquals(subs.size(), glyphRun.getLength());
+                float[] baselines = glyphRun.getBaselineCoordinates();
+                for (int i = 0; i < subs.size(); i++) {
+                    TextRenderInfo charInfo = subs.get(i);
+                    Assert.assertEquals(charInfo.getText(), glyphRun.getText(i));
+                    assertLinesEqual(charInfo.getBaseline(), glyphRun.getBaseline(i));
+                    assertLinesEqual(charInfo.getAscentLine(), glyphRun.getAscentLine(i));
+                    assertLinesEqual(charInfo.getDescentLine(), glyphRun.getDescentLine(i));
+                    Assert.assertEquals(charInfo.getBaseline().getStartPoint().get(0), baselines[4 * i], 0);
+                    Assert.assertEquals(charInfo.getBaseline().getEndPoint().get(1), baselines[4 * i + 3], 0);
+                    Assert.assertEquals(charInfo.getSingleSpaceWidth(), glyphRun.getSingleSpaceWidth(i), 0);
+
+                    Rectangle expectedBox = new CharacterRenderInfo(charInfo).getBoundingBox();
+                    Rectangle actualBox = glyphRun.getBoundingBox(i);
+                    Assert.assertEquals(expectedBox.getX(), actualBox.getX(), 0);
+                    Assert.assertEquals(expectedBox.getY(), actualBox.getY(), 0);
+                    Assert.assertEquals(expectedBox.getWidth(), actualBox.getWidth(), 0);
+                    Assert.assertEquals(expectedBox.getHeight(), actualBox.getHeight(), 0);
+
+                    TextRenderInfo lazyCharInfo = glyphRun.getCharacterRenderInfo(i);
+                    Assert.assertEquals(charInfo.getText(), lazyCharInfo.getText());
+                    assertLinesEqual(charInfo.getBaseline(), lazyCharInfo.getBaseline());
+                }
+                StringBuilder text = new StringBuilder();
+                for (TextRenderInfo charInfo : subs) {
+                    text.append(charInfo.getText());
+                }
+                Assert.assertEquals(text.toString(), glyphRun.getText());
+                glyphsCount += subs.size();
+            }
+        }
+
+        @Override
+        public Set<EventType> getSupportedEvents() {
+            return new LinkedHashSet<>(Collections.singletonList(EventType.RENDER_TEXT));
+        }
+
+        private static void assertLinesEqual(LineSegment expected, LineSegment actual) {
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals(expected.getStartPoint().get(i), actual.getStartPoint().get(i), 0);
+                Assert.assertEquals(expected.getEndPoint().get(i), actual.getEndPoint().get(i), 0);
+            }
+        }
+    }
+
     private static class TextPositionEventListener implements IEventListener {
         List<LineSegment> lineSegments = new ArrayList<>();
 
@@ -0,0 +1,148 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class StreamingLocationTextExtractionStrategyTest extends ExtendedITextTest {
+
+    private static final String SOURCE_FOLDER =
+            "./src/test/resources/com/itextpdf/kernel/parser/PdfCanvasProcessorTest/";
+
+    private static final int ROWS_COUNT = 40;
+
+    private static final int COLUMNS_COUNT = 6;
+
+    @Test
+    public void sameTextAsLocationStrategyTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createTable())))) {
+            String expected = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1),
+                    new LocationTextExtractionStrategy());
+            String actual = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1),
+                    new StreamingLocationTextExtractionStrategy());
+            Assert.assertEquals(expected, actual);
+            Assert.assertTrue(actual.startsWith("r0c0 r0c1 r0c2 r0c3 r0c4 r0c5\nr1c0 "));
+        }
+    }
+
+    @Test
+    public void sameTextAsLocationStrategyForExistingDocumentTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(SOURCE_FOLDER + "tableWithImageAndText.pdf"))) {
+            for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+                PdfPage page = pdfDocument.getPage(i);
+                Assert.assertEquals(PdfTextExtractor.getTextFromPage(page, new LocationTextExtractionStrategy()),
+                        PdfTextExtractor.getTextFromPage(page, new StreamingLocationTextExtractionStrategy()));
+            }
+        }
+    }
+
+    @Test
+    public void writeTextToWriterTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createTable())))) {
+            String expected = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1),
+                    new LocationTextExtractionStrategy());
+
+            StringWriter writer = new StringWriter();
+            String result = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1),
+                    new StreamingLocationTextExtractionStrategy(writer));
+            Assert.assertEquals("", result);
+            Assert.assertEquals(expected, writer.toString());
+        }
+    }
+
+    @Test
+    public void limitedBufferKeepsAllTextTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createTable())))) {
+            String expected = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1),
+                    new LocationTextExtractionStrategy());
+
+            StringWriter writer = new StringWriter();
+            StreamingLocationTextExtractionStrategy strategy = new StreamingLocationTextExtractionStrategy(writer)
+                    .setMaxBufferedChunks(COLUMNS_COUNT * 4);
+            Assert.assertEquals(COLUMNS_COUNT * 4, strategy.getMaxBufferedChunks());
+            PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1), strategy);
+
+            // the rows are drawn from the bottom up, so the order is approximate, but every cell is written once
+            List<String> expectedCells = Arrays.asList(expected.split("[ \n]"));
+            List<String> actualCells = Arrays.asList(writer.toString().split("[ \n]"));
+            Assert.assertEquals(ROWS_COUNT * COLUMNS_COUNT, actualCells.size());
+            Assert.assertTrue(actualCells.containsAll(expectedCells));
+            // a line never mixes the cells of different rows
+            for (String line : writer.toString().split("\n")) {
+                String row = line.substring(0, line.indexOf('c'));
+                for (String cell : line.split(" ")) {
+                    Assert.assertTrue(cell.startsWith(row + "c"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void invalidMaxBufferedChunksTest() {
+        StreamingLocationTextExtractionStrategy strategy = new StreamingLocationTextExtractionStrategy();
+        Assert.assertThrows(IllegalArgumentException.class, () -> strategy.setMaxBufferedChunks(0));
+    }
+
+    /**
+     * Creates a page with a table whose rows are drawn from the bottom up and whose cells are drawn from
+     * the right to the left, so that the content order differs from the reading order.
+     */
+    private static byte[] createTable() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+            for (int row = ROWS_COUNT - 1; row >= 0; row--) {
+                for (int column = COLUMNS_COUNT - 1; column >= 0; column--) {
+                    canvas.beginText()
+                            .setFontAndSize(font, 10)
+                            .moveText(40 + column * 80, 800 - row * 18)
+                            .showText("r" + row + "c" + column)
+                            .endText();
+                }
+            }
+        }
+        return baos.toByteArray();
+    }
+}
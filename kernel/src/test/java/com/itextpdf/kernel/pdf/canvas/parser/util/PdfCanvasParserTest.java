@@ -30,7 +30,9 @@ import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfLiteral;
 import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfResources;
@@ -40,6 +42,7 @@ import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.Assert;
@@ -100,4 +103,38 @@ public class PdfCanvasParserTest extends ExtendedITextTest {
         Assert.assertEquals(MessageFormatUtil.format(KernelExceptionMessageConstant.UNEXPECTED_TOKEN, ">>"),
                 exception.getCause().getMessage());
     }
+
+    @Test
+    public void parseWithOperandsPoolTest() throws IOException {
+        byte[] content = "1 0 0 1 72.5 -3 cm 0 0 m 10.25 20 l S 2 w S".getBytes(StandardCharsets.ISO_8859_1);
+
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(factory.createSource(content)));
+        ContentOperandsPool pool = new ContentOperandsPool();
+        PdfCanvasParser ps = new PdfCanvasParser(tokeniser, null, pool);
+
+        List<PdfObject> operands = new ArrayList<>();
+        ps.parse(operands);
+        Assert.assertEquals(7, operands.size());
+        Assert.assertEquals(72.5, ((PdfNumber) operands.get(4)).doubleValue(), 0);
+        Assert.assertEquals(-3, ((PdfNumber) operands.get(5)).doubleValue(), 0);
+        Assert.assertEquals(new PdfLiteral("cm"), operands.get(6));
+        PdfNumber firstNumber = (PdfNumber) operands.get(0);
+
+        ps.parse(operands);
+        Assert.assertEquals(new PdfLiteral("m"), operands.get(2));
+        // numbers are handed out again after the next command is parsed
+        Assert.assertSame(firstNumber, operands.get(0));
+        Assert.assertEquals(0, firstNumber.doubleValue(), 0);
+
+        ps.parse(operands);
+        Assert.assertEquals(10.25, ((PdfNumber) operands.get(0)).doubleValue(), 0);
+        ps.parse(operands);
+        PdfObject strokeOperator = operands.get(0);
+        Assert.assertEquals(new PdfLiteral("S"), strokeOperator);
+
+        ps.parse(operands);
+        ps.parse(operands);
+        Assert.assertSame(strokeOperator, operands.get(0));
+    }
 }
@@ -0,0 +1,176 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FlateDecodeFilterTest extends ExtendedITextTest {
+
+    @Test
+    public void decodeTest() {
+        byte[] data = createData(100000);
+        byte[] decoded = new FlateDecodeFilter().decode(deflate(data, null), PdfName.FlateDecode, null,
+                new PdfDictionary());
+        Assert.assertArrayEquals(data, decoded);
+    }
+
+    @Test
+    public void decodeWithDecodedLengthTest() {
+        byte[] data = createData(100000);
+        PdfDictionary streamDictionary = new PdfDictionary();
+        streamDictionary.put(PdfName.DL, new PdfNumber(data.length));
+        byte[] decoded = new FlateDecodeFilter().decode(deflate(data, null), PdfName.FlateDecode, null,
+                streamDictionary);
+        Assert.assertArrayEquals(data, decoded);
+    }
+
+    @Test
+    public void decodeWithIncorrectDecodedLengthTest() {
+        byte[] data = createData(100000);
+        byte[] encoded = deflate(data, null);
+        PdfDictionary streamDictionary = new PdfDictionary();
+        streamDictionary.put(PdfName.DL, new PdfNumber(10));
+        Assert.assertArrayEquals(data, new FlateDecodeFilter().decode(encoded, PdfName.FlateDecode, null,
+                streamDictionary));
+        streamDictionary.put(PdfName.DL, new PdfNumber(Integer.MAX_VALUE));
+        Assert.assertArrayEquals(data, new FlateDecodeFilter().decode(encoded, PdfName.FlateDecode, null,
+                streamDictionary));
+    }
+
+    @Test
+    public void decodedLengthHintTest() {
+        byte[] encoded = new byte[100];
+        PdfDictionary streamDictionary = new PdfDictionary();
+        Assert.assertEquals(-1, FlateDecodeFilter.getDecodedLengthHint(encoded, streamDictionary));
+        streamDictionary.put(PdfName.DL, new PdfNumber(5000));
+        Assert.assertEquals(5000, FlateDecodeFilter.getDecodedLengthHint(encoded, streamDictionary));
+        streamDictionary.put(PdfName.DL, new PdfNumber(103200));
+        Assert.assertEquals(103200, FlateDecodeFilter.getDecodedLengthHint(encoded, streamDictionary));
+        streamDictionary.put(PdfName.DL, new PdfNumber(103201));
+        Assert.assertEquals(-1, FlateDecodeFilter.getDecodedLengthHint(encoded, streamDictionary));
+        streamDictionary.put(PdfName.DL, new PdfNumber(Integer.MAX_VALUE));
+        Assert.assertEquals(-1, FlateDecodeFilter.getDecodedLengthHint(encoded, streamDictionary));
+        streamDictionary.put(PdfName.DL, new PdfNumber(-1));
+        Assert.assertEquals(-1, FlateDecodeFilter.getDecodedLengthHint(encoded, streamDictionary));
+    }
+
+    @Test
+    public void decodedLengthHintIsLimitedTest() {
+        byte[] encoded = new byte[10000];
+        PdfDictionary streamDictionary = new PdfDictionary();
+        streamDictionary.put(PdfName.DL, new PdfNumber(1 << 20));
+        Assert.assertEquals(1 << 20, FlateDecodeFilter.getDecodedLengthHint(encoded, streamDictionary));
+        streamDictionary.put(PdfName.DL, new PdfNumber(10000000));
+        Assert.assertEquals(1 << 20, FlateDecodeFilter.getDecodedLengthHint(encoded, streamDictionary));
+    }
+
+    @Test
+    public void decodeLongerThanLimitedHintTest() {
+        byte[] data = createData((1 << 20) + 5000);
+        PdfDictionary streamDictionary = new PdfDictionary();
+        streamDictionary.put(PdfName.DL, new PdfNumber(data.length));
+        Assert.assertArrayEquals(data, new FlateDecodeFilter().decode(deflate(data, null), PdfName.FlateDecode, null,
+                streamDictionary));
+    }
+
+    @Test
+    public void decodedLengthHintOfFilterChainTest() {
+        byte[] encoded = new byte[100];
+        PdfDictionary streamDictionary = new PdfDictionary();
+        streamDictionary.put(PdfName.DL, new PdfNumber(5000));
+
+        streamDictionary.put(PdfName.Filter, PdfName.FlateDecode);
+        Assert.assertEquals(5000, FlateDecodeFilter.getDecodedLengthHint(encoded, streamDictionary));
+        streamDictionary.put(PdfName.Filter, new PdfArray(Arrays.asList((PdfObject) PdfName.ASCIIHexDecode,
+                PdfName.FlateDecode)));
+        Assert.assertEquals(5000, FlateDecodeFilter.getDecodedLengthHint(encoded, streamDictionary));
+        // /DL is the length of the data decoded by DCTDecode
+        streamDictionary.put(PdfName.Filter, new PdfArray(Arrays.asList((PdfObject) PdfName.FlateDecode,
+                PdfName.DCTDecode)));
+        Assert.assertEquals(-1, FlateDecodeFilter.getDecodedLengthHint(encoded, streamDictionary));
+        streamDictionary.put(PdfName.Filter, new PdfArray(Arrays.asList((PdfObject) PdfName.FlateDecode,
+                PdfName.FlateDecode)));
+        Assert.assertEquals(-1, FlateDecodeFilter.getDecodedLengthHint(encoded, streamDictionary));
+    }
+
+    @Test
+    public void strictDecodeOfTruncatedStreamTest() {
+        byte[] data = createData(100000);
+        byte[] encoded = deflate(data, null);
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+        Assert.assertNull(FlateDecodeFilter.flateDecode(truncated, true));
+
+        byte[] decoded = new FlateDecodeFilter().decode(truncated, PdfName.FlateDecode, null, new PdfDictionary());
+        Assert.assertTrue(decoded.length > 0 && decoded.length < data.length);
+        Assert.assertArrayEquals(Arrays.copyOf(data, decoded.length), decoded);
+    }
+
+    @Test
+    public void strictDecodeOfStreamWithPresetDictionaryTest() {
+        byte[] data = createData(1000);
+        Assert.assertNull(FlateDecodeFilter.flateDecode(deflate(data, new byte[] {1, 2, 3}), true));
+    }
+
+    @Test
+    public void strictDecodeOfEmptyStreamTest() {
+        Assert.assertNull(FlateDecodeFilter.flateDecode(new byte[0], true));
+    }
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ((i % 251) ^ (i / 1000));
+        }
+        return data;
+    }
+
+    private static byte[] deflate(byte[] data, byte[] dictionary) {
+        Deflater deflater = new Deflater();
+        if (dictionary != null) {
+            deflater.setDictionary(dictionary);
+        }
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+}
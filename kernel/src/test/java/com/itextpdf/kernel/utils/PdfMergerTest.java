@@ -23,6 +23,7 @@
 package com.itextpdf.kernel.utils;
 
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
@@ -38,6 +39,7 @@ import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -45,6 +47,9 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.xml.parsers.ParserConfigurationException;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -552,6 +557,108 @@ public class PdfMergerTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(mergedDocument, cmpDocument, destinationFolder));
     }
 
+    @Test
+    public void mergeDocumentsInParallelTest() throws IOException, InterruptedException {
+        String[] sources = new String[] {sourceFolder + "courierTest.pdf", sourceFolder + "helveticaTest.pdf",
+                sourceFolder + "timesRomanTest.pdf", sourceFolder + "doc1.pdf"};
+        String resultFile = destinationFolder + "mergeDocumentsInParallel.pdf";
+        String cmpFile = destinationFolder + "mergeDocumentsSequentially.pdf";
+
+        mergeSequentially(sources, cmpFile, false);
+        mergeInParallel(sources, resultFile, false);
+
+        Assert.assertNull(new CompareTool().compareByContent(resultFile, cmpFile, destinationFolder, "diff_"));
+    }
+
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, count = 2)
+    })
+    public void mergeTaggedDocumentsInParallelTest() throws IOException, InterruptedException,
+            ParserConfigurationException, SAXException {
+        String[] sources = new String[] {sourceFolder + "pdf_open_parameters.pdf",
+                sourceFolder + "iphone_user_guide.pdf"};
+        String resultFile = destinationFolder + "mergeTaggedDocumentsInParallel.pdf";
+        String cmpFile = destinationFolder + "mergeTaggedDocumentsSequentially.pdf";
+
+        mergeSequentially(sources, cmpFile, true);
+        mergeInParallel(sources, resultFile, true);
+
+        CompareTool compareTool = new CompareTool();
+        Assert.assertNull(compareTool.compareByContent(resultFile, cmpFile, destinationFolder, "diff_"));
+        Assert.assertNull(compareTool.compareTagStructures(resultFile, cmpFile));
+    }
+
+    @Test
+    public void mergeInParallelFailedSourceTest() throws IOException {
+        final String source = sourceFolder + "courierTest.pdf";
+        List<Callable<PdfDocument>> sources = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            sources.add(() -> new PdfDocument(new PdfReader(source)));
+        }
+        sources.add(() -> {
+            throw new IOException("source is not available");
+        });
+
+        PdfDocument mergedDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfMerger merger = new PdfMerger(mergedDoc);
+        Exception e = Assert.assertThrows(PdfException.class, () -> merger.merge(sources, 4));
+        Assert.assertEquals("source is not available", e.getCause().getMessage());
+        Assert.assertEquals(10, mergedDoc.getNumberOfPages());
+        merger.close();
+    }
+
+    @Test(timeout = 10000)
+    public void mergeInParallelCancelsPendingSourcesTest() throws IOException {
+        final String source = sourceFolder + "courierTest.pdf";
+        final AtomicInteger startedSources = new AtomicInteger();
+        final CountDownLatch sourcesRelease = new CountDownLatch(1);
+        List<Callable<PdfDocument>> sources = new ArrayList<>();
+        sources.add(() -> {
+            throw new IOException("source is not available");
+        });
+        for (int i = 0; i < 10; i++) {
+            sources.add(() -> {
+                startedSources.incrementAndGet();
+                // blocks until the task is cancelled
+                sourcesRelease.await();
+                return new PdfDocument(new PdfReader(source));
+            });
+        }
+
+        PdfDocument mergedDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfMerger merger = new PdfMerger(mergedDoc);
+        Exception e = Assert.assertThrows(PdfException.class, () -> merger.merge(sources, 1));
+        Assert.assertEquals("source is not available", e.getCause().getMessage());
+        Assert.assertTrue(startedSources.get() <= 1);
+        merger.close();
+    }
+
+    private static void mergeSequentially(String[] sources, String destination, boolean tagged) throws IOException {
+        PdfDocument mergedDoc = new PdfDocument(new PdfWriter(destination));
+        if (tagged) {
+            mergedDoc.setTagged();
+        }
+        PdfMerger merger = new PdfMerger(mergedDoc).setCloseSourceDocuments(true);
+        for (String source : sources) {
+            PdfDocument sourcePdf = new PdfDocument(new PdfReader(source));
+            merger.merge(sourcePdf, 1, sourcePdf.getNumberOfPages());
+        }
+        merger.close();
+    }
+
+    private static void mergeInParallel(String[] sources, String destination, boolean tagged) throws IOException {
+        PdfDocument mergedDoc = new PdfDocument(new PdfWriter(destination));
+        if (tagged) {
+            mergedDoc.setTagged();
+        }
+        List<Callable<PdfDocument>> sourceDocuments = new ArrayList<>();
+        for (final String source : sources) {
+            sourceDocuments.add(() -> new PdfDocument(new PdfReader(source)));
+        }
+        new PdfMerger(mergedDoc).merge(sourceDocuments, 4).close();
+    }
+
     private void mergePdfs(List<File> sources, String destination, boolean smartMode) throws IOException {
         PdfDocument mergedDoc = new PdfDocument(new PdfWriter(destination));
         mergedDoc.getWriter().setSmartMode(smartMode);
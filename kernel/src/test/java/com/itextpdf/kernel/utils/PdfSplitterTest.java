@@ -23,7 +23,9 @@
 package com.itextpdf.kernel.utils;
 
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.test.ExtendedITextTest;
@@ -237,6 +239,113 @@ public class PdfSplitterTest extends ExtendedITextTest{
         }
     }
 
+    @Test
+    public void splitDocumentBySizeWithListenerTest() throws IOException, InterruptedException {
+        String inputFileName = sourceFolder + "splitBySize.pdf";
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName));
+        PdfSplitter splitter = new PdfSplitter(inputPdfDoc) {
+
+            int partNumber = 1;
+
+            @Override
+            protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                try {
+                    return new PdfWriter(destinationFolder + "splitBySizeWithListener_part" + String.valueOf(partNumber++) + ".pdf");
+                } catch (FileNotFoundException e) {
+                    throw new RuntimeException();
+                }
+            }
+        };
+
+        final List<Integer> partsPageCount = new ArrayList<>();
+        splitter.splitBySize(100000, new PdfSplitter.IDocumentReadyListener() {
+            @Override
+            public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                partsPageCount.add(pdfDocument.getNumberOfPages());
+                pdfDocument.close();
+            }
+        });
+        inputPdfDoc.close();
+
+        Assert.assertEquals(4, partsPageCount.size());
+        for (int i = 1; i <= 4; ++i) {
+            Assert.assertNull(new CompareTool().compareByContent(destinationFolder + "splitBySizeWithListener_part" + i + ".pdf",
+                    sourceFolder + "cmp/" + "cmp_splitBySize_part" + i + ".pdf", destinationFolder, "diff_"));
+        }
+    }
+
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, count = 2)
+    })
+    public void splitTaggedDocumentBySizeWithListenerTest() throws IOException {
+        String inputFileName = sourceFolder + "iphone_user_guide.pdf";
+        try (PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName))) {
+            int pagesCount = inputPdfDoc.getNumberOfPages();
+            final List<PageRange> splitRanges = new ArrayList<>();
+            final List<Integer> splitPagesCount = new ArrayList<>();
+
+            new PdfSplitter(inputPdfDoc).splitBySize(1000000, new PdfSplitter.IDocumentReadyListener() {
+                @Override
+                public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                    Assert.assertTrue(pdfDocument.isTagged());
+                    splitRanges.add(pageRange);
+                    splitPagesCount.add(pdfDocument.getNumberOfPages());
+                    pdfDocument.close();
+                }
+            });
+
+            int nextPage = 1;
+            for (int i = 0; i < splitRanges.size(); ++i) {
+                List<Integer> pages = splitRanges.get(i).getQualifyingPageNums(pagesCount);
+                Assert.assertEquals(nextPage, (int) pages.get(0));
+                Assert.assertEquals(pages.size(), (int) splitPagesCount.get(i));
+                nextPage += pages.size();
+            }
+            Assert.assertEquals(pagesCount + 1, nextPage);
+        }
+    }
+
+    @Test
+    public void splitBySizeWithListenerReleasesCopiedPagesTest() throws IOException {
+        try (PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(sourceFolder + "splitBySize.pdf"))) {
+            PdfDictionary firstPage = inputPdfDoc.getPage(1).getPdfObject();
+            PdfIndirectReference firstPageReference = firstPage.getIndirectReference();
+            new PdfSplitter(inputPdfDoc).splitBySize(100000, new PdfSplitter.IDocumentReadyListener() {
+                @Override
+                public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                    pdfDocument.close();
+                }
+            });
+            Assert.assertNotSame(firstPage, firstPageReference.getRefersTo());
+        }
+    }
+
+    @Test
+    public void splitWithoutStreamingKeepsSourcePagesTest() throws IOException {
+        try (PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(sourceFolder + "splitBySize.pdf"))) {
+            PdfDictionary firstPage = inputPdfDoc.getPage(1).getPdfObject();
+            PdfSplitter splitter = new PdfSplitter(inputPdfDoc);
+            for (PdfDocument part : splitter.splitBySize(100000)) {
+                part.close();
+            }
+            splitter.splitByPageCount(2, new PdfSplitter.IDocumentReadyListener() {
+                @Override
+                public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                    pdfDocument.close();
+                }
+            });
+            splitter.splitByPageNumbers(Arrays.asList(3, 5), new PdfSplitter.IDocumentReadyListener() {
+                @Override
+                public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                    pdfDocument.close();
+                }
+            });
+            Assert.assertSame(firstPage, firstPage.getIndirectReference().getRefersTo());
+            Assert.assertSame(firstPage, inputPdfDoc.getPage(1).getPdfObject());
+        }
+    }
+
     @Test
     @LogMessages(messages = {
             @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY , count = 10)
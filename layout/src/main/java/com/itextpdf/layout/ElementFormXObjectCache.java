@@ -0,0 +1,168 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.canvas.CanvasArtifact;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.element.IBlockElement;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Caches the drawing of repeated layout elements, such as running headers, footers or stamps, as
+ * {@link PdfFormXObject} instances, so that such elements are laid out only once per document
+ * instead of once per page.
+ *
+ * <p>
+ * The drawing is cached per element instance and per size of the area the element is laid out in.
+ * The first request lays the element out on a {@link Canvas} of a new form XObject with the bounding box
+ * of the requested size. All the following requests for the same element and size reuse that form XObject,
+ * which is written to the document only once and is referenced from every page it is shown on.
+ *
+ * <p>
+ * The cached drawing is valid as long as the element is not modified. If the element is changed after
+ * it has been shown, call {@link #invalidate(IBlockElement)} to drop its cached drawings. Elements whose
+ * content depends on the page, e.g. page numbers, should not be cached.
+ *
+ * <p>
+ * The content of the form XObjects is not tagged. If the document is tagged, the shown drawings are
+ * marked as artifacts.
+ */
+public class ElementFormXObjectCache {
+
+    private final PdfDocument pdfDocument;
+
+    private final Map<CacheKey, PdfFormXObject> formXObjects = new HashMap<>();
+
+    /**
+     * Creates a new cache for the drawings of the elements which are shown in the specified document.
+     *
+     * @param pdfDocument the document the cached form XObjects will be written to
+     */
+    public ElementFormXObjectCache(PdfDocument pdfDocument) {
+        this.pdfDocument = pdfDocument;
+    }
+
+    /**
+     * Gets the form XObject with the drawing of the element laid out in the area of the specified size.
+     * The element is laid out only if there is no cached drawing for this element and size yet.
+     *
+     * @param element the element to be drawn
+     * @param width   the width of the area the element is laid out in
+     * @param height  the height of the area the element is laid out in
+     * @return the form XObject with the drawing of the element, its bounding box is (0, 0, width, height)
+     */
+    public PdfFormXObject getFormXObject(IBlockElement element, float width, float height) {
+        CacheKey key = new CacheKey(element, width, height);
+        PdfFormXObject formXObject = formXObjects.get(key);
+        if (formXObject == null) {
+            formXObject = new PdfFormXObject(new Rectangle(width, height));
+            Canvas canvas = new Canvas(formXObject, pdfDocument);
+            canvas.add(element);
+            canvas.close();
+            formXObjects.put(key, formXObject);
+        }
+        return formXObject;
+    }
+
+    /**
+     * Shows the element in the specified area of the canvas. The result is the same as adding the element to
+     * a {@link Canvas} created for this area, however the element is laid out only once for all
+     * the areas of the same size.
+     *
+     * @param pdfCanvas the canvas to show the element on
+     * @param element   the element to be shown
+     * @param area      the area the element is laid out in
+     */
+    public void showElement(PdfCanvas pdfCanvas, IBlockElement element, Rectangle area) {
+        PdfFormXObject formXObject = getFormXObject(element, area.getWidth(), area.getHeight());
+        boolean isTagged = pdfDocument.isTagged();
+        if (isTagged) {
+            pdfCanvas.openTag(new CanvasArtifact());
+        }
+        pdfCanvas.addXObjectAt(formXObject, area.getX(), area.getY());
+        if (isTagged) {
+            pdfCanvas.closeTag();
+        }
+    }
+
+    /**
+     * Drops all the cached drawings of the element. Shall be called if the element is modified
+     * after it has been shown.
+     *
+     * @param element the element which drawings are to be dropped
+     */
+    public void invalidate(IBlockElement element) {
+        Iterator<CacheKey> iterator = formXObjects.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().element == element) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops all the cached drawings.
+     */
+    public void clear() {
+        formXObjects.clear();
+    }
+
+    private static final class CacheKey {
+        private final IBlockElement element;
+        private final float width;
+        private final float height;
+
+        CacheKey(IBlockElement element, float width, float height) {
+            this.element = element;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return element == other.element
+                    && Float.compare(width, other.width) == 0 && Float.compare(height, other.height) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(element);
+            result = 31 * result + Float.floatToIntBits(width);
+            result = 31 * result + Float.floatToIntBits(height);
+            return result;
+        }
+    }
+}
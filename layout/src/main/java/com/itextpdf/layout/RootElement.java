@@ -178,11 +178,13 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
     @Override
     public void deleteOwnProperty(int property) {
         properties.remove(property);
+        registerInheritedPropertiesModification(property);
     }
 
     @Override
     public void setProperty(int property, Object value) {
         properties.put(property, value);
+        registerInheritedPropertiesModification(property);
     }
 
     /**
@@ -337,6 +339,12 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     protected abstract RootRenderer ensureRootRendererNotNull();
 
+    private void registerInheritedPropertiesModification(int property) {
+        if (rootRenderer != null && Property.isPropertyInherited(property)) {
+            rootRenderer.registerInheritedPropertiesModification();
+        }
+    }
+
     protected void createAndAddRendererSubTree(IElement element) {
         IRenderer rendererSubTreeRoot = element.createRendererSubTree();
         LayoutTaggingHelper taggingHelper = initTaggingHelperIfNeeded();
@@ -42,6 +42,7 @@ public final class LayoutExceptionMessageConstant {
             + "Cannot resolve font family name (see ElementPropertyContainer#setFontFamily) without initialized "
             + "FontProvider (see RootElement#setFontProvider).";
     public static final String IO_EXCEPTION_WHILE_CREATING_FONT = "I/O exception while creating Font";
+    public static final String LAYOUT_OF_DOCUMENT_SECTION_FAILED = "Layout of the document section failed.";
     public static final String NONINVERTIBLE_MATRIX_CANNOT_BE_PROCESSED = "A noninvertible matrix has been parsed. "
             + "The behaviour is unpredictable.";
     public static final String ROLE_IS_NOT_MAPPED_TO_ANY_STANDARD_ROLE = "Role \"{0}\" is not mapped to any standard "
@@ -56,6 +56,9 @@ import java.util.Map;
  * {@link #getPdfFont(FontInfo, FontSet)}, {@link #getStrategy(String, List, FontCharacteristics, FontSet)}.
  * <p>
  * Note, FontProvider does not close created {@link FontProgram}s, because of possible conflicts with {@link FontCache}.
+ * <p>
+ * The caches of font selectors and {@link PdfFont}s are thread-safe, so the same FontProvider may be used
+ * by the renderers which are laid out concurrently, see {@link com.itextpdf.layout.renderer.ParallelDocumentRenderer}.
  */
 public class FontProvider {
 
@@ -410,12 +413,14 @@ public class FontProvider {
      */
     public final FontSelector getFontSelector(List<String> fontFamilies, FontCharacteristics fc) {
         FontSelectorKey key = new FontSelectorKey(fontFamilies, fc);
-        FontSelector fontSelector = fontSelectorCache.get(key);
-        if (fontSelector == null) {
-            fontSelector = createFontSelector(fontSet.getFonts(), fontFamilies, fc);
-            fontSelectorCache.put(key, fontSelector);
+        synchronized (fontSelectorCache) {
+            FontSelector fontSelector = fontSelectorCache.get(key);
+            if (fontSelector == null) {
+                fontSelector = createFontSelector(fontSet.getFonts(), fontFamilies, fc);
+                fontSelectorCache.put(key, fontSelector);
+            }
+            return fontSelector;
         }
-        return fontSelector;
     }
 
     /**
@@ -434,12 +439,14 @@ public class FontProvider {
     public final FontSelector getFontSelector(List<String> fontFamilies, FontCharacteristics fc,
                                               FontSet additionalFonts) {
         FontSelectorKey key = new FontSelectorKey(fontFamilies, fc);
-        FontSelector fontSelector = fontSelectorCache.get(key, additionalFonts);
-        if (fontSelector == null) {
-            fontSelector = createFontSelector(fontSet.getFonts(additionalFonts), fontFamilies, fc);
-            fontSelectorCache.put(key, fontSelector, additionalFonts);
+        synchronized (fontSelectorCache) {
+            FontSelector fontSelector = fontSelectorCache.get(key, additionalFonts);
+            if (fontSelector == null) {
+                fontSelector = createFontSelector(fontSet.getFonts(additionalFonts), fontFamilies, fc);
+                fontSelectorCache.put(key, fontSelector, additionalFonts);
+            }
+            return fontSelector;
         }
-        return fontSelector;
     }
 
     /**
@@ -479,7 +486,7 @@ public class FontProvider {
      *
      * @return cached or new instance of {@link PdfFont}.
      */
-    public PdfFont getPdfFont(FontInfo fontInfo, FontSet additionalFonts) {
+    public synchronized PdfFont getPdfFont(FontInfo fontInfo, FontSet additionalFonts) {
         if (pdfFonts.containsKey(fontInfo)) {
             return pdfFonts.get(fontInfo);
         } else {
@@ -531,7 +538,7 @@ public class FontProvider {
      * Resets {@link FontProvider#pdfFonts PdfFont cache}.
      * After calling that method {@link FontProvider} can be reused with another {@link PdfDocument}
      */
-    public void reset() {
+    public synchronized void reset() {
         pdfFonts.clear();
     }
 }
@@ -0,0 +1,423 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.properties;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact storage of layout properties, see {@link Property}.
+ *
+ * <p>
+ * The values of the properties with small keys, which is the case for all the {@link Property} constants, are
+ * stored in a dense array indexed by the key, the presence of the keys is tracked in a bit set, so that
+ * {@code null} values are supported. The properties with other keys, e.g. custom ones, are stored in an ordinary
+ * hash map. The {@code int} methods of this class don't box the keys.
+ *
+ * <p>
+ * Copies of the map created with {@link #PropertyMap(Map)} or {@link #putAll(Map)} into an empty map share
+ * the storage with the original one until either of them is modified. This makes copying of the properties cheap
+ * when renderers are split, as the split and overflow renderers usually get the same properties.
+ */
+public final class PropertyMap extends AbstractMap<Integer, Object> {
+
+    /**
+     * The keys below this limit are stored in the dense array.
+     */
+    static final int DENSE_KEYS_LIMIT = 256;
+
+    private static final int MIN_DENSE_LENGTH = 16;
+
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private static final long[] EMPTY_PRESENCE = new long[0];
+
+    private Object[] values = EMPTY_VALUES;
+
+    private long[] presence = EMPTY_PRESENCE;
+
+    private Map<Integer, Object> otherProperties;
+
+    private int size;
+
+    /**
+     * Whether the storage may be shared with another map and has to be copied before the modification.
+     */
+    private boolean shared;
+
+    private Set<Map.Entry<Integer, Object>> entrySet;
+
+    /**
+     * Creates an empty map.
+     */
+    public PropertyMap() {
+    }
+
+    /**
+     * Creates a map with the same properties as the specified map.
+     *
+     * @param properties the properties to be copied
+     */
+    public PropertyMap(Map<Integer, Object> properties) {
+        putAll(properties);
+    }
+
+    /**
+     * Gets the value of the property from the map, without boxing the key if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of properties
+     * @param key        the property key
+     * @return the value of the property or {@code null} if there is no such property
+     */
+    public static Object getProperty(Map<Integer, Object> properties, int key) {
+        return properties instanceof PropertyMap ? ((PropertyMap) properties).get(key) : properties.get(key);
+    }
+
+    /**
+     * Checks whether the map contains the property, without boxing the key if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of properties
+     * @param key        the property key
+     * @return {@code true} if the map contains the property, {@code false} otherwise
+     */
+    public static boolean hasProperty(Map<Integer, Object> properties, int key) {
+        return properties instanceof PropertyMap
+                ? ((PropertyMap) properties).containsKey(key) : properties.containsKey(key);
+    }
+
+    /**
+     * Puts the property into the map, without boxing the key if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of properties
+     * @param key        the property key
+     * @param value      the property value
+     */
+    public static void setProperty(Map<Integer, Object> properties, int key, Object value) {
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).set(key, value);
+        } else {
+            properties.put(key, value);
+        }
+    }
+
+    /**
+     * Removes the property from the map, without boxing the key if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of properties
+     * @param key        the property key
+     */
+    public static void deleteProperty(Map<Integer, Object> properties, int key) {
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).remove(key);
+        } else {
+            properties.remove(key);
+        }
+    }
+
+    /**
+     * Gets the value of the property.
+     *
+     * @param key the property key
+     * @return the value of the property or {@code null} if there is no such property
+     */
+    public Object get(int key) {
+        if (isDenseKey(key)) {
+            return key < values.length ? values[key] : null;
+        }
+        return otherProperties == null ? null : otherProperties.get(key);
+    }
+
+    /**
+     * Checks whether the map contains the property.
+     *
+     * @param key the property key
+     * @return {@code true} if the map contains the property, {@code false} otherwise
+     */
+    public boolean containsKey(int key) {
+        if (isDenseKey(key)) {
+            return key < values.length && (presence[key >> 6] & (1L << key)) != 0;
+        }
+        return otherProperties != null && otherProperties.containsKey(key);
+    }
+
+    /**
+     * Puts the property into the map.
+     *
+     * @param key   the property key
+     * @param value the property value
+     * @return the previous value of the property or {@code null} if there was no such property
+     */
+    public Object set(int key, Object value) {
+        unshare();
+        if (isDenseKey(key)) {
+            if (key >= values.length) {
+                grow(key);
+            }
+            Object previous = values[key];
+            long bit = 1L << key;
+            if ((presence[key >> 6] & bit) == 0) {
+                presence[key >> 6] |= bit;
+                ++size;
+            }
+            values[key] = value;
+            return previous;
+        }
+        if (otherProperties == null) {
+            otherProperties = new HashMap<>();
+        }
+        int otherSize = otherProperties.size();
+        Object previous = otherProperties.put(key, value);
+        size += otherProperties.size() - otherSize;
+        return previous;
+    }
+
+    /**
+     * Removes the property from the map.
+     *
+     * @param key the property key
+     * @return the previous value of the property or {@code null} if there was no such property
+     */
+    public Object remove(int key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        unshare();
+        if (isDenseKey(key)) {
+            Object previous = values[key];
+            values[key] = null;
+            presence[key >> 6] &= ~(1L << key);
+            --size;
+            return previous;
+        }
+        --size;
+        return otherProperties.remove(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return set((int) key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> properties) {
+        if (size == 0 && properties instanceof PropertyMap) {
+            PropertyMap other = (PropertyMap) properties;
+            if (other.size == 0) {
+                return;
+            }
+            values = other.values;
+            presence = other.presence;
+            otherProperties = other.otherProperties;
+            size = other.size;
+            shared = true;
+            other.shared = true;
+        } else {
+            for (Map.Entry<? extends Integer, ?> entry : properties.entrySet()) {
+                set((int) entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        values = EMPTY_VALUES;
+        presence = EMPTY_PRESENCE;
+        otherProperties = null;
+        size = 0;
+        shared = false;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private static boolean isDenseKey(int key) {
+        return key >= 0 && key < DENSE_KEYS_LIMIT;
+    }
+
+    private void grow(int key) {
+        int length = Math.min(DENSE_KEYS_LIMIT, Math.max(Math.max(key + 1, values.length * 2), MIN_DENSE_LENGTH));
+        values = Arrays.copyOf(values, length);
+        presence = Arrays.copyOf(presence, (length + 63) >> 6);
+    }
+
+    private void unshare() {
+        if (shared) {
+            values = values.clone();
+            presence = presence.clone();
+            if (otherProperties != null) {
+                otherProperties = new HashMap<>(otherProperties);
+            }
+            shared = false;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, Object>> {
+        @Override
+        public Iterator<Map.Entry<Integer, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private int nextDenseKey = nextDenseKey(0);
+        private Map<Integer, Object> iteratedOtherProperties;
+        private Iterator<Integer> otherKeys;
+        private Integer lastKey;
+
+        @Override
+        public boolean hasNext() {
+            return nextDenseKey >= 0 || getOtherKeys().hasNext();
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            if (nextDenseKey >= 0) {
+                lastKey = nextDenseKey;
+                nextDenseKey = nextDenseKey(nextDenseKey + 1);
+            } else if (getOtherKeys().hasNext()) {
+                lastKey = otherKeys.next();
+            } else {
+                throw new NoSuchElementException();
+            }
+            return new Entry(lastKey);
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            if (isDenseKey(lastKey)) {
+                PropertyMap.this.remove((int) lastKey);
+            } else if (!shared && iteratedOtherProperties == otherProperties) {
+                // the iterated storage belongs to this map only, so the key can be removed by the iterator
+                otherKeys.remove();
+                --size;
+            } else {
+                // the iterated storage may be shared, the removal copies it and the iteration goes on over the original
+                PropertyMap.this.remove((int) lastKey);
+            }
+            lastKey = null;
+        }
+
+        private int nextDenseKey(int from) {
+            for (int key = from; key < values.length; ++key) {
+                if ((presence[key >> 6] & (1L << key)) != 0) {
+                    return key;
+                }
+            }
+            return -1;
+        }
+
+        private Iterator<Integer> getOtherKeys() {
+            if (otherKeys == null) {
+                iteratedOtherProperties = otherProperties;
+                otherKeys = otherProperties == null
+                        ? Collections.<Integer>emptyIterator() : otherProperties.keySet().iterator();
+            }
+            return otherKeys;
+        }
+    }
+
+    private final class Entry implements Map.Entry<Integer, Object> {
+        private final int key;
+
+        Entry(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public Integer getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return set(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(entry.getKey())
+                    && (value == null ? entry.getValue() == null : value.equals(entry.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
@@ -71,6 +71,7 @@ import com.itextpdf.layout.properties.BoxSizingPropertyValue;
 import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.OverflowPropertyValue;
 import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.PropertyMap;
 import com.itextpdf.layout.properties.Transform;
 import com.itextpdf.layout.properties.TransparentColor;
 import com.itextpdf.layout.properties.UnitValue;
@@ -79,7 +80,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -141,9 +141,17 @@ public abstract class AbstractRenderer implements IRenderer {
     protected boolean flushed = false;
     protected LayoutArea occupiedArea;
     protected IRenderer parent;
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
     protected boolean isLastRendererForModelElement = true;
 
+    private InheritedPropertiesCache inheritedPropertiesCache;
+
+    /**
+     * The version of the inherited properties of the tree, which root is this renderer. It is changed by every
+     * modification registered while this renderer is the root, see {@link #registerInheritedPropertiesModification()}.
+     */
+    private int inheritedPropertiesVersion;
+
     /**
      * Creates a renderer.
      */
@@ -260,7 +268,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public boolean hasOwnProperty(int property) {
-        return properties.containsKey(property);
+        return PropertyMap.hasProperty(properties, property);
     }
 
     /**
@@ -279,7 +287,10 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        PropertyMap.deleteProperty(properties, property);
+        if (Property.isPropertyInherited(property)) {
+            registerInheritedPropertiesModification();
+        }
     }
 
     /**
@@ -289,13 +300,16 @@ public abstract class AbstractRenderer implements IRenderer {
      * @param property the property key to be deleted
      */
     public void deleteProperty(int property) {
-        if (properties.containsKey(property)) {
-            properties.remove(property);
+        if (PropertyMap.hasProperty(properties, property)) {
+            PropertyMap.deleteProperty(properties, property);
         } else {
             if (modelElement != null) {
                 modelElement.deleteOwnProperty(property);
             }
         }
+        if (Property.isPropertyInherited(property)) {
+            registerInheritedPropertiesModification();
+        }
     }
 
     /**
@@ -304,13 +318,14 @@ public abstract class AbstractRenderer implements IRenderer {
     @Override
     public <T1> T1 getProperty(int key) {
         Object property;
-        if ((property = properties.get(key)) != null || properties.containsKey(key)) {
+        if ((property = PropertyMap.getProperty(properties, key)) != null
+                || PropertyMap.hasProperty(properties, key)) {
             return (T1) property;
         }
         if (modelElement != null && ((property = modelElement.<T1>getProperty(key)) != null || modelElement.hasProperty(key))) {
             return (T1) property;
         }
-        if (parent != null && Property.isPropertyInherited(key) && (property = parent.<T1>getProperty(key)) != null) {
+        if (parent != null && Property.isPropertyInherited(key) && (property = this.<T1>getInheritedProperty(key)) != null) {
             return (T1) property;
         }
         property = this.<T1>getDefaultProperty(key);
@@ -320,12 +335,55 @@ public abstract class AbstractRenderer implements IRenderer {
         return modelElement != null ? modelElement.<T1>getDefaultProperty(key) : (T1) (Object) null;
     }
 
+    /**
+     * Notifies the renderers which memoize the inherited properties resolved through this renderer that
+     * the inherited properties may have changed. Only the subtree which depends on this renderer is affected,
+     * so a modification of a renderer nothing has been resolved through is cheap. Setting or deleting
+     * a renderer property and changing the parent of a renderer are registered automatically. This method
+     * shall be called when a property of a model element is changed after its renderers have been created.
+     */
+    public void registerInheritedPropertiesModification() {
+        if (parent == null) {
+            ++inheritedPropertiesVersion;
+        }
+        invalidateInheritedPropertiesDependents();
+    }
+
+    int getInheritedPropertiesVersion() {
+        return inheritedPropertiesVersion;
+    }
+
+    void addInheritedPropertiesDependent(AbstractRenderer dependent) {
+        if (inheritedPropertiesCache == null) {
+            inheritedPropertiesCache = new InheritedPropertiesCache();
+        }
+        inheritedPropertiesCache.addDependent(dependent);
+    }
+
+    private void invalidateInheritedPropertiesDependents() {
+        List<AbstractRenderer> dependents = inheritedPropertiesCache == null
+                ? null : inheritedPropertiesCache.removeDependents();
+        if (dependents != null) {
+            for (AbstractRenderer dependent : dependents) {
+                dependent.inheritedPropertiesCache.clear();
+                dependent.invalidateInheritedPropertiesDependents();
+            }
+        }
+    }
+
+    private <T1> T1 getInheritedProperty(int key) {
+        if (inheritedPropertiesCache == null) {
+            inheritedPropertiesCache = new InheritedPropertiesCache();
+        }
+        return inheritedPropertiesCache.<T1>getProperty(this, parent, key);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public <T1> T1 getOwnProperty(int property) {
-        return (T1) properties.get(property);
+        return (T1) PropertyMap.getProperty(properties, property);
     }
 
     /**
@@ -342,7 +400,10 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        PropertyMap.setProperty(properties, property, value);
+        if (Property.isPropertyInherited(property)) {
+            registerInheritedPropertiesModification();
+        }
     }
 
     /**
@@ -1144,7 +1205,15 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public IRenderer setParent(IRenderer parent) {
-        this.parent = parent;
+        if (this.parent != parent) {
+            if (this.parent == null) {
+                // the caches of the subtree are versioned by this renderer as long as it is the root
+                ++inheritedPropertiesVersion;
+            }
+            this.parent = parent;
+            // the inherited properties cached by the dependents are resolved through the old parent
+            invalidateInheritedPropertiesDependents();
+        }
         return this;
     }
 
@@ -1717,6 +1786,7 @@ public abstract class AbstractRenderer implements IRenderer {
 
     protected void addAllProperties(Map<Integer, Object> properties) {
         this.properties.putAll(properties);
+        registerInheritedPropertiesModification();
     }
 
     /**
@@ -90,9 +90,8 @@ class CollapsedTableBorders extends TableBorders {
             }
         }
         // process right border
-        borderList = getVerticalBorder(col + colspan);
         for (int i = startRow - largeTableIndexOffset + row - rowspan + 1; i < startRow - largeTableIndexOffset + row + 1; i++) {
-            border = borderList.get(i);
+            border = getVerticalBorderPart(col + colspan, i);
             if (null != border && border.getWidth() > indents[1]) {
                 indents[1] = border.getWidth();
             }
@@ -106,9 +105,8 @@ class CollapsedTableBorders extends TableBorders {
             }
         }
         // process left border
-        borderList = getVerticalBorder(col);
         for (int i = startRow - largeTableIndexOffset + row - rowspan + 1; i < startRow - largeTableIndexOffset + row + 1; i++) {
-            border = borderList.get(i);
+            border = getVerticalBorderPart(col, i);
             if (null != border && border.getWidth() > indents[3]) {
                 indents[3] = border.getWidth();
             }
@@ -124,10 +122,10 @@ class CollapsedTableBorders extends TableBorders {
     public List<Border> getVerticalBordersCrossingTopHorizontalBorder() {
         List<Border> borders = new ArrayList<>(numberOfColumns + 1);
         for (int i = 0; i <= numberOfColumns; i++) {
-            final List<Border> verticalBorder = getVerticalBorder(i);
+            final List<Border> verticalBorder = getNotCollapsedVerticalBorder(i);
             // the passed index indicates the index of the border on the page, not in the entire document
             Border borderToAdd = startRow - largeTableIndexOffset < verticalBorder.size()
-                    ? verticalBorder.get(startRow - largeTableIndexOffset) : null;
+                    ? getVerticalBorderPart(i, startRow - largeTableIndexOffset) : null;
             borders.add(borderToAdd);
         }
         return borders;
@@ -148,6 +146,31 @@ class CollapsedTableBorders extends TableBorders {
         }
     }
 
+    /**
+     * Gets a single border of the vertical border with the specified index.
+     *
+     * <p>
+     * The result is the same as {@code getVerticalBorder(index).get(position)}, however the outer
+     * vertical borders are not collapsed with the table's borders as a whole, which makes the method
+     * suitable for per-cell processing of tables with a big number of rows.
+     *
+     * @param index    index of the vertical border
+     * @param position index of the border part, i.e. the row on the page
+     * @return the border part
+     */
+    private Border getVerticalBorderPart(int index, int position) {
+        if (index == 0) {
+            return getCollapsedBorder(getNotCollapsedVerticalBorder(index).get(position), tableBoundingBorders[3]);
+        } else if (index == numberOfColumns) {
+            return getCollapsedBorder(getNotCollapsedVerticalBorder(index).get(position), tableBoundingBorders[1]);
+        } else {
+            return verticalBorders.get(index).get(position);
+        }
+    }
+
+    private List<Border> getNotCollapsedVerticalBorder(int index) {
+        return index == numberOfColumns ? verticalBorders.get(verticalBorders.size() - 1) : verticalBorders.get(index);
+    }
 
     public List<Border> getHorizontalBorder(int index) {
         if (index == startRow) {
@@ -674,15 +697,14 @@ class CollapsedTableBorders extends TableBorders {
      */
     List<Border> getCrossingBorders(int horizontalIndex, int verticalIndex) {
         List<Border> horizontalBorder = getHorizontalBorder(startRow + horizontalIndex);
-        List<Border> verticalBorder = getVerticalBorder(verticalIndex);
 
         List<Border> crossingBorders = new ArrayList<>(4);
         crossingBorders.add(verticalIndex > 0 ? horizontalBorder.get(verticalIndex - 1) : null);
         crossingBorders.add(horizontalIndex > 0
-                ? verticalBorder.get(startRow - largeTableIndexOffset + horizontalIndex - 1) : null);
+                ? getVerticalBorderPart(verticalIndex, startRow - largeTableIndexOffset + horizontalIndex - 1) : null);
         crossingBorders.add(verticalIndex < numberOfColumns ? horizontalBorder.get(verticalIndex) : null);
         crossingBorders.add(horizontalIndex <= finishRow - startRow
-                ? verticalBorder.get(startRow - largeTableIndexOffset + horizontalIndex) : null);
+                ? getVerticalBorderPart(verticalIndex, startRow - largeTableIndexOffset + horizontalIndex) : null);
 
         // In case the last horizontal border on the page is specified,
         // we need to consider a vertical border of the table's bottom part
@@ -0,0 +1,173 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Memoizes the values of the inherited properties which a renderer resolves through its parent, so that
+ * deep renderer trees do not walk the whole chain of ancestors for every property lookup.
+ *
+ * <p>
+ * The cached values are valid as long as the parent of the renderer is the same and none of the renderers the
+ * values are resolved through has registered a modification, see
+ * {@link AbstractRenderer#registerInheritedPropertiesModification()}. A renderer which caches values resolved
+ * through its parent registers itself as a dependent of the parent, so a modification invalidates only the caches
+ * of the subtree which depends on the modified renderer. The root of the tree does not track its dependents, as it
+ * may live as long as the whole document; its modifications are versioned instead, the version is checked on every
+ * lookup. Absent values are cached as well. Nothing is cached if the tree contains renderers which are not
+ * {@link AbstractRenderer} instances, as their modifications are not tracked.
+ */
+final class InheritedPropertiesCache {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+    private IRenderer parent;
+    private AbstractRenderer root;
+    private int rootVersion;
+
+    /**
+     * The parent renderer, which dependents the owner of the cache has been added to.
+     */
+    private AbstractRenderer registeredParent;
+
+    /**
+     * The renderers which have cached the values resolved through the owner of this cache.
+     */
+    private List<AbstractRenderer> dependents;
+
+    /**
+     * Gets the value of the inherited property as resolved by the parent renderer.
+     *
+     * @param owner the renderer which owns the cache
+     * @param parent the parent renderer which resolves the property
+     * @param key the property key
+     * @param <T> the type of the property value
+     * @return the value of the property, or {@code null} if the parent does not resolve it
+     */
+    @SuppressWarnings("unchecked")
+    <T> T getProperty(AbstractRenderer owner, IRenderer parent, int key) {
+        if (parent != this.parent || root.getInheritedPropertiesVersion() != rootVersion) {
+            clearValues();
+            AbstractRenderer currentRoot = findRoot(parent);
+            if (currentRoot == null) {
+                return parent.<T>getProperty(key);
+            }
+            this.parent = parent;
+            this.root = currentRoot;
+            this.rootVersion = currentRoot.getInheritedPropertiesVersion();
+            if (parent != currentRoot && parent != registeredParent) {
+                registeredParent = (AbstractRenderer) parent;
+                registeredParent.addInheritedPropertiesDependent(owner);
+            }
+        }
+        for (int i = 0; i < size; ++i) {
+            if (keys[i] == key) {
+                return (T) values[i];
+            }
+        }
+        T value = parent.<T>getProperty(key);
+        // the resolution itself may have modified properties, e.g. lazily initialized defaults
+        if (this.parent == parent && root.getInheritedPropertiesVersion() == rootVersion) {
+            add(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes all the cached values.
+     */
+    void clear() {
+        clearValues();
+        registeredParent = null;
+    }
+
+    /**
+     * Adds the renderer which has cached the values resolved through the owner of this cache.
+     *
+     * @param dependent the dependent renderer
+     */
+    void addDependent(AbstractRenderer dependent) {
+        if (dependents == null) {
+            dependents = new ArrayList<>();
+        }
+        dependents.add(dependent);
+    }
+
+    /**
+     * Removes all the dependents of the owner of this cache.
+     *
+     * @return the removed dependents, or {@code null} if there are none
+     */
+    List<AbstractRenderer> removeDependents() {
+        List<AbstractRenderer> removed = dependents;
+        dependents = null;
+        return removed;
+    }
+
+    /**
+     * Finds the root of the renderer tree, which versions its own modifications.
+     *
+     * @param renderer the renderer to start from
+     * @return the root of the tree, or {@code null} if the tree contains renderers which are not
+     * {@link AbstractRenderer} instances
+     */
+    static AbstractRenderer findRoot(IRenderer renderer) {
+        while (renderer instanceof AbstractRenderer) {
+            IRenderer parent = ((AbstractRenderer) renderer).parent;
+            if (parent == null) {
+                return (AbstractRenderer) renderer;
+            }
+            renderer = parent;
+        }
+        return null;
+    }
+
+    private void clearValues() {
+        if (size > 0) {
+            Arrays.fill(values, 0, size, null);
+            size = 0;
+        }
+        parent = null;
+        root = null;
+    }
+
+    private void add(int key, Object value) {
+        if (size == keys.length) {
+            int newCapacity = size << 1;
+            int[] newKeys = new int[newCapacity];
+            Object[] newValues = new Object[newCapacity];
+            System.arraycopy(keys, 0, newKeys, 0, size);
+            System.arraycopy(values, 0, newValues, 0, size);
+            keys = newKeys;
+            values = newValues;
+        }
+        keys[size] = key;
+        values[size] = value;
+        ++size;
+    }
+}
@@ -0,0 +1,344 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.commons.utils.DaemonThreadFactory;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.layout.RootLayoutArea;
+import com.itextpdf.layout.properties.AreaBreakType;
+import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.PropertyMap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link DocumentRenderer} which lays out independent sections of the document concurrently.
+ * <p>
+ * The content is split into sections by the {@link AreaBreak}s of {@link AreaBreakType#NEXT_PAGE} and
+ * {@link AreaBreakType#NEXT_AREA} types which are added directly to the document. Every section starts on a new
+ * page, so its layout does not depend on the previous sections: sections are laid out by a bounded pool of worker
+ * threads on pages which are not yet added to the document. The laid out sections are then drawn on the calling
+ * thread, strictly in order, on the pages which are appended to the document, so the result is the same as if
+ * the sections were laid out one by one. At most two sections per worker thread are laid out ahead.
+ * <p>
+ * The elements of different sections are laid out concurrently, so they shall not share mutable objects, except
+ * for the fonts, images and the {@link com.itextpdf.layout.font.FontProvider} of the document. The properties of
+ * the document shall not be changed once the elements are added. Target counters are not resolved across
+ * sections. Tagged documents are laid out sequentially, as the tag structure is built during the layout.
+ */
+public class ParallelDocumentRenderer extends DocumentRenderer {
+
+    private static final int MAX_LAID_OUT_AHEAD_SECTIONS_PER_THREAD = 2;
+
+    private final int parallelism;
+    private ThreadPoolExecutor executor;
+    private final Deque<Future<SectionRenderer>> pendingSections = new ArrayDeque<>();
+    private List<IRenderer> currentSection = new ArrayList<>();
+    private PageSize currentSectionPageSize;
+    private boolean sectionStarted = false;
+
+    /**
+     * Creates a renderer which lays out the sections of the document concurrently and flushes
+     * the pages as soon as their sections are drawn.
+     *
+     * @param document the document to be rendered
+     * @param parallelism the number of worker threads which lay out the sections
+     */
+    public ParallelDocumentRenderer(Document document, int parallelism) {
+        this(document, true, parallelism);
+    }
+
+    /**
+     * Creates a renderer which lays out the sections of the document concurrently.
+     *
+     * @param document the document to be rendered
+     * @param immediateFlush whether the pages shall be flushed as soon as their sections are drawn
+     * @param parallelism the number of worker threads which lay out the sections
+     */
+    public ParallelDocumentRenderer(Document document, boolean immediateFlush, int parallelism) {
+        super(document, immediateFlush);
+        this.parallelism = Math.max(parallelism, 1);
+    }
+
+    /**
+     * Gets the number of worker threads which lay out the sections.
+     *
+     * @return the number of worker threads
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void addChild(IRenderer renderer) {
+        if (!isParallelLayoutApplicable()) {
+            super.addChild(renderer);
+            return;
+        }
+        if (renderer instanceof AreaBreakRenderer && isSectionBreak(((AreaBreakRenderer) renderer).areaBreak)) {
+            submitCurrentSection();
+            currentSectionPageSize = ((AreaBreakRenderer) renderer).areaBreak.getPageSize();
+        } else {
+            currentSection.add(renderer);
+            sectionStarted = true;
+        }
+    }
+
+    /**
+     * Draws all the sections which have been laid out so far, waiting for the ones which are still being laid out.
+     * The section which is being filled with elements is not affected.
+     */
+    @Override
+    public void flush() {
+        while (!pendingSections.isEmpty()) {
+            commitSection(getLaidOutSection(pendingSections.removeFirst()));
+        }
+        super.flush();
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (isParallelLayoutApplicable() && sectionStarted) {
+                submitCurrentSection();
+            }
+            while (!pendingSections.isEmpty()) {
+                commitSection(getLaidOutSection(pendingSections.removeFirst()));
+            }
+        } finally {
+            for (Future<SectionRenderer> pendingSection : pendingSections) {
+                pendingSection.cancel(false);
+            }
+            pendingSections.clear();
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+        super.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IRenderer getNextRenderer() {
+        return new ParallelDocumentRenderer(document, immediateFlush, parallelism);
+    }
+
+    private boolean isParallelLayoutApplicable() {
+        return !document.getPdfDocument().isTagged();
+    }
+
+    private static boolean isSectionBreak(AreaBreak areaBreak) {
+        return areaBreak.getType() != AreaBreakType.LAST_PAGE;
+    }
+
+    private void submitCurrentSection() {
+        if (executor == null) {
+            // the defaults of the document are created lazily, it shall not happen concurrently
+            this.<Object>getProperty(Property.FONT);
+            this.<Object>getProperty(Property.FONT_PROVIDER);
+            this.<Object>getProperty(Property.SPLIT_CHARACTERS);
+            executor = new ThreadPoolExecutor(parallelism, parallelism, 1, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory("itext-layout-section"));
+            // idle threads are stopped, so that a renderer which is never closed does not retain them
+            executor.allowCoreThreadTimeOut(true);
+        }
+        SectionRenderer section = new SectionRenderer(document, currentSection,
+                currentSectionPageSize, document.getPdfDocument().getDefaultPageSize(),
+                new float[] {(float) getPropertyAsFloat(Property.MARGIN_TOP),
+                        (float) getPropertyAsFloat(Property.MARGIN_RIGHT),
+                        (float) getPropertyAsFloat(Property.MARGIN_BOTTOM),
+                        (float) getPropertyAsFloat(Property.MARGIN_LEFT)});
+        section.properties = new PropertyMap(properties);
+        currentSection = new ArrayList<>();
+        currentSectionPageSize = null;
+        sectionStarted = true;
+
+        pendingSections.addLast(executor.submit(section));
+        while (!pendingSections.isEmpty() && (pendingSections.peekFirst().isDone()
+                || pendingSections.size() > parallelism * MAX_LAID_OUT_AHEAD_SECTIONS_PER_THREAD)) {
+            commitSection(getLaidOutSection(pendingSections.removeFirst()));
+        }
+    }
+
+    private void commitSection(SectionRenderer section) {
+        PdfDocument pdfDocument = document.getPdfDocument();
+        int pageOffset = pdfDocument.getNumberOfPages();
+        for (PageSize pageSize : section.pageSizes) {
+            addNewPage(pageSize);
+        }
+        Set<IRenderer> shiftedRenderers = Collections.newSetFromMap(new IdentityHashMap<IRenderer, Boolean>());
+        for (IRenderer renderer : section.laidOutRenderers) {
+            // renderers positioned on the explicitly specified page are already laid out on it
+            if (renderer.<Integer>getProperty(Property.PAGE_NUMBER) == null) {
+                shiftPageNumbers(renderer, pageOffset, shiftedRenderers);
+            }
+            flushSingleRenderer(renderer);
+        }
+        // nested floating and transformed renderers are deferred by the root renderer they were laid out with
+        do {
+            waitingDrawingElements.addAll(section.waitingDrawingElements);
+            section.waitingDrawingElements.clear();
+            flushWaitingDrawingElements(true);
+        } while (!section.waitingDrawingElements.isEmpty());
+
+        if (immediateFlush) {
+            // the last page is not flushed, as it might be still used for positioned elements
+            for (int pageNum = Math.max(pageOffset, 1); pageNum < pdfDocument.getNumberOfPages(); ++pageNum) {
+                if (!pdfDocument.getPage(pageNum).isFlushed()) {
+                    pdfDocument.getPage(pageNum).flush();
+                }
+            }
+        }
+    }
+
+    private static void shiftPageNumbers(IRenderer renderer, int pageOffset, Set<IRenderer> shiftedRenderers) {
+        if (renderer == null || pageOffset == 0 || !shiftedRenderers.add(renderer)) {
+            return;
+        }
+        if (renderer instanceof AbstractRenderer) {
+            AbstractRenderer abstractRenderer = (AbstractRenderer) renderer;
+            if (abstractRenderer.occupiedArea != null) {
+                abstractRenderer.occupiedArea = new LayoutArea(
+                        abstractRenderer.occupiedArea.getPageNumber() + pageOffset,
+                        abstractRenderer.occupiedArea.getBBox());
+            }
+            for (IRenderer positionedRenderer : abstractRenderer.positionedRenderers) {
+                shiftPageNumbers(positionedRenderer, pageOffset, shiftedRenderers);
+            }
+        }
+        if (renderer instanceof TableRenderer) {
+            TableRenderer tableRenderer = (TableRenderer) renderer;
+            shiftPageNumbers(tableRenderer.headerRenderer, pageOffset, shiftedRenderers);
+            shiftPageNumbers(tableRenderer.footerRenderer, pageOffset, shiftedRenderers);
+            shiftPageNumbers(tableRenderer.captionRenderer, pageOffset, shiftedRenderers);
+        } else if (renderer instanceof ListItemRenderer) {
+            shiftPageNumbers(((ListItemRenderer) renderer).symbolRenderer, pageOffset, shiftedRenderers);
+        }
+        List<IRenderer> children = renderer.getChildRenderers();
+        if (children != null) {
+            for (IRenderer child : children) {
+                shiftPageNumbers(child, pageOffset, shiftedRenderers);
+            }
+        }
+    }
+
+    private static SectionRenderer getLaidOutSection(Future<SectionRenderer> section) {
+        try {
+            return section.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(LayoutExceptionMessageConstant.LAYOUT_OF_DOCUMENT_SECTION_FAILED, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(LayoutExceptionMessageConstant.LAYOUT_OF_DOCUMENT_SECTION_FAILED, e.getCause());
+        }
+    }
+
+    /**
+     * Lays out a single section of the document on its own pages, which are numbered from one and are not added
+     * to the document. The laid out renderers are collected instead of being drawn.
+     */
+    private static final class SectionRenderer extends DocumentRenderer implements Callable<SectionRenderer> {
+        private final List<IRenderer> renderers;
+        private final PageSize firstPageSize;
+        private final PageSize defaultPageSize;
+        private final float[] margins;
+        private final List<PageSize> pageSizes = new ArrayList<>();
+        private final List<IRenderer> laidOutRenderers = new ArrayList<>();
+
+        SectionRenderer(Document document, List<IRenderer> renderers, PageSize firstPageSize,
+                PageSize defaultPageSize, float[] margins) {
+            super(document, false);
+            this.renderers = renderers;
+            this.firstPageSize = firstPageSize;
+            this.defaultPageSize = defaultPageSize;
+            this.margins = margins;
+        }
+
+        @Override
+        public SectionRenderer call() {
+            for (IRenderer renderer : renderers) {
+                addChild(renderer);
+            }
+            if (pageSizes.isEmpty()) {
+                // the section consisting of an area break only still produces a page
+                getCurrentArea();
+            }
+            close();
+            return this;
+        }
+
+        @Override
+        protected LayoutArea updateCurrentArea(LayoutResult overflowResult) {
+            AreaBreak areaBreak = overflowResult != null ? overflowResult.getAreaBreak() : null;
+            int currentPageNumber = currentArea == null ? 0 : currentArea.getPageNumber();
+            if (areaBreak != null && areaBreak.getType() == AreaBreakType.LAST_PAGE) {
+                currentPageNumber = Math.max(currentPageNumber, pageSizes.size());
+            } else {
+                currentPageNumber++;
+            }
+            while (pageSizes.size() < currentPageNumber) {
+                PageSize customPageSize = areaBreak != null ? areaBreak.getPageSize() : null;
+                if (pageSizes.isEmpty() && firstPageSize != null) {
+                    customPageSize = firstPageSize;
+                }
+                pageSizes.add(customPageSize != null ? customPageSize : defaultPageSize);
+            }
+            PageSize pageSize = pageSizes.get(currentPageNumber - 1);
+            Rectangle effectiveArea = new Rectangle(pageSize.getLeft() + margins[3],
+                    pageSize.getBottom() + margins[2],
+                    pageSize.getWidth() - margins[3] - margins[1],
+                    pageSize.getHeight() - margins[2] - margins[0]);
+            return (currentArea = new RootLayoutArea(currentPageNumber, effectiveArea));
+        }
+
+        @Override
+        protected void flushSingleRenderer(IRenderer resultRenderer) {
+            laidOutRenderers.add(resultRenderer);
+        }
+    }
+}
@@ -506,6 +506,9 @@ public abstract class RootRenderer extends AbstractRenderer {
         // may not lead to overflowRenderer) such approach does not work now. So we are
         // disabling keep together on the models layer.
         toDisableKeepTogether.getModelElement().setProperty(Property.KEEP_TOGETHER, false);
+        if (toDisableKeepTogether instanceof AbstractRenderer) {
+            ((AbstractRenderer) toDisableKeepTogether).registerInheritedPropertiesModification();
+        }
         Logger logger = LoggerFactory.getLogger(RootRenderer.class);
         if (logger.isWarnEnabled()) {
             logger.warn(MessageFormatUtil.format(
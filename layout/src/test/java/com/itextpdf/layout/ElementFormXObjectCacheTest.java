@@ -0,0 +1,132 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class ElementFormXObjectCacheTest extends ExtendedITextTest {
+
+    private static final Rectangle HEADER_AREA = new Rectangle(36, 790, 523, 40);
+
+    @Test
+    public void sameElementIsLaidOutOnceTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        ElementFormXObjectCache cache = new ElementFormXObjectCache(pdfDocument);
+        Paragraph header = new Paragraph("Running header");
+
+        PdfFormXObject first = cache.getFormXObject(header, 523, 40);
+        Assert.assertSame(first, cache.getFormXObject(header, 523, 40));
+        Assert.assertEquals(new Rectangle(523, 40).toString(), first.getBBox().toRectangle().toString());
+
+        Assert.assertNotSame(first, cache.getFormXObject(header, 300, 40));
+        Assert.assertNotSame(first, cache.getFormXObject(new Paragraph("Running header"), 523, 40));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void invalidateAndClearTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        ElementFormXObjectCache cache = new ElementFormXObjectCache(pdfDocument);
+        Paragraph header = new Paragraph("Header");
+        Paragraph footer = new Paragraph("Footer");
+
+        PdfFormXObject headerXObject = cache.getFormXObject(header, 523, 40);
+        PdfFormXObject footerXObject = cache.getFormXObject(footer, 523, 40);
+        cache.invalidate(header);
+        Assert.assertNotSame(headerXObject, cache.getFormXObject(header, 523, 40));
+        Assert.assertSame(footerXObject, cache.getFormXObject(footer, 523, 40));
+
+        cache.clear();
+        Assert.assertNotSame(footerXObject, cache.getFormXObject(footer, 523, 40));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void showElementOnEveryPageTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        ElementFormXObjectCache cache = new ElementFormXObjectCache(pdfDocument);
+        Paragraph header = new Paragraph("Running header");
+        for (int i = 0; i < 3; i++) {
+            PdfPage page = pdfDocument.addNewPage(PageSize.A4);
+            cache.showElement(new PdfCanvas(page), header, HEADER_AREA);
+        }
+        pdfDocument.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfDictionary firstXObjects = getXObjects(resultDocument.getPage(1));
+        Assert.assertEquals(1, firstXObjects.size());
+        for (int i = 1; i <= resultDocument.getNumberOfPages(); i++) {
+            PdfPage page = resultDocument.getPage(i);
+            Assert.assertEquals("Running header", PdfTextExtractor.getTextFromPage(page));
+            Assert.assertEquals(firstXObjects.values().iterator().next().getIndirectReference(),
+                    getXObjects(page).values().iterator().next().getIndirectReference());
+        }
+        resultDocument.close();
+    }
+
+    @Test
+    public void showElementInTaggedDocumentTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        pdfDocument.setTagged();
+        ElementFormXObjectCache cache = new ElementFormXObjectCache(pdfDocument);
+        Paragraph header = new Paragraph("Running header");
+        for (int i = 0; i < 2; i++) {
+            PdfPage page = pdfDocument.addNewPage(PageSize.A4);
+            cache.showElement(new PdfCanvas(page), header, HEADER_AREA);
+        }
+        pdfDocument.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        String content = new String(resultDocument.getPage(2).getContentBytes(), "ISO-8859-1");
+        Assert.assertTrue(content.contains("/Artifact"));
+        Assert.assertEquals("Running header", PdfTextExtractor.getTextFromPage(resultDocument.getPage(2)));
+        resultDocument.close();
+    }
+
+    private static PdfDictionary getXObjects(PdfPage page) {
+        return page.getResources().getPdfObject().getAsDictionary(PdfName.XObject);
+    }
+}
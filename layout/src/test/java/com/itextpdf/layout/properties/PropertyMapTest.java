@@ -0,0 +1,202 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.properties;
+
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PropertyMapTest extends ExtendedITextTest {
+
+    private static final int CUSTOM_PROPERTY = 1024 * 1024;
+
+    @Test
+    public void putGetRemoveTest() {
+        PropertyMap map = new PropertyMap();
+        Assert.assertNull(map.set(Property.FONT_SIZE, UnitValue.createPointValue(12)));
+        Assert.assertNull(map.set(CUSTOM_PROPERTY, "custom"));
+        Assert.assertNull(map.set(-1, "negative"));
+        Assert.assertEquals(3, map.size());
+
+        Assert.assertEquals(UnitValue.createPointValue(12), map.get(Property.FONT_SIZE));
+        Assert.assertEquals("custom", map.get((Object) CUSTOM_PROPERTY));
+        Assert.assertEquals("negative", map.get(-1));
+        Assert.assertNull(map.get(Property.FONT));
+        Assert.assertNull(map.get("not a key"));
+
+        Assert.assertEquals(UnitValue.createPointValue(12), map.set(Property.FONT_SIZE, UnitValue.createPointValue(14)));
+        Assert.assertEquals(3, map.size());
+
+        Assert.assertEquals("custom", map.remove(CUSTOM_PROPERTY));
+        Assert.assertNull(map.remove(Property.FONT));
+        Assert.assertEquals(UnitValue.createPointValue(14), map.remove((Object) Property.FONT_SIZE));
+        Assert.assertEquals(1, map.size());
+        Assert.assertFalse(map.containsKey(Property.FONT_SIZE));
+
+        Map<Integer, Object> asMap = map;
+        Assert.assertNull(asMap.put(Property.FONT_SIZE, UnitValue.createPointValue(8)));
+        Assert.assertEquals(UnitValue.createPointValue(8), map.get(Property.FONT_SIZE));
+    }
+
+    @Test
+    public void nullValueTest() {
+        PropertyMap map = new PropertyMap();
+        map.set(Property.TEXT_RISE, null);
+        Assert.assertTrue(map.containsKey(Property.TEXT_RISE));
+        Assert.assertTrue(map.containsKey((Object) Property.TEXT_RISE));
+        Assert.assertNull(map.get(Property.TEXT_RISE));
+        Assert.assertFalse(map.containsKey(Property.TEXT_ALIGNMENT));
+        Assert.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void equalsToHashMapTest() {
+        PropertyMap map = new PropertyMap();
+        Map<Integer, Object> hashMap = new HashMap<>();
+        for (int key : new int[] {Property.MARGIN_TOP, Property.WIDTH, Property.FONT_COLOR, CUSTOM_PROPERTY}) {
+            map.set(key, "value" + key);
+            hashMap.put(key, "value" + key);
+        }
+        map.set(Property.KEEP_TOGETHER, null);
+        hashMap.put(Property.KEEP_TOGETHER, null);
+        Assert.assertEquals(hashMap, map);
+        Assert.assertEquals(map, hashMap);
+        Assert.assertEquals(hashMap.hashCode(), map.hashCode());
+        Assert.assertEquals(hashMap, new PropertyMap(hashMap));
+    }
+
+    @Test
+    public void copyIsIndependentTest() {
+        PropertyMap original = new PropertyMap();
+        original.set(Property.FONT_SIZE, UnitValue.createPointValue(12));
+        original.set(CUSTOM_PROPERTY, "custom");
+
+        PropertyMap copy = new PropertyMap(original);
+        Assert.assertEquals(original, copy);
+
+        copy.set(Property.FONT_SIZE, UnitValue.createPointValue(20));
+        copy.set(CUSTOM_PROPERTY, "changed");
+        copy.set(Property.BOLD_SIMULATION, true);
+        Assert.assertEquals(UnitValue.createPointValue(12), original.get(Property.FONT_SIZE));
+        Assert.assertEquals("custom", original.get(CUSTOM_PROPERTY));
+        Assert.assertFalse(original.containsKey(Property.BOLD_SIMULATION));
+
+        original.remove(Property.FONT_SIZE);
+        Assert.assertEquals(UnitValue.createPointValue(20), copy.get(Property.FONT_SIZE));
+        Assert.assertEquals(1, original.size());
+        Assert.assertEquals(3, copy.size());
+    }
+
+    @Test
+    public void putAllIntoNotEmptyMapTest() {
+        PropertyMap source = new PropertyMap();
+        source.set(Property.FONT_SIZE, UnitValue.createPointValue(12));
+        PropertyMap target = new PropertyMap();
+        target.set(Property.WIDTH, UnitValue.createPercentValue(50));
+        target.putAll(source);
+        Assert.assertEquals(2, target.size());
+        source.set(Property.FONT_SIZE, UnitValue.createPointValue(10));
+        Assert.assertEquals(UnitValue.createPointValue(12), target.get(Property.FONT_SIZE));
+    }
+
+    @Test
+    public void iteratorRemoveTest() {
+        PropertyMap map = new PropertyMap();
+        map.set(Property.MARGIN_TOP, 1);
+        map.set(Property.MARGIN_BOTTOM, 2);
+        map.set(CUSTOM_PROPERTY, 3);
+        PropertyMap copy = new PropertyMap(map);
+
+        Iterator<Map.Entry<Integer, Object>> iterator = map.entrySet().iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Object> entry = iterator.next();
+            ++count;
+            if (!entry.getKey().equals(Property.MARGIN_TOP)) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(3, count);
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals(1, map.get(Property.MARGIN_TOP));
+        Assert.assertEquals(3, copy.size());
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertEquals(3, copy.size());
+    }
+
+    @Test
+    public void iteratorRemoveOfSharedOtherPropertiesTest() {
+        PropertyMap map = new PropertyMap();
+        for (int i = 0; i < 5; i++) {
+            map.set(CUSTOM_PROPERTY + i, i);
+        }
+        PropertyMap copy = new PropertyMap(map);
+
+        Iterator<Map.Entry<Integer, Object>> iterator = map.entrySet().iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Object> entry = iterator.next();
+            ++count;
+            if (!entry.getKey().equals(CUSTOM_PROPERTY)) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(5, count);
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals(0, map.get(CUSTOM_PROPERTY));
+        Assert.assertEquals(5, copy.size());
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(i, copy.get(CUSTOM_PROPERTY + i));
+        }
+    }
+
+    @Test
+    public void staticAccessorsTest() {
+        Map<Integer, Object> hashMap = new HashMap<>();
+        PropertyMap.setProperty(hashMap, Property.FONT_SIZE, 10);
+        Assert.assertTrue(PropertyMap.hasProperty(hashMap, Property.FONT_SIZE));
+        Assert.assertEquals(10, PropertyMap.getProperty(hashMap, Property.FONT_SIZE));
+        PropertyMap.deleteProperty(hashMap, Property.FONT_SIZE);
+        Assert.assertTrue(hashMap.isEmpty());
+    }
+
+    @Test
+    public void elementPropertiesTest() {
+        Paragraph paragraph = new Paragraph().setFontSize(10);
+        paragraph.setProperty(CUSTOM_PROPERTY, "custom");
+        Assert.assertEquals(UnitValue.createPointValue(10), paragraph.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertEquals("custom", paragraph.<String>getProperty(CUSTOM_PROPERTY));
+        paragraph.deleteOwnProperty(CUSTOM_PROPERTY);
+        Assert.assertFalse(paragraph.hasOwnProperty(CUSTOM_PROPERTY));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class CollapsedTableBordersUnitTest extends ExtendedITextTest {
+
+    private static final int NUMBER_OF_COLUMNS = 3;
+    private static final int NUMBER_OF_ROWS = 4;
+
+    @Test
+    public void cellBorderIndentsTakeOuterBordersIntoAccountTest() {
+        CollapsedTableBorders borders = createBorders(new SolidBorder(ColorConstants.RED, 4));
+
+        for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+            for (int col = 0; col < NUMBER_OF_COLUMNS; col++) {
+                float[] indents = borders.getCellBorderIndents(row, col, 1, 1);
+                Assert.assertEquals(getWidth(borders.getVerticalBorder(col + 1).get(row)), indents[1], 0);
+                Assert.assertEquals(getWidth(borders.getVerticalBorder(col).get(row)), indents[3], 0);
+            }
+        }
+        // the table border is wider than the cell borders on the left side
+        Assert.assertEquals(4, borders.getCellBorderIndents(0, 0, 1, 1)[3], 0);
+        // the cell border is wider than the table border on the right side of the third row
+        Assert.assertEquals(5, borders.getCellBorderIndents(2, NUMBER_OF_COLUMNS - 1, 1, 1)[1], 0);
+    }
+
+    @Test
+    public void crossingBordersMatchVerticalBordersTest() {
+        CollapsedTableBorders borders = createBorders(new SolidBorder(ColorConstants.BLUE, 3));
+
+        for (int col = 0; col <= NUMBER_OF_COLUMNS; col++) {
+            List<Border> verticalBorder = borders.getVerticalBorder(col);
+            for (int row = 0; row <= NUMBER_OF_ROWS; row++) {
+                List<Border> crossingBorders = borders.getCrossingBorders(row, col);
+                Assert.assertSame(row > 0 ? verticalBorder.get(row - 1) : null, crossingBorders.get(1));
+                Assert.assertSame(row < NUMBER_OF_ROWS ? verticalBorder.get(row) : null, crossingBorders.get(3));
+            }
+        }
+    }
+
+    @Test
+    public void verticalBordersCrossingTopHorizontalBorderTest() {
+        CollapsedTableBorders borders = createBorders(new SolidBorder(ColorConstants.GREEN, 5));
+
+        List<Border> crossingTop = borders.getVerticalBordersCrossingTopHorizontalBorder();
+        Assert.assertEquals(NUMBER_OF_COLUMNS + 1, crossingTop.size());
+        for (int col = 0; col <= NUMBER_OF_COLUMNS; col++) {
+            Assert.assertSame(borders.getVerticalBorder(col).get(0), crossingTop.get(col));
+        }
+    }
+
+    private static CollapsedTableBorders createBorders(Border tableBorder) {
+        Table table = new Table(NUMBER_OF_COLUMNS);
+        table.setBorder(tableBorder);
+        for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+            for (int col = 0; col < NUMBER_OF_COLUMNS; col++) {
+                table.addCell(new Cell().add(new Paragraph(row + ":" + col))
+                        .setBorder(new SolidBorder(ColorConstants.BLACK, 2 * (row % 3) + 1)));
+            }
+        }
+        TableRenderer renderer = (TableRenderer) table.createRendererSubTree();
+        CollapsedTableBorders borders = new CollapsedTableBorders(renderer.rows, NUMBER_OF_COLUMNS,
+                renderer.getBorders());
+        borders.initializeBorders();
+        borders.setRowRange(0, NUMBER_OF_ROWS - 1);
+        borders.processAllBordersAndEmptyRows();
+        return borders;
+    }
+
+    private static float getWidth(Border border) {
+        return null == border ? 0 : border.getWidth();
+    }
+}
@@ -0,0 +1,250 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.TransparentColor;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class InheritedPropertiesCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void inheritedPropertyIsResolvedThroughAncestorsTest() {
+        DivRenderer root = new DivRenderer(new Div().setFontSize(15));
+        TextRenderer leaf = createChain(root);
+
+        Assert.assertEquals(UnitValue.createPointValue(15), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertEquals(UnitValue.createPointValue(15), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertNull(leaf.<Object>getProperty(Property.CHARACTER_SPACING));
+        Assert.assertNull(leaf.<Object>getProperty(Property.CHARACTER_SPACING));
+    }
+
+    @Test
+    public void ancestorPropertyChangeIsVisibleTest() {
+        DivRenderer root = new DivRenderer(new Div().setFontSize(15));
+        TextRenderer leaf = createChain(root);
+        Assert.assertEquals(UnitValue.createPointValue(15), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+
+        root.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(20));
+        Assert.assertEquals(UnitValue.createPointValue(20), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+
+        root.deleteOwnProperty(Property.FONT_SIZE);
+        Assert.assertEquals(UnitValue.createPointValue(15), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+
+        root.setProperty(Property.FONT_COLOR, new TransparentColor(ColorConstants.RED));
+        Assert.assertEquals(ColorConstants.RED,
+                leaf.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+    }
+
+    @Test
+    public void modelElementPropertyChangeIsVisibleAfterRegistrationTest() {
+        Div div = new Div().setFontSize(15);
+        DivRenderer root = new DivRenderer(div);
+        TextRenderer leaf = createChain(root);
+        Assert.assertEquals(UnitValue.createPointValue(15), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+
+        div.setFontSize(8);
+        root.registerInheritedPropertiesModification();
+        Assert.assertEquals(UnitValue.createPointValue(8), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+    }
+
+    @Test
+    public void cachedValueIsReusedTest() {
+        CountingDivRenderer parent = new CountingDivRenderer(new Div().setFontSize(15));
+        TextRenderer leaf = new TextRenderer(new Text("text"));
+        leaf.setParent(parent);
+
+        for (int i = 0; i < 3; ++i) {
+            Assert.assertEquals(UnitValue.createPointValue(15), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+            Assert.assertNull(leaf.<Object>getProperty(Property.CHARACTER_SPACING));
+        }
+        Assert.assertEquals(1, parent.getLookupsCount(Property.FONT_SIZE));
+        Assert.assertEquals(1, parent.getLookupsCount(Property.CHARACTER_SPACING));
+
+        // the properties which are not inherited don't affect the cached values
+        parent.setProperty(Property.WIDTH, UnitValue.createPointValue(100));
+        leaf.setProperty(Property.MARGIN_LEFT, UnitValue.createPointValue(5));
+        Assert.assertEquals(UnitValue.createPointValue(15), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertEquals(1, parent.getLookupsCount(Property.FONT_SIZE));
+
+        parent.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(20));
+        Assert.assertEquals(UnitValue.createPointValue(20), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertEquals(2, parent.getLookupsCount(Property.FONT_SIZE));
+    }
+
+    @Test
+    public void modificationOfAnotherTreeKeepsCachedValuesTest() {
+        CountingDivRenderer parent = new CountingDivRenderer(new Div().setFontSize(15));
+        TextRenderer leaf = new TextRenderer(new Text("text"));
+        leaf.setParent(parent);
+        Assert.assertEquals(UnitValue.createPointValue(15), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+
+        DivRenderer otherRoot = new DivRenderer(new Div());
+        TextRenderer otherLeaf = createChain(otherRoot);
+        otherRoot.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(30));
+        otherLeaf.getParent().setParent(new DivRenderer(new Div()));
+
+        Assert.assertEquals(UnitValue.createPointValue(15), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertEquals(1, parent.getLookupsCount(Property.FONT_SIZE));
+    }
+
+    @Test
+    public void leafModificationKeepsCachedValuesTest() {
+        DivRenderer root = new DivRenderer(new Div());
+        CountingDivRenderer parent = new CountingDivRenderer(new Div().setFontSize(15));
+        parent.setParent(root);
+        TextRenderer firstLeaf = new TextRenderer(new Text("first"));
+        firstLeaf.setParent(parent);
+        TextRenderer secondLeaf = new TextRenderer(new Text("second"));
+        secondLeaf.setParent(parent);
+        Assert.assertEquals(UnitValue.createPointValue(15), firstLeaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertEquals(UnitValue.createPointValue(15), secondLeaf.<UnitValue>getProperty(Property.FONT_SIZE));
+
+        // e.g. a text split sets the font to the split and overflow text renderers
+        firstLeaf.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(30));
+        Assert.assertEquals(UnitValue.createPointValue(30), firstLeaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertEquals(UnitValue.createPointValue(15), secondLeaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertEquals(2, parent.getLookupsCount(Property.FONT_SIZE));
+    }
+
+    @Test
+    public void modificationOfSiblingSubtreeKeepsCachedValuesTest() {
+        DivRenderer root = new DivRenderer(new Div().setFontSize(15));
+        DivRenderer body = new DivRenderer(new Div());
+        body.setParent(root);
+        CountingDivRenderer first = new CountingDivRenderer(new Div());
+        first.setParent(body);
+        CountingDivRenderer second = new CountingDivRenderer(new Div());
+        second.setParent(body);
+        TextRenderer firstLeaf = createChain(first);
+        TextRenderer secondLeaf = createChain(second);
+        Assert.assertEquals(UnitValue.createPointValue(15), firstLeaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertEquals(UnitValue.createPointValue(15), secondLeaf.<UnitValue>getProperty(Property.FONT_SIZE));
+
+        first.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(20));
+        Assert.assertEquals(UnitValue.createPointValue(20), firstLeaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertEquals(UnitValue.createPointValue(15), secondLeaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertEquals(1, second.getLookupsCount(Property.FONT_SIZE));
+
+        body.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(10));
+        Assert.assertEquals(UnitValue.createPointValue(20), firstLeaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assert.assertEquals(UnitValue.createPointValue(10), secondLeaf.<UnitValue>getProperty(Property.FONT_SIZE));
+    }
+
+    @Test
+    public void reparentingOfRootIsVisibleTest() {
+        DivRenderer firstRoot = new DivRenderer(new Div().setFontSize(15));
+        TextRenderer leaf = createChain(firstRoot);
+        Assert.assertNull(leaf.<TransparentColor>getProperty(Property.FONT_COLOR));
+
+        DivRenderer newRoot = new DivRenderer(new Div().setFontColor(ColorConstants.RED));
+        firstRoot.setParent(newRoot);
+        Assert.assertEquals(ColorConstants.RED, leaf.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+        newRoot.setProperty(Property.FONT_COLOR, new TransparentColor(ColorConstants.GREEN));
+        Assert.assertEquals(ColorConstants.GREEN, leaf.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+    }
+
+    @Test
+    public void rootElementPropertyChangeIsVisibleTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Document document = new Document(pdfDocument);
+        document.setFontSize(15);
+        TextRenderer leaf = createChain(document.getRenderer());
+        Assert.assertEquals(UnitValue.createPointValue(15), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+
+        document.setFontSize(9);
+        Assert.assertEquals(UnitValue.createPointValue(9), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+        document.close();
+    }
+
+    @Test
+    public void reparentingOfAncestorIsVisibleTest() {
+        DivRenderer firstRoot = new DivRenderer(new Div().setFontSize(15));
+        DivRenderer secondRoot = new DivRenderer(new Div().setFontSize(25));
+        TextRenderer leaf = createChain(firstRoot);
+        IRenderer middle = leaf.getParent().getParent();
+        Assert.assertEquals(UnitValue.createPointValue(15), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+
+        middle.setParent(secondRoot);
+        Assert.assertEquals(UnitValue.createPointValue(25), leaf.<UnitValue>getProperty(Property.FONT_SIZE));
+    }
+
+    @Test
+    public void cachedValueEqualsDirectResolutionTest() {
+        DivRenderer root = new DivRenderer(new Div().setFontSize(15).setFontColor(ColorConstants.BLUE));
+        TextRenderer leaf = createChain(root);
+        int[] keys = {Property.FONT_SIZE, Property.FONT_COLOR, Property.TEXT_ALIGNMENT, Property.WORD_SPACING};
+        for (int i = 0; i < 2; ++i) {
+            for (int key : keys) {
+                Assert.assertEquals(leaf.getParent().<Object>getProperty(key), leaf.<Object>getProperty(key));
+            }
+        }
+    }
+
+    private static class CountingDivRenderer extends DivRenderer {
+        private final Map<Integer, Integer> lookupsCount = new HashMap<>();
+
+        CountingDivRenderer(Div modelElement) {
+            super(modelElement);
+        }
+
+        @Override
+        public <T1> T1 getProperty(int key) {
+            Integer count = lookupsCount.get(key);
+            lookupsCount.put(key, count == null ? 1 : count + 1);
+            return super.<T1>getProperty(key);
+        }
+
+        int getLookupsCount(int key) {
+            Integer count = lookupsCount.get(key);
+            return count == null ? 0 : count;
+        }
+    }
+
+    private static TextRenderer createChain(IRenderer root) {
+        DivRenderer middle = new DivRenderer(new Div());
+        middle.setParent(root);
+        ParagraphRenderer paragraph = new ParagraphRenderer(new Paragraph());
+        paragraph.setParent(middle);
+        TextRenderer leaf = new TextRenderer(new Text("text"));
+        leaf.setParent(paragraph);
+        return leaf;
+    }
+}
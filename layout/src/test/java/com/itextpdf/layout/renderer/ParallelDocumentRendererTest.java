@@ -0,0 +1,175 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.List;
+import com.itextpdf.layout.element.ListItem;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.AreaBreakType;
+import com.itextpdf.layout.properties.FloatPropertyValue;
+import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class ParallelDocumentRendererTest extends ExtendedITextTest {
+
+    private static final int SECTIONS_COUNT = 12;
+
+    @Test
+    public void sameContentAsSequentialLayoutTest() throws IOException {
+        byte[] sequential = createDocument(0, true, false);
+        byte[] parallel = createDocument(4, true, false);
+        assertSameContent(sequential, parallel);
+    }
+
+    @Test
+    public void sameContentWithoutImmediateFlushTest() throws IOException {
+        byte[] sequential = createDocument(0, false, false);
+        byte[] parallel = createDocument(3, false, false);
+        assertSameContent(sequential, parallel);
+    }
+
+    @Test
+    public void singleThreadSameContentTest() throws IOException {
+        byte[] sequential = createDocument(0, true, false);
+        byte[] parallel = createDocument(1, true, false);
+        assertSameContent(sequential, parallel);
+    }
+
+    @Test
+    public void taggedDocumentIsLaidOutSequentiallyTest() throws IOException {
+        byte[] sequential = createDocument(0, true, true);
+        byte[] parallel = createDocument(4, true, true);
+        assertSameContent(sequential, parallel);
+    }
+
+    @Test
+    public void leadingAndTrailingAreaBreaksTest() throws IOException {
+        byte[][] results = new byte[2][];
+        for (int i = 0; i < 2; ++i) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+            Document document = new Document(pdfDocument);
+            if (i == 1) {
+                document.setRenderer(new ParallelDocumentRenderer(document, 2));
+            }
+            document.add(new AreaBreak());
+            document.add(new Paragraph("text"));
+            document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+            document.add(new AreaBreak(PageSize.A5));
+            document.close();
+            results[i] = baos.toByteArray();
+        }
+        assertSameContent(results[0], results[1]);
+    }
+
+    @Test
+    public void nextRendererIsParallelTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Document document = new Document(pdfDocument, PageSize.A4, false);
+        ParallelDocumentRenderer renderer = new ParallelDocumentRenderer(document, false, 3);
+        IRenderer nextRenderer = renderer.getNextRenderer();
+        Assert.assertTrue(nextRenderer instanceof ParallelDocumentRenderer);
+        Assert.assertEquals(3, ((ParallelDocumentRenderer) nextRenderer).getParallelism());
+        document.close();
+    }
+
+    private static byte[] createDocument(int parallelism, boolean immediateFlush, boolean tagged) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        if (tagged) {
+            pdfDocument.setTagged();
+        }
+        Document document = new Document(pdfDocument, PageSize.A4, immediateFlush);
+        if (parallelism > 0) {
+            document.setRenderer(new ParallelDocumentRenderer(document, immediateFlush, parallelism));
+        }
+        for (int section = 0; section < SECTIONS_COUNT; ++section) {
+            if (section > 0) {
+                document.add(section % 4 == 0 ? new AreaBreak(PageSize.A5.rotate()) : new AreaBreak());
+            }
+            addSection(document, section);
+        }
+        document.close();
+        return baos.toByteArray();
+    }
+
+    private static void addSection(Document document, int section) {
+        document.add(new Paragraph("Statement " + section).setFontSize(20).setDestination("section" + section));
+        Div floating = new Div().setWidth(UnitValue.createPointValue(100)).setHeight(50)
+                .setBackgroundColor(ColorConstants.YELLOW);
+        floating.setProperty(Property.FLOAT, FloatPropertyValue.RIGHT);
+        document.add(floating);
+        Table table = new Table(3);
+        for (int row = 0; row < 10 + section * 7; ++row) {
+            table.addCell(new Cell().add(new Paragraph("Item " + row)));
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(row * section))));
+            table.addCell(new Cell().add(new Paragraph("Section " + section)).setBorder(null));
+        }
+        table.addHeaderCell("Item").addHeaderCell("Amount").addHeaderCell("Section");
+        document.add(table);
+        List list = new List();
+        for (int i = 0; i < section * 3; ++i) {
+            list.add(new ListItem("Entry " + i + " of the section " + section));
+        }
+        document.add(list);
+        document.add(new Paragraph("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ").setRotationAngle(
+                section % 2 == 0 ? 0 : Math.PI / 12));
+    }
+
+    private static void assertSameContent(byte[] expected, byte[] actual) throws IOException {
+        PdfDocument expectedDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(expected)));
+        PdfDocument actualDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(actual)));
+        Assert.assertEquals(expectedDocument.getNumberOfPages(), actualDocument.getNumberOfPages());
+        for (int pageNum = 1; pageNum <= expectedDocument.getNumberOfPages(); ++pageNum) {
+            Assert.assertTrue("Page " + pageNum, expectedDocument.getPage(pageNum).getPageSize()
+                    .equalsWithEpsilon(actualDocument.getPage(pageNum).getPageSize()));
+            Assert.assertArrayEquals("Page " + pageNum, expectedDocument.getPage(pageNum).getContentBytes(),
+                    actualDocument.getPage(pageNum).getContentBytes());
+        }
+        Assert.assertEquals(expectedDocument.getCatalog().getNameTree(PdfName.Dests).getNames().size(),
+                actualDocument.getCatalog().getNameTree(PdfName.Dests).getNames().size());
+        expectedDocument.close();
+        actualDocument.close();
+    }
+}
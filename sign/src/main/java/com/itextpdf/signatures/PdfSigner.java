@@ -30,6 +30,7 @@ import com.itextpdf.forms.fields.PdfSignatureFormField;
 import com.itextpdf.forms.fields.SignatureFormFieldBuilder;
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.source.ByteBuffer;
+import com.itextpdf.io.source.FileChannelOutputStream;
 import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.io.source.RASInputStream;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
@@ -176,6 +177,12 @@ public class PdfSigner {
      */
     protected File tempFile;
 
+    /**
+     * The stream which writes the document to the temp file. It is kept open after the document is closed,
+     * so that the space reserved for the signature can be filled in place.
+     */
+    private FileChannelOutputStream tempFileOS;
+
     /**
      * Name and content of keys that can only be added in the close() method.
      */
@@ -237,7 +244,12 @@ public class PdfSigner {
             document = initDocument(reader, new PdfWriter(temporaryOS), localProps);
         } else {
             this.tempFile = FileUtil.createTempFile(path);
-            document = initDocument(reader, new PdfWriter(FileUtil.getFileOutputStream(tempFile)), localProps);
+            RandomAccessFile tempRaf = FileUtil.getRandomAccessFile(tempFile);
+            tempRaf.setLength(0);
+            tempFileOS = new FileChannelOutputStream(tempRaf.getChannel());
+            PdfWriter writer = new PdfWriter(tempFileOS);
+            writer.setCloseStream(false);
+            document = initDocument(reader, writer, localProps);
         }
 
         originalOS = outputStream;
@@ -931,8 +943,9 @@ public class PdfSigner {
             System.arraycopy(bos.toByteArray(), 0, bout, (int) byteRangePosition, (int) bos.size());
         } else {
             try {
+                tempFileOS.flush();
                 raf = FileUtil.getRandomAccessFile(tempFile);
-                long len = raf.length();
+                long len = tempFileOS.getPosition();
                 range[range.length - 1] = len - range[range.length - 2];
                 ByteArrayOutputStream bos = new ByteArrayOutputStream();
                 PdfOutputStream os = new PdfOutputStream(bos);
@@ -941,9 +954,12 @@ public class PdfSigner {
                     os.writeLong(range[k]).write(' ');
                 }
                 os.write(']');
-                raf.seek(byteRangePosition);
-                raf.write(bos.toByteArray(), 0, (int) bos.size());
+                tempFileOS.patch(byteRangePosition, bos.toByteArray(), 0, (int) bos.size());
             } catch (IOException e) {
+                try {
+                    tempFileOS.close();
+                } catch (Exception ignored) {
+                }
                 try {
                     raf.close();
                 } catch (Exception ignored) {
@@ -1101,8 +1117,7 @@ public class PdfSigner {
                 if (tempFile == null) {
                     System.arraycopy(bous.toByteArray(), 0, bout, (int) lit.getPosition(), (int) bous.size());
                 } else {
-                    raf.seek(lit.getPosition());
-                    raf.write(bous.toByteArray(), 0, (int) bous.size());
+                    tempFileOS.patch(lit.getPosition(), bous.toByteArray(), 0, (int) bous.size());
                 }
             }
             if (update.size() != exclusionLocations.size())
@@ -1125,7 +1140,11 @@ public class PdfSigner {
             }
         } finally {
             if (tempFile != null) {
-                raf.close();
+                try {
+                    tempFileOS.close();
+                } finally {
+                    raf.close();
+                }
 
                 if (originalOS != null) {
                     tempFile.delete();
@@ -63,13 +63,18 @@ import com.itextpdf.test.annotations.type.BouncyCastleUnitTest;
 
 import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.PrivateKey;
 import java.security.Security;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
+import java.util.Arrays;
 import java.util.Calendar;
 import org.junit.Assert;
 import org.junit.Before;
@@ -265,6 +270,35 @@ public class PdfSignerUnitTest extends ExtendedITextTest {
         Assert.assertNull(signer.temporaryOS);
     }
 
+    @Test
+    public void signWithTempFileInAppendModeTest() throws IOException, GeneralSecurityException {
+        String srcFile = DESTINATION_FOLDER + "tempFileInAppendModeSource.pdf";
+        String outFile = DESTINATION_FOLDER + "tempFileInAppendMode.pdf";
+        byte[] source = createSimpleDocument();
+        Files.write(Paths.get(srcFile), source);
+
+        PdfSigner signer = new PdfSigner(new PdfReader(srcFile), new FileOutputStream(outFile), DESTINATION_FOLDER,
+                new StampingProperties().useAppendMode());
+        String fieldName = signer.getFieldName();
+        signer.signExternalContainer(new DigestSignatureContainer(), 64);
+
+        byte[] result = Files.readAllBytes(Paths.get(outFile));
+        Assert.assertArrayEquals(source, Arrays.copyOf(result, source.length));
+        PdfDocument document = new PdfDocument(new PdfReader(outFile));
+        SignatureUtil signatureUtil = new SignatureUtil(document);
+        Assert.assertTrue(signatureUtil.signatureCoversWholeDocument(fieldName));
+        // the byte range and the contents are filled in place in the temp file
+        PdfSignature signature = signatureUtil.getSignature(fieldName);
+        long[] byteRange = signature.getByteRange().toLongArray();
+        MessageDigest messageDigest = MessageDigest.getInstance(DigestAlgorithms.SHA256);
+        for (int i = 0; i < byteRange.length; i += 2) {
+            messageDigest.update(result, (int) byteRange[i], (int) byteRange[i + 1]);
+        }
+        byte[] contents = signature.getContents().getValueBytes();
+        Assert.assertArrayEquals(messageDigest.digest(), Arrays.copyOf(contents, 32));
+        document.close();
+    }
+
     // Android-Conversion-Skip-Block-Start (TODO DEVSIX-7372 investigate why a few tests related to PdfA in PdfSignerUnitTest were cut)
     @Test
     public void initPdfaDocumentTest() throws IOException {
@@ -533,4 +567,22 @@ public class PdfSignerUnitTest extends ExtendedITextTest {
             // Do nothing
         }
     }
+
+    static class DigestSignatureContainer implements IExternalSignatureContainer {
+
+        @Override
+        public byte[] sign(InputStream data) throws GeneralSecurityException {
+            try {
+                return DigestAlgorithms.digest(data, MessageDigest.getInstance(DigestAlgorithms.SHA256));
+            } catch (IOException e) {
+                throw new GeneralSecurityException(e);
+            }
+        }
+
+        @Override
+        public void modifySigningDictionary(PdfDictionary signDic) {
+            signDic.put(PdfName.Filter, PdfName.Adobe_PPKLite);
+            signDic.put(PdfName.SubFilter, PdfName.Adbe_pkcs7_detached);
+        }
+    }
 }